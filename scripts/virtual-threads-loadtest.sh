@@ -0,0 +1,46 @@
+#!/usr/bin/env bash
+# Compares throughput and p99 latency with and without the "virtual" profile.
+# The default "page" scenario pages GET /v1/branches?after=&limit= so every request blocks on MongoDB;
+# SCENARIO=branch drives GET /v1/branches/{id} with the branch cache disabled, SCENARIO=check the in-memory check.
+# Admission control is disabled so 429/503 sheds don't cap the concurrency being measured.
+# Requires the MongoDB configured in application.properties with at least one branch loaded.
+set -euo pipefail
+
+cd "$(dirname "$0")/.."
+
+CONCURRENCY="${CONCURRENCY:-1000}"
+DURATION="${DURATION:-30}"
+PORT="${PORT:-8080}"
+SCENARIO="${SCENARIO:-page}"
+RESULTS="target/loadtest-results.txt"
+
+sh mvnw -B -q -DskipTests package
+rm -f "$RESULTS"
+JAR="$(ls target/examen2p-*.jar | grep -v original | head -n 1)"
+
+run_profile() {
+    local label="$1"
+    local profiles="$2"
+    java -jar "$JAR" --server.port="$PORT" --spring.profiles.active="$profiles" \
+        --banquito.cache.branches.max-size=0 --banquito.admission.enabled=false > "target/loadtest-$label.log" 2>&1 &
+    local pid=$!
+    trap 'kill $pid 2>/dev/null || true' EXIT
+    until curl -sf "http://localhost:$PORT/actuator/health" > /dev/null; do
+        sleep 1
+    done
+    sh mvnw -B -q -Ploadtest test-compile exec:exec \
+        -Dloadtest.url="http://localhost:$PORT" \
+        -Dloadtest.label="$label" \
+        -Dloadtest.scenario="$SCENARIO" \
+        -Dloadtest.concurrency="$CONCURRENCY" \
+        -Dloadtest.duration-seconds="$DURATION" \
+        -Dloadtest.output="$RESULTS"
+    kill "$pid"
+    wait "$pid" 2>/dev/null || true
+    trap - EXIT
+}
+
+run_profile platform ""
+run_profile virtual virtual
+
+cat "$RESULTS"
@@ -0,0 +1,109 @@
+package com.banquito.core.examen2p.config;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+public class AdaptiveLimiter {
+    private static final double BACKOFF_RATIO = 0.9;
+    private static final double MIN_GRADIENT = 0.5;
+    private static final double LIMIT_SMOOTHING = 0.2;
+    private static final int LATENCY_SMOOTHING = 8;
+    private static final int MIN_LATENCY_WINDOW = 1000;
+
+    private final int minLimit;
+    private final int maxLimit;
+    private final double latencyTolerance;
+    private final AtomicInteger inFlight = new AtomicInteger();
+    private volatile int limit;
+    private volatile long smoothedLatencyNanos;
+    private double estimatedLimit;
+    private long minLatencyNanos;
+    private long windowMinLatencyNanos;
+    private int windowSamples;
+
+    public AdaptiveLimiter(int initialLimit, int minLimit, int maxLimit, double latencyTolerance) {
+        if (minLimit < 1 || minLimit > maxLimit || initialLimit < minLimit || initialLimit > maxLimit) {
+            throw new IllegalArgumentException("Límites de concurrencia inválidos: inicial " + initialLimit
+                    + ", mínimo " + minLimit + ", máximo " + maxLimit);
+        }
+        if (latencyTolerance < 1) {
+            throw new IllegalArgumentException("Tolerancia de latencia inválida: " + latencyTolerance);
+        }
+        this.minLimit = minLimit;
+        this.maxLimit = maxLimit;
+        this.limit = initialLimit;
+        this.estimatedLimit = initialLimit;
+        this.latencyTolerance = latencyTolerance;
+    }
+
+    public boolean tryAcquire() {
+        while (true) {
+            int current = inFlight.get();
+            if (current >= limit) {
+                return false;
+            }
+            if (inFlight.compareAndSet(current, current + 1)) {
+                return true;
+            }
+        }
+    }
+
+    public void release(long latencyNanos, boolean failed) {
+        int concurrent = inFlight.getAndDecrement();
+        adjust(latencyNanos, failed, concurrent);
+    }
+
+    public void ignore() {
+        inFlight.decrementAndGet();
+    }
+
+    public int limit() {
+        return limit;
+    }
+
+    public int inFlight() {
+        return inFlight.get();
+    }
+
+    public boolean isAtMinimum() {
+        return limit == minLimit;
+    }
+
+    public long retryAfterSeconds() {
+        return Math.max(1, TimeUnit.NANOSECONDS.toSeconds(smoothedLatencyNanos + TimeUnit.SECONDS.toNanos(1) - 1));
+    }
+
+    private synchronized void adjust(long latencyNanos, boolean failed, int concurrent) {
+        trackMinLatency(latencyNanos);
+        long smoothed = smoothedLatencyNanos;
+        smoothed = smoothed == 0
+                ? latencyNanos
+                : smoothed + (latencyNanos - smoothed) / LATENCY_SMOOTHING;
+        smoothedLatencyNanos = smoothed;
+
+        if (failed) {
+            estimatedLimit = estimatedLimit * BACKOFF_RATIO;
+        } else {
+            double gradient = Math.max(MIN_GRADIENT,
+                    Math.min(1.0, latencyTolerance * minLatencyNanos / Math.max(smoothed, 1)));
+            double headroom = concurrent * 2 >= limit ? Math.sqrt(estimatedLimit) : 0;
+            double target = estimatedLimit * gradient + headroom;
+            estimatedLimit = estimatedLimit * (1 - LIMIT_SMOOTHING) + target * LIMIT_SMOOTHING;
+        }
+        estimatedLimit = Math.max(minLimit, Math.min(maxLimit, estimatedLimit));
+        limit = (int) estimatedLimit;
+    }
+
+    private void trackMinLatency(long latencyNanos) {
+        if (minLatencyNanos == 0 || latencyNanos < minLatencyNanos) {
+            minLatencyNanos = latencyNanos;
+        }
+        if (windowSamples == 0 || latencyNanos < windowMinLatencyNanos) {
+            windowMinLatencyNanos = latencyNanos;
+        }
+        if (++windowSamples == MIN_LATENCY_WINDOW) {
+            minLatencyNanos = windowMinLatencyNanos;
+            windowSamples = 0;
+        }
+    }
+}
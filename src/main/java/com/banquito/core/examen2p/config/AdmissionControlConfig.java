@@ -0,0 +1,47 @@
+package com.banquito.core.examen2p.config;
+
+import com.banquito.core.examen2p.config.AdmissionControlFilter.Priority;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.web.servlet.FilterRegistrationBean;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Profile;
+import org.springframework.core.Ordered;
+import org.springframework.core.env.Environment;
+
+import java.util.EnumMap;
+import java.util.Map;
+
+@Configuration
+@Profile("!reactive")
+@ConditionalOnProperty(name = "banquito.admission.enabled", havingValue = "true", matchIfMissing = true)
+public class AdmissionControlConfig {
+
+    @Bean
+    public FilterRegistrationBean<AdmissionControlFilter> admissionControlFilter(ObjectMapper objectMapper,
+                                                                                 MeterRegistry registry,
+                                                                                 Environment environment) {
+        Map<Priority, AdaptiveLimiter> limiters = new EnumMap<>(Priority.class);
+        limiters.put(Priority.CHECK, limiter(environment, Priority.CHECK, 50, 400));
+        limiters.put(Priority.LISTING, limiter(environment, Priority.LISTING, 8, 40));
+        limiters.put(Priority.WRITE, limiter(environment, Priority.WRITE, 20, 100));
+
+        FilterRegistrationBean<AdmissionControlFilter> registration =
+                new FilterRegistrationBean<>(new AdmissionControlFilter(objectMapper, registry, limiters));
+        registration.addUrlPatterns(AdmissionControlFilter.BRANCHES_PATH, AdmissionControlFilter.BRANCHES_PATH + "/*");
+        registration.setOrder(Ordered.HIGHEST_PRECEDENCE + 10);
+        return registration;
+    }
+
+    private static AdaptiveLimiter limiter(Environment environment, Priority priority, int initialLimit,
+                                           int maxLimit) {
+        String prefix = "banquito.admission." + priority.tag() + ".";
+        return new AdaptiveLimiter(
+                environment.getProperty(prefix + "initial-limit", Integer.class, initialLimit),
+                environment.getProperty(prefix + "min-limit", Integer.class, 1),
+                environment.getProperty(prefix + "max-limit", Integer.class, maxLimit),
+                environment.getProperty(prefix + "latency-tolerance", Double.class, 2.0));
+    }
+}
@@ -0,0 +1,183 @@
+package com.banquito.core.examen2p.config;
+
+import com.banquito.core.examen2p.exception.ErrorResponse;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.servlet.AsyncEvent;
+import jakarta.servlet.AsyncListener;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import java.io.IOException;
+import java.util.EnumMap;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+@Slf4j
+public class AdmissionControlFilter extends OncePerRequestFilter {
+    static final String BRANCHES_PATH = "/v1/branches";
+
+    private final ObjectMapper objectMapper;
+    private final Map<Priority, AdaptiveLimiter> limiters;
+    private final Map<Priority, Counter> throttled = new EnumMap<>(Priority.class);
+    private final Map<Priority, Counter> unavailable = new EnumMap<>(Priority.class);
+
+    public AdmissionControlFilter(ObjectMapper objectMapper, MeterRegistry registry,
+                                  Map<Priority, AdaptiveLimiter> limiters) {
+        this.objectMapper = objectMapper;
+        this.limiters = new EnumMap<>(limiters);
+        this.limiters.forEach((priority, limiter) -> {
+            Gauge.builder("banquito.admission.limit", limiter, AdaptiveLimiter::limit)
+                    .description("Límite de concurrencia actual por clase de prioridad")
+                    .tag("priority", priority.tag())
+                    .register(registry);
+            Gauge.builder("banquito.admission.in.flight", limiter, AdaptiveLimiter::inFlight)
+                    .description("Solicitudes en curso por clase de prioridad")
+                    .tag("priority", priority.tag())
+                    .register(registry);
+            throttled.put(priority, rejections(registry, priority, HttpStatus.TOO_MANY_REQUESTS));
+            unavailable.put(priority, rejections(registry, priority, HttpStatus.SERVICE_UNAVAILABLE));
+        });
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain chain)
+            throws ServletException, IOException {
+        Priority priority = Priority.classify(request.getMethod(),
+                request.getRequestURI().substring(request.getContextPath().length()));
+        AdaptiveLimiter limiter = limiters.get(priority);
+        if (limiter == null) {
+            chain.doFilter(request, response);
+            return;
+        }
+        if (!limiter.tryAcquire()) {
+            reject(response, priority, limiter);
+            return;
+        }
+
+        long start = System.nanoTime();
+        try {
+            chain.doFilter(request, response);
+        } catch (IOException | ServletException | RuntimeException e) {
+            limiter.release(System.nanoTime() - start, true);
+            throw e;
+        }
+        if (request.isAsyncStarted()) {
+            request.getAsyncContext().addListener(new IgnoreOnCompletion(limiter));
+        } else if (isUnbounded(request)) {
+            limiter.ignore();
+        } else {
+            limiter.release(System.nanoTime() - start, response.getStatus() >= 500);
+        }
+    }
+
+    static boolean isUnbounded(HttpServletRequest request) {
+        String route = route(request.getRequestURI().substring(request.getContextPath().length()));
+        if (HttpMethod.POST.matches(request.getMethod())) {
+            return route.equals("/import");
+        }
+        return HttpMethod.GET.matches(request.getMethod()) && (route.equals("/stream")
+                || (isRoot(route) && request.getParameter("after") == null && request.getParameter("limit") == null));
+    }
+
+    private void reject(HttpServletResponse response, Priority priority, AdaptiveLimiter limiter) throws IOException {
+        boolean degraded = limiter.isAtMinimum();
+        HttpStatus status = degraded ? HttpStatus.SERVICE_UNAVAILABLE : HttpStatus.TOO_MANY_REQUESTS;
+        (degraded ? unavailable : throttled).get(priority).increment();
+        log.debug("Solicitud de {} rechazada con {}: {} en curso con límite {}",
+                priority.tag(), status.value(), limiter.inFlight(), limiter.limit());
+
+        response.setStatus(status.value());
+        response.setHeader(HttpHeaders.RETRY_AFTER, String.valueOf(limiter.retryAfterSeconds()));
+        response.setContentType(MediaType.APPLICATION_JSON_VALUE);
+        ErrorResponse error = degraded
+                ? new ErrorResponse("SERVICE_UNAVAILABLE", "El servicio está degradado, intente nuevamente más tarde")
+                : new ErrorResponse("TOO_MANY_REQUESTS", "Demasiadas solicitudes en curso, intente nuevamente más tarde");
+        objectMapper.writeValue(response.getOutputStream(), error);
+    }
+
+    private static String route(String path) {
+        return path.startsWith(BRANCHES_PATH) ? path.substring(BRANCHES_PATH.length()) : path;
+    }
+
+    private static boolean isRoot(String route) {
+        return route.isEmpty() || route.equals("/");
+    }
+
+    private static Counter rejections(MeterRegistry registry, Priority priority, HttpStatus status) {
+        return Counter.builder("banquito.admission.rejected")
+                .description("Solicitudes rechazadas por el control de admisión")
+                .tag("priority", priority.tag())
+                .tag("status", String.valueOf(status.value()))
+                .register(registry);
+    }
+
+    public enum Priority {
+        CHECK,
+        LISTING,
+        WRITE;
+
+        public String tag() {
+            return name().toLowerCase();
+        }
+
+        static Priority classify(String method, String path) {
+            String route = route(path);
+            if (HttpMethod.GET.matches(method) || HttpMethod.HEAD.matches(method)) {
+                if (isRoot(route) || route.equals("/stream") || route.equals("/changes")
+                        || route.startsWith("/closed")) {
+                    return LISTING;
+                }
+                return CHECK;
+            }
+            if (HttpMethod.POST.matches(method) && route.equals("/holidays/check")) {
+                return CHECK;
+            }
+            return WRITE;
+        }
+    }
+
+    private static final class IgnoreOnCompletion implements AsyncListener {
+        private final AdaptiveLimiter limiter;
+        private final AtomicBoolean released = new AtomicBoolean();
+
+        private IgnoreOnCompletion(AdaptiveLimiter limiter) {
+            this.limiter = limiter;
+        }
+
+        @Override
+        public void onComplete(AsyncEvent event) {
+            release();
+        }
+
+        @Override
+        public void onTimeout(AsyncEvent event) {
+            release();
+        }
+
+        @Override
+        public void onError(AsyncEvent event) {
+            release();
+        }
+
+        @Override
+        public void onStartAsync(AsyncEvent event) {
+        }
+
+        private void release() {
+            if (released.compareAndSet(false, true)) {
+                limiter.ignore();
+            }
+        }
+    }
+}
@@ -0,0 +1,25 @@
+package com.banquito.core.examen2p.config;
+
+import com.banquito.core.examen2p.service.BranchCache;
+import lombok.RequiredArgsConstructor;
+import org.springframework.boot.actuate.endpoint.annotation.DeleteOperation;
+import org.springframework.boot.actuate.endpoint.annotation.Endpoint;
+import org.springframework.boot.actuate.endpoint.annotation.ReadOperation;
+import org.springframework.stereotype.Component;
+
+@Component
+@Endpoint(id = "branchcache")
+@RequiredArgsConstructor
+public class BranchCacheEndpoint {
+    private final BranchCache branchCache;
+
+    @ReadOperation
+    public BranchCache.Stats stats() {
+        return branchCache.stats();
+    }
+
+    @DeleteOperation
+    public void clear() {
+        branchCache.clear();
+    }
+}
@@ -0,0 +1,35 @@
+package com.banquito.core.examen2p.config;
+
+import com.banquito.core.examen2p.service.BranchCache;
+import com.banquito.core.examen2p.service.HolidayCalendarIndex;
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Component;
+
+@Component
+@RequiredArgsConstructor
+public class BranchMeterBinder implements MeterBinder {
+    private final BranchCache branchCache;
+    private final HolidayCalendarIndex holidayCalendarIndex;
+
+    @Override
+    public void bindTo(MeterRegistry registry) {
+        Gauge.builder("banquito.branch.cache.size", branchCache, cache -> cache.stats().size())
+                .description("Sucursales almacenadas en la caché")
+                .register(registry);
+        FunctionCounter.builder("banquito.branch.cache.requests", branchCache, cache -> cache.stats().hits())
+                .tag("result", "hit")
+                .register(registry);
+        FunctionCounter.builder("banquito.branch.cache.requests", branchCache, cache -> cache.stats().misses())
+                .tag("result", "miss")
+                .register(registry);
+        FunctionCounter.builder("banquito.branch.cache.evictions", branchCache, cache -> cache.stats().evictions())
+                .register(registry);
+        Gauge.builder("banquito.branch.calendar.index.size", holidayCalendarIndex, HolidayCalendarIndex::size)
+                .description("Sucursales cargadas en el índice de feriados")
+                .register(registry);
+    }
+}
@@ -0,0 +1,25 @@
+package com.banquito.core.examen2p.config;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.mongo.MongoClientSettingsBuilderCustomizer;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import java.util.concurrent.TimeUnit;
+
+@Configuration
+public class MongoConfig {
+
+    @Bean
+    public MongoClientSettingsBuilderCustomizer connectionPoolCustomizer(
+            @Value("${banquito.mongo.pool.max-size:100}") int maxSize,
+            @Value("${banquito.mongo.pool.min-size:0}") int minSize,
+            @Value("${banquito.mongo.pool.max-connecting:2}") int maxConnecting,
+            @Value("${banquito.mongo.pool.max-wait-ms:120000}") long maxWaitMillis) {
+        return builder -> builder.applyToConnectionPoolSettings(pool -> pool
+                .maxSize(maxSize)
+                .minSize(minSize)
+                .maxConnecting(maxConnecting)
+                .maxWaitTime(maxWaitMillis, TimeUnit.MILLISECONDS));
+    }
+}
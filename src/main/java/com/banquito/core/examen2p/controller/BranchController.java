@@ -1,60 +1,282 @@
 package com.banquito.core.examen2p.controller;
 
+import com.banquito.core.examen2p.controller.dto.BranchCalendarsDTO;
+import com.banquito.core.examen2p.controller.dto.BranchChangeFeedDTO;
 import com.banquito.core.examen2p.controller.dto.BranchDTO;
 import com.banquito.core.examen2p.controller.dto.BranchHolidayDTO;
+import com.banquito.core.examen2p.controller.dto.BranchMatchDTO;
+import com.banquito.core.examen2p.controller.dto.BulkImportReportDTO;
+import com.banquito.core.examen2p.controller.dto.ClosedBranchDTO;
+import com.banquito.core.examen2p.controller.dto.HolidayCheckDTO;
+import com.banquito.core.examen2p.controller.dto.HolidayStatusDTO;
 import com.banquito.core.examen2p.controller.mapper.BranchMapper;
 import com.banquito.core.examen2p.exception.BranchNotFoundException;
 import com.banquito.core.examen2p.exception.ErrorResponse;
 import com.banquito.core.examen2p.exception.InvalidBranchDataException;
 import com.banquito.core.examen2p.exception.HolidayOperationException;
+import com.banquito.core.examen2p.model.Branch;
+import com.banquito.core.examen2p.model.BranchHoliday;
+import com.banquito.core.examen2p.service.BranchImportService;
+import com.banquito.core.examen2p.service.BranchMetrics;
 import com.banquito.core.examen2p.service.BranchService;
+import com.banquito.core.examen2p.service.BranchSyncService;
+import com.fasterxml.jackson.databind.ObjectMapper;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.Parameter;
+import io.swagger.v3.oas.annotations.media.ArraySchema;
 import io.swagger.v3.oas.annotations.media.Content;
 import io.swagger.v3.oas.annotations.media.Schema;
 import io.swagger.v3.oas.annotations.responses.ApiResponse;
 import io.swagger.v3.oas.annotations.responses.ApiResponses;
 import io.swagger.v3.oas.annotations.tags.Tag;
 import jakarta.validation.Valid;
+import jakarta.validation.Validator;
 import jakarta.validation.constraints.Pattern;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.context.annotation.Profile;
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.InvalidMediaTypeException;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.ServletWebRequest;
+import org.springframework.web.context.request.WebRequest;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
+import java.io.IOException;
+import java.io.InputStream;
 import java.time.LocalDateTime;
 import java.time.LocalDate;
+import java.time.ZoneId;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
+import java.util.Set;
 import java.util.stream.Collectors;
+import java.util.stream.Stream;
 
 @Slf4j
 @RestController
+@Profile("!reactive")
 @RequestMapping("/v1/branches")
 @RequiredArgsConstructor
 @Tag(name = "Branch", description = "API para gestionar sucursales bancarias y sus feriados")
 public class BranchController {
 
+    private static final String NEXT_CURSOR_HEADER = "X-Next-Cursor";
+    private static final List<MediaType> WIRE_FORMATS = List.of(MediaType.APPLICATION_JSON,
+            MediaType.valueOf("application/x-jackson-smile"), MediaType.APPLICATION_CBOR);
+    private static final int DEFAULT_PAGE_SIZE = 50;
+    private static final int MAX_PAGE_SIZE = 1000;
+    private static final int DEFAULT_SEARCH_SIZE = 10;
+    private static final int MAX_SEARCH_SIZE = 50;
+
     private final BranchService branchService;
+    private final BranchImportService branchImportService;
+    private final BranchSyncService branchSyncService;
     private final BranchMapper branchMapper;
+    private final ObjectMapper objectMapper;
+    private final BranchMetrics branchMetrics;
+    private final Validator validator;
 
     @GetMapping
     @Operation(summary = "Obtener todas las sucursales", 
-              description = "Retorna una lista de todas las sucursales bancarias activas e inactivas")
+              description = "Retorna una lista de todas las sucursales bancarias activas e inactivas. Con los parámetros after y limit se pagina por ID y el siguiente cursor se retorna en la cabecera X-Next-Cursor. Según la cabecera Accept se responde en JSON, Smile (application/x-jackson-smile) o CBOR (application/cbor)")
     @ApiResponses({
         @ApiResponse(responseCode = "200", description = "Lista de sucursales obtenida exitosamente",
-                content = @Content(schema = @Schema(implementation = BranchDTO.class)))
+                content = @Content(array = @ArraySchema(schema = @Schema(implementation = BranchDTO.class)))),
+        @ApiResponse(responseCode = "400", description = "Parámetros de paginación inválidos")
+    })
+    public ResponseEntity<List<Branch>> getAllBranches(
+            @Parameter(description = "ID de la última sucursal de la página anterior")
+            @RequestParam(required = false) String after,
+            @Parameter(description = "Cantidad máxima de sucursales por página")
+            @RequestParam(required = false) Integer limit,
+            @Parameter(description = "Campos a retornar separados por coma, por ejemplo id,name,state, o summary para todos excepto los feriados")
+            @RequestParam(required = false) String fields) {
+        try {
+            Set<String> selectedFields = BranchFields.parse(fields);
+            if (after == null && limit == null) {
+                log.info("Obteniendo todas las sucursales");
+                List<Branch> branches = branchService.findAll(selectedFields);
+                log.info("Se encontraron {} sucursales", branches.size());
+                return ResponseEntity.ok().varyBy(HttpHeaders.ACCEPT).body(branches);
+            }
+
+            int pageSize = limit == null ? DEFAULT_PAGE_SIZE : limit;
+            if (pageSize < 1 || pageSize > MAX_PAGE_SIZE) {
+                throw new InvalidBranchDataException("limit", String.valueOf(limit));
+            }
+            log.info("Obteniendo página de sucursales después de {} con límite {}", after, pageSize);
+            List<Branch> branches = branchService.findPage(after, pageSize, selectedFields);
+            log.info("Se encontraron {} sucursales en la página", branches.size());
+            ResponseEntity.BodyBuilder response = ResponseEntity.ok().varyBy(HttpHeaders.ACCEPT);
+            if (branches.size() == pageSize) {
+                response.header(NEXT_CURSOR_HEADER, branches.get(branches.size() - 1).getId());
+            }
+            return response.body(branches);
+        } catch (InvalidBranchDataException e) {
+            log.error("Error al obtener las sucursales: {}", e.getMessage());
+            throw e;
+        } catch (Exception e) {
+            log.error("Error al obtener las sucursales", e);
+            throw e;
+        }
+    }
+
+    @GetMapping(value = "/stream", produces = MediaType.APPLICATION_NDJSON_VALUE)
+    @Operation(summary = "Transmitir todas las sucursales", 
+              description = "Retorna todas las sucursales en formato NDJSON a medida que se leen de la base de datos")
+    @ApiResponses({
+        @ApiResponse(responseCode = "200", description = "Sucursales transmitidas exitosamente")
+    })
+    public ResponseEntity<StreamingResponseBody> streamBranches() {
+        log.info("Transmitiendo todas las sucursales");
+        StreamingResponseBody body = outputStream -> {
+            long count = 0;
+            try (Stream<Branch> branches = branchService.streamAll()) {
+                Iterator<Branch> iterator = branches.iterator();
+                while (iterator.hasNext()) {
+                    outputStream.write(objectMapper.writeValueAsBytes(iterator.next()));
+                    outputStream.write('\n');
+                    count++;
+                }
+            }
+            outputStream.flush();
+            log.info("Se transmitieron {} sucursales", count);
+        };
+        return ResponseEntity.ok()
+                .contentType(MediaType.APPLICATION_NDJSON)
+                .body(body);
+    }
+
+    @GetMapping("/changes")
+    @Operation(summary = "Obtener cambios de sucursales", 
+              description = "Retorna en orden las sucursales creadas, modificadas o eliminadas desde modifiedSince o desde el cursor de la respuesta anterior. Las eliminaciones se reportan con tipo DELETE durante 90 días")
+    @ApiResponses({
+        @ApiResponse(responseCode = "200", description = "Cambios obtenidos exitosamente"),
+        @ApiResponse(responseCode = "400", description = "Cursor o fecha inválidos o anteriores a la retención de eliminaciones")
+    })
+    public ResponseEntity<BranchChangeFeedDTO> getChanges(
+            @Parameter(description = "Fecha y hora desde la que se buscan cambios, por ejemplo 2026-01-01T08:00:00")
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime modifiedSince,
+            @Parameter(description = "Cursor retornado por la consulta anterior; tiene prioridad sobre modifiedSince")
+            @RequestParam(required = false) String cursor,
+            @Parameter(description = "Cantidad máxima de cambios por respuesta")
+            @RequestParam(required = false) Integer limit) {
+        try {
+            int pageSize = limit == null ? DEFAULT_PAGE_SIZE : limit;
+            if (pageSize < 1 || pageSize > MAX_PAGE_SIZE) {
+                throw new InvalidBranchDataException("limit", String.valueOf(limit));
+            }
+            log.info("Obteniendo cambios de sucursales desde {} con cursor {}", modifiedSince, cursor);
+            BranchChangeFeedDTO feed = branchSyncService.findChanges(modifiedSince, cursor, pageSize);
+            log.info("Se encontraron {} cambios de sucursales", feed.getChanges().size());
+            return ResponseEntity.ok(feed);
+        } catch (InvalidBranchDataException e) {
+            log.error("Error al obtener los cambios de sucursales: {}", e.getMessage());
+            throw e;
+        } catch (Exception e) {
+            log.error("Error al obtener los cambios de sucursales", e);
+            throw e;
+        }
+    }
 
+    @GetMapping("/search")
+    @Operation(summary = "Buscar sucursales por nombre", 
+              description = "Retorna las sucursales cuyo nombre, o alguna de sus palabras, empieza con el texto indicado, sin distinguir mayúsculas ni tildes. Primero se listan las coincidencias al inicio del nombre y luego los nombres más cortos")
+    @ApiResponses({
+        @ApiResponse(responseCode = "200", description = "Coincidencias obtenidas exitosamente"),
+        @ApiResponse(responseCode = "400", description = "Texto, estado o límite inválido")
     })
-    public ResponseEntity<List<BranchDTO>> getAllBranches() {
+    public ResponseEntity<List<BranchMatchDTO>> searchBranches(
+            @Parameter(description = "Texto inicial del nombre de la sucursal", required = true)
+            @RequestParam String q,
+            @Parameter(description = "Estado de las sucursales, ACTIVE o INACTIVE")
+            @Pattern(regexp = "^(ACTIVE|INACTIVE)$", message = "El estado debe ser ACTIVE o INACTIVE")
+            @RequestParam(required = false) String state,
+            @Parameter(description = "Cantidad máxima de coincidencias")
+            @RequestParam(required = false) Integer limit) {
         try {
-            log.info("Obteniendo todas las sucursales");
-            List<BranchDTO> branches = branchService.findAll().stream()
-                    .map(branchMapper::toDto)
+            int size = limit == null ? DEFAULT_SEARCH_SIZE : limit;
+            if (size < 1 || size > MAX_SEARCH_SIZE) {
+                throw new InvalidBranchDataException("limit", String.valueOf(limit));
+            }
+            List<BranchMatchDTO> matches = branchService.search(q, state, size).stream()
+                    .map(branch -> BranchMatchDTO.builder()
+                            .id(branch.getId())
+                            .name(branch.getName())
+                            .state(branch.getState())
+                            .build())
                     .collect(Collectors.toList());
-            log.info("Se encontraron {} sucursales", branches.size());
-            return ResponseEntity.ok(branches);
+            log.debug("Búsqueda de sucursales '{}' con estado {}: {} coincidencias", q, state, matches.size());
+            return ResponseEntity.ok(matches);
+        } catch (InvalidBranchDataException e) {
+            log.error("Error al buscar sucursales por nombre: {}", e.getMessage());
+            throw e;
         } catch (Exception e) {
-            log.error("Error al obtener las sucursales", e);
+            log.error("Error al buscar sucursales por nombre '{}'", q, e);
+            throw e;
+        }
+    }
+
+    @GetMapping("/closed")
+    @Operation(summary = "Sucursales cerradas en una fecha", 
+              description = "Retorna el ID y el nombre de las sucursales que tienen feriado en la fecha indicada, opcionalmente filtradas por estado")
+    @ApiResponses({
+        @ApiResponse(responseCode = "200", description = "Sucursales cerradas obtenidas exitosamente",
+                content = @Content(array = @ArraySchema(schema = @Schema(implementation = ClosedBranchDTO.class)))),
+        @ApiResponse(responseCode = "400", description = "Estado inválido"),
+        @ApiResponse(responseCode = "500", description = "Error interno del servidor")
+    })
+    public ResponseEntity<List<ClosedBranchDTO>> getClosedBranches(
+            @Parameter(description = "Fecha a consultar", required = true)
+            @RequestParam LocalDate date,
+            @Parameter(description = "Estado de las sucursales, ACTIVE o INACTIVE")
+            @Pattern(regexp = "^(ACTIVE|INACTIVE)$", message = "El estado debe ser ACTIVE o INACTIVE")
+            @RequestParam(required = false) String state) {
+        try {
+            log.info("Buscando sucursales cerradas el {} con estado {}", date, state);
+            List<ClosedBranchDTO> closed = toClosedDtos(branchService.findClosedOn(date, state));
+            log.info("Se encontraron {} sucursales cerradas el {}", closed.size(), date);
+            return ResponseEntity.ok(closed);
+        } catch (Exception e) {
+            log.error("Error al buscar sucursales cerradas el {}", date, e);
+            throw e;
+        }
+    }
+
+    @GetMapping("/closed/range")
+    @Operation(summary = "Sucursales cerradas en un periodo", 
+              description = "Retorna, para cada día del periodo con al menos un cierre, el ID y el nombre de las sucursales con feriado. El periodo puede abarcar hasta 31 días")
+    @ApiResponses({
+        @ApiResponse(responseCode = "200", description = "Cierres agrupados por día obtenidos exitosamente"),
+        @ApiResponse(responseCode = "400", description = "Periodo o estado inválido"),
+        @ApiResponse(responseCode = "500", description = "Error interno del servidor")
+    })
+    public ResponseEntity<Map<LocalDate, List<ClosedBranchDTO>>> getClosedBranchesBetween(
+            @Parameter(description = "Fecha inicial del periodo, inclusive", required = true)
+            @RequestParam LocalDate from,
+            @Parameter(description = "Fecha final del periodo, inclusive", required = true)
+            @RequestParam LocalDate to,
+            @Parameter(description = "Estado de las sucursales, ACTIVE o INACTIVE")
+            @Pattern(regexp = "^(ACTIVE|INACTIVE)$", message = "El estado debe ser ACTIVE o INACTIVE")
+            @RequestParam(required = false) String state) {
+        try {
+            log.info("Buscando sucursales cerradas entre {} y {} con estado {}", from, to, state);
+            Map<LocalDate, List<ClosedBranchDTO>> closures = new LinkedHashMap<>();
+            branchService.findClosedBetween(from, to, state)
+                    .forEach((date, branches) -> closures.put(date, toClosedDtos(branches)));
+            log.info("Se encontraron cierres en {} días entre {} y {}", closures.size(), from, to);
+            return ResponseEntity.ok(closures);
+        } catch (InvalidBranchDataException e) {
+            log.error("Error al buscar sucursales cerradas entre {} y {}: {}", from, to, e.getMessage());
+            throw e;
+        } catch (Exception e) {
+            log.error("Error al buscar sucursales cerradas entre {} y {}", from, to, e);
             throw e;
         }
     }
@@ -87,30 +309,109 @@ public class BranchController {
         }
     }
 
+    @PostMapping(value = "/import", consumes = MediaType.APPLICATION_NDJSON_VALUE)
+    @Operation(summary = "Importar sucursales desde NDJSON", 
+              description = "Crea sucursales en lote a partir de una sucursal JSON por línea, incluyendo sus feriados. Las filas inválidas se reportan sin detener la importación")
+    @ApiResponses({
+        @ApiResponse(responseCode = "200", description = "Importación procesada, con el detalle de filas rechazadas"),
+        @ApiResponse(responseCode = "500", description = "Error interno del servidor")
+    })
+    public ResponseEntity<BulkImportReportDTO> importBranchesNdjson(InputStream body) throws IOException {
+        try {
+            log.info("Importando sucursales desde NDJSON");
+            BulkImportReportDTO report = branchImportService.importNdjson(body);
+            log.info("Importación NDJSON finalizada: {} recibidas, {} creadas, {} errores",
+                    report.getReceived(), report.getInserted(), report.getErrors().size());
+            return ResponseEntity.ok(report);
+        } catch (Exception e) {
+            log.error("Error inesperado al importar sucursales desde NDJSON", e);
+            throw e;
+        }
+    }
+
+    @PostMapping(value = "/import", consumes = "text/csv")
+    @Operation(summary = "Importar sucursales desde CSV", 
+              description = "Crea sucursales en lote a partir de un CSV con cabecera emailAddress,name,phoneNumber,state y opcionalmente holidays (fecha:nombre separados por punto y coma)")
+    @ApiResponses({
+        @ApiResponse(responseCode = "200", description = "Importación procesada, con el detalle de filas rechazadas"),
+        @ApiResponse(responseCode = "500", description = "Error interno del servidor")
+    })
+    public ResponseEntity<BulkImportReportDTO> importBranchesCsv(InputStream body) throws IOException {
+        try {
+            log.info("Importando sucursales desde CSV");
+            BulkImportReportDTO report = branchImportService.importCsv(body);
+            log.info("Importación CSV finalizada: {} recibidas, {} creadas, {} errores",
+                    report.getReceived(), report.getInserted(), report.getErrors().size());
+            return ResponseEntity.ok(report);
+        } catch (Exception e) {
+            log.error("Error inesperado al importar sucursales desde CSV", e);
+            throw e;
+        }
+    }
+
     @GetMapping("/{id}")
     @Operation(summary = "Obtener sucursal por ID", 
               description = "Retorna una sucursal bancaria específica basada en su ID")
     @ApiResponses({
         @ApiResponse(responseCode = "200", description = "Sucursal encontrada exitosamente",
-                content = @Content(schema = @Schema(implementation = BranchDTO.class)))
+                content = @Content(schema = @Schema(implementation = BranchDTO.class))),
+        @ApiResponse(responseCode = "304", description = "La sucursal no ha cambiado desde la versión indicada")
     })
-    public ResponseEntity<BranchDTO> getBranchById(
+    public ResponseEntity<Branch> getBranchById(
             @Parameter(description = "ID de la sucursal", required = true)
-            @PathVariable String id) {
+            @PathVariable String id,
+            @Parameter(description = "Campos a retornar separados por coma, por ejemplo id,name,state, o summary para todos excepto los feriados")
+            @RequestParam(required = false) String fields,
+            WebRequest webRequest) {
         try {
             log.info("Buscando sucursal con ID: {}", id);
-            BranchDTO branch = branchMapper.toDto(branchService.findById(id));
-            log.info("Sucursal encontrada: {}", branch.getName());
-            return ResponseEntity.ok(branch);
+            Set<String> selectedFields = BranchFields.parse(fields);
+            Branch entity = branchService.findById(id, selectedFields);
+            varyByAccept(webRequest);
+            if (webRequest.checkNotModified(eTag(entity, selectedFields + ":" + wireFormat(webRequest)),
+                    lastModified(entity))) {
+                log.info("La sucursal {} no ha cambiado", id);
+                return null;
+            }
+            log.info("Sucursal encontrada: {}", entity.getName());
+            return ResponseEntity.ok().varyBy(HttpHeaders.ACCEPT).body(entity);
         } catch (BranchNotFoundException e) {
             log.error("Sucursal no encontrada con ID: {}", id);
             throw e;
+        } catch (InvalidBranchDataException e) {
+            log.error("Error al buscar la sucursal con ID {}: {}", id, e.getMessage());
+            throw e;
         } catch (Exception e) {
             log.error("Error al buscar la sucursal con ID: {}", id, e);
             throw e;
         }
     }
 
+    @DeleteMapping("/{id}")
+    @Operation(summary = "Eliminar sucursal", 
+              description = "Elimina una sucursal y registra su eliminación para el feed de cambios")
+    @ApiResponses({
+        @ApiResponse(responseCode = "204", description = "Sucursal eliminada exitosamente"),
+        @ApiResponse(responseCode = "404", description = "Sucursal no encontrada"),
+        @ApiResponse(responseCode = "500", description = "Error interno del servidor")
+    })
+    public ResponseEntity<Void> deleteBranch(
+            @Parameter(description = "ID de la sucursal", required = true)
+            @PathVariable String id) {
+        try {
+            log.info("Eliminando sucursal: {}", id);
+            branchService.delete(id);
+            log.info("Sucursal eliminada: {}", id);
+            return ResponseEntity.noContent().build();
+        } catch (BranchNotFoundException e) {
+            log.error("Error al eliminar: sucursal {} no encontrada", id);
+            throw e;
+        } catch (Exception e) {
+            log.error("Error inesperado al eliminar la sucursal {}", id, e);
+            throw e;
+        }
+    }
+
     @PatchMapping("/{id}/phone")
     @Operation(summary = "Actualizar número de teléfono", 
               description = "Actualiza el número de teléfono de una sucursal específica")
@@ -142,12 +443,41 @@ public class BranchController {
         }
     }
 
+    @PutMapping("/{id}/calendars")
+    @Operation(summary = "Asignar calendarios de feriados", 
+              description = "Reemplaza los calendarios compartidos que usa la sucursal y las fechas de esos calendarios que no aplican a ella. Los feriados propios de la sucursal se mantienen")
+    @ApiResponses({
+        @ApiResponse(responseCode = "200", description = "Calendarios asignados exitosamente"),
+        @ApiResponse(responseCode = "400", description = "Calendario inexistente o datos inválidos"),
+        @ApiResponse(responseCode = "404", description = "Sucursal no encontrada"),
+        @ApiResponse(responseCode = "500", description = "Error interno del servidor")
+    })
+    public ResponseEntity<BranchDTO> updateCalendars(
+            @Parameter(description = "ID de la sucursal", required = true)
+            @PathVariable String id,
+            @Parameter(description = "Calendarios y fechas excluidas de la sucursal", required = true)
+            @Valid @RequestBody BranchCalendarsDTO calendarsDTO) {
+        try {
+            log.info("Asignando calendarios {} a la sucursal {}", calendarsDTO.getCalendarIds(), id);
+            BranchDTO updatedBranch = branchMapper.toDto(branchService.updateCalendars(
+                    id, calendarsDTO.getCalendarIds(), calendarsDTO.getExcludedHolidays()));
+            log.info("Calendarios asignados a la sucursal: {}", id);
+            return ResponseEntity.ok(updatedBranch);
+        } catch (BranchNotFoundException | InvalidBranchDataException e) {
+            log.error("Error al asignar calendarios a la sucursal {}: {}", id, e.getMessage());
+            throw e;
+        } catch (Exception e) {
+            log.error("Error inesperado al asignar calendarios a la sucursal {}", id, e);
+            throw e;
+        }
+    }
+
     @PostMapping("/{id}/holidays")
     @Operation(summary = "Agregar feriado", 
               description = "Agrega un nuevo feriado a una sucursal específica")
     @ApiResponses({
         @ApiResponse(responseCode = "200", description = "Feriado agregado exitosamente"),
-        @ApiResponse(responseCode = "400", description = "Datos del feriado inválidos"),
+        @ApiResponse(responseCode = "400", description = "Datos del feriado inválidos o fecha ya registrada"),
         @ApiResponse(responseCode = "404", description = "Sucursal no encontrada"),
         @ApiResponse(responseCode = "500", description = "Error interno del servidor")
     })
@@ -199,27 +529,88 @@ public class BranchController {
         }
     }
 
+    @DeleteMapping("/{id}/holidays/rules")
+    @Operation(summary = "Eliminar regla de feriado", 
+              description = "Elimina un feriado recurrente de una sucursal según su nombre")
+    @ApiResponses({
+        @ApiResponse(responseCode = "200", description = "Regla de feriado eliminada exitosamente"),
+        @ApiResponse(responseCode = "400", description = "La sucursal no tiene una regla con ese nombre"),
+        @ApiResponse(responseCode = "404", description = "Sucursal no encontrada"),
+        @ApiResponse(responseCode = "500", description = "Error interno del servidor")
+    })
+    public ResponseEntity<BranchDTO> deleteHolidayRule(
+            @Parameter(description = "ID de la sucursal", required = true)
+            @PathVariable String id,
+            @Parameter(description = "Nombre del feriado recurrente a eliminar", required = true)
+            @RequestParam String name) {
+        try {
+            log.info("Eliminando regla de feriado {} de la sucursal: {}", name, id);
+            BranchDTO updatedBranch = branchMapper.toDto(branchService.deleteHolidayRule(id, name));
+            log.info("Regla de feriado eliminada de la sucursal: {}", id);
+            return ResponseEntity.ok(updatedBranch);
+        } catch (BranchNotFoundException | HolidayOperationException e) {
+            log.error("Error al eliminar regla de feriado: {}", e.getMessage());
+            throw e;
+        } catch (Exception e) {
+            log.error("Error inesperado al eliminar regla de feriado de la sucursal {}", id, e);
+            throw e;
+        }
+    }
+
     @GetMapping("/{id}/holidays")
     @Operation(summary = "Obtener feriados", 
-              description = "Obtiene todos los feriados de una sucursal específica")
+              description = "Obtiene todos los feriados de una sucursal específica, incluyendo los de sus calendarios compartidos. Con year o con from y to se retornan las fechas concretas del periodo, incluyendo las de los feriados recurrentes. Según la cabecera Accept se responde en JSON, Smile (application/x-jackson-smile) o CBOR (application/cbor)")
     @ApiResponses({
-        @ApiResponse(responseCode = "200", description = "Lista de feriados obtenida exitosamente"),
+        @ApiResponse(responseCode = "200", description = "Lista de feriados obtenida exitosamente",
+                content = @Content(array = @ArraySchema(schema = @Schema(implementation = BranchHolidayDTO.class)))),
+        @ApiResponse(responseCode = "304", description = "Los feriados no han cambiado desde la versión indicada"),
+        @ApiResponse(responseCode = "400", description = "Periodo de consulta inválido"),
         @ApiResponse(responseCode = "404", description = "Sucursal no encontrada"),
         @ApiResponse(responseCode = "500", description = "Error interno del servidor")
     })
-    public ResponseEntity<List<BranchHolidayDTO>> getHolidays(
+    public ResponseEntity<List<BranchHoliday>> getHolidays(
             @Parameter(description = "ID de la sucursal", required = true)
-            @PathVariable String id) {
+            @PathVariable String id,
+            @Parameter(description = "Año del que se retornan las fechas de feriado")
+            @RequestParam(required = false) Integer year,
+            @Parameter(description = "Fecha inicial del periodo, inclusive")
+            @RequestParam(required = false) LocalDate from,
+            @Parameter(description = "Fecha final del periodo, inclusive")
+            @RequestParam(required = false) LocalDate to,
+            WebRequest webRequest) {
         try {
             log.info("Obteniendo feriados de la sucursal: {}", id);
-            List<BranchHolidayDTO> holidays = branchService.getHolidays(id).stream()
-                    .map(branchMapper::toDto)
-                    .collect(Collectors.toList());
+            if (year != null) {
+                if (from != null || to != null) {
+                    throw new InvalidBranchDataException("year", String.valueOf(year));
+                }
+                from = LocalDate.of(year, 1, 1);
+                to = LocalDate.of(year, 12, 31);
+            } else if ((from == null) != (to == null)) {
+                throw new InvalidBranchDataException(from == null ? "from" : "to", null);
+            }
+            Branch entity = branchService.findHolidaysById(id);
+            String variant = (from == null ? "holidays" : "holidays:" + from + ":" + to) + ":" + wireFormat(webRequest);
+            LocalDateTime modifiedAt = branchService.holidaysModifiedAt(entity);
+            varyByAccept(webRequest);
+            if (webRequest.checkNotModified(eTag(entity.getId(), modifiedAt, variant), lastModified(modifiedAt))) {
+                log.info("Los feriados de la sucursal {} no han cambiado", id);
+                return null;
+            }
+            List<BranchHoliday> holidays;
+            if (from == null) {
+                holidays = branchService.getHolidays(entity);
+            } else {
+                holidays = branchService.getHolidays(id, from, to);
+            }
             log.info("Se encontraron {} feriados para la sucursal {}", holidays.size(), id);
-            return ResponseEntity.ok(holidays);
+            return ResponseEntity.ok().varyBy(HttpHeaders.ACCEPT).body(holidays);
         } catch (BranchNotFoundException e) {
             log.error("Error al obtener feriados: sucursal {} no encontrada", id);
             throw e;
+        } catch (InvalidBranchDataException e) {
+            log.error("Error al obtener feriados de la sucursal {}: {}", id, e.getMessage());
+            throw e;
         } catch (Exception e) {
             log.error("Error inesperado al obtener feriados de la sucursal {}", id, e);
             throw e;
@@ -249,7 +640,7 @@ public class BranchController {
             log.error("Error al verificar feriado: sucursal {} no encontrada", id);
             throw e;
         } catch (HolidayOperationException e) {
-            log.error("La fecha {} no es feriado en la sucursal {}", date, id);
+            log.debug("La fecha {} no es feriado en la sucursal {}", date, id);
             throw e;
         } catch (Exception e) {
             log.error("Error inesperado al verificar feriado en la sucursal {}", id, e);
@@ -257,20 +648,128 @@ public class BranchController {
         }
     }
 
+    @GetMapping("/{id}/holidays/status")
+    @Operation(summary = "Consultar estado de feriado", 
+              description = "Indica en el cuerpo de la respuesta si una fecha es feriado en una sucursal. A diferencia de /check, una fecha laborable responde 200 con holiday en false")
+    @ApiResponses({
+        @ApiResponse(responseCode = "200", description = "Estado de la fecha obtenido exitosamente"),
+        @ApiResponse(responseCode = "404", description = "Sucursal no encontrada"),
+        @ApiResponse(responseCode = "500", description = "Error interno del servidor")
+    })
+    public ResponseEntity<HolidayStatusDTO> getHolidayStatus(
+            @Parameter(description = "ID de la sucursal", required = true)
+            @PathVariable String id,
+            @Parameter(description = "Fecha a consultar", required = true)
+            @RequestParam LocalDate date) {
+        try {
+            boolean holiday = branchService.isHoliday(id, date);
+            log.debug("Estado de feriado de {} en la sucursal {}: {}", date, id, holiday);
+            return ResponseEntity.ok(HolidayStatusDTO.builder().branchId(id).date(date).holiday(holiday).build());
+        } catch (BranchNotFoundException e) {
+            log.error("Error al consultar feriado: sucursal {} no encontrada", id);
+            throw e;
+        } catch (Exception e) {
+            log.error("Error inesperado al consultar feriado en la sucursal {}", id, e);
+            throw e;
+        }
+    }
+
+    @PostMapping("/holidays/check")
+    @Operation(summary = "Verificar feriados en lote", 
+              description = "Verifica varias combinaciones de sucursal y fecha en una sola llamada. Las sucursales inexistentes no se incluyen en el resultado")
+    @ApiResponses({
+        @ApiResponse(responseCode = "200", description = "Resultado de la verificación por sucursal y fecha"),
+        @ApiResponse(responseCode = "400", description = "Datos de verificación inválidos"),
+        @ApiResponse(responseCode = "500", description = "Error interno del servidor")
+    })
+    public ResponseEntity<Map<String, Map<LocalDate, Boolean>>> checkHolidays(
+            @Parameter(description = "Combinaciones de sucursal y fecha a verificar", required = true)
+            @RequestBody List<HolidayCheckDTO> checks) {
+        try {
+            log.info("Verificando {} combinaciones de sucursal y fecha", checks.size());
+            Map<String, Set<LocalDate>> datesByBranch = HolidayChecks.group(checks, validator);
+            Map<String, Map<LocalDate, Boolean>> result = branchService.checkHolidays(datesByBranch);
+            log.info("Verificación en lote completada para {} sucursales", result.size());
+            return ResponseEntity.ok(result);
+        } catch (InvalidBranchDataException e) {
+            log.error("Error al verificar feriados en lote: {}", e.getMessage());
+            throw e;
+        } catch (Exception e) {
+            log.error("Error inesperado al verificar feriados en lote", e);
+            throw e;
+        }
+    }
+
+    private static List<ClosedBranchDTO> toClosedDtos(List<Branch> branches) {
+        return branches.stream()
+                .map(branch -> ClosedBranchDTO.builder().id(branch.getId()).name(branch.getName()).build())
+                .collect(Collectors.toList());
+    }
+
+    private static String wireFormat(WebRequest webRequest) {
+        List<MediaType> accepted;
+        try {
+            accepted = MediaType.parseMediaTypes(webRequest.getHeader(HttpHeaders.ACCEPT));
+        } catch (InvalidMediaTypeException e) {
+            return MediaType.APPLICATION_JSON.getSubtype();
+        }
+        MediaType selected = MediaType.APPLICATION_JSON;
+        double quality = -1;
+        for (MediaType mediaType : accepted) {
+            for (MediaType format : WIRE_FORMATS) {
+                if (mediaType.includes(format) && mediaType.getQualityValue() > quality) {
+                    selected = format;
+                    quality = mediaType.getQualityValue();
+                    break;
+                }
+            }
+        }
+        return selected.getSubtype();
+    }
+
+    private static void varyByAccept(WebRequest webRequest) {
+        if (webRequest instanceof ServletWebRequest servletRequest && servletRequest.getResponse() != null) {
+            servletRequest.getResponse().addHeader(HttpHeaders.VARY, HttpHeaders.ACCEPT);
+        }
+    }
+
+    private static String eTag(Branch branch, String variant) {
+        return eTag(branch.getId(), branch.getLastModifiedDate(), variant);
+    }
+
+    private static String eTag(String id, LocalDateTime modifiedAt, String variant) {
+        return "\"" + id + "-" + Math.max(lastModified(modifiedAt), 0) + "-"
+                + Integer.toHexString(variant.hashCode()) + "\"";
+    }
+
+    private static long lastModified(Branch branch) {
+        return lastModified(branch.getLastModifiedDate());
+    }
+
+    private static long lastModified(LocalDateTime modifiedAt) {
+        if (modifiedAt == null) {
+            return -1;
+        }
+        return modifiedAt.atZone(ZoneId.systemDefault()).toInstant().toEpochMilli();
+    }
+
     @ExceptionHandler(BranchNotFoundException.class)
     public ResponseEntity<ErrorResponse> handleBranchNotFoundException(BranchNotFoundException e) {
+        branchMetrics.recordError(e);
         ErrorResponse error = new ErrorResponse("NOT_FOUND", e.getMessage());
         return ResponseEntity.status(404).body(error);
     }
 
     @ExceptionHandler(InvalidBranchDataException.class)
     public ResponseEntity<ErrorResponse> handleInvalidBranchDataException(InvalidBranchDataException e) {
+        branchMetrics.recordError(e);
         ErrorResponse error = new ErrorResponse("BAD_REQUEST", e.getMessage());
         return ResponseEntity.status(400).body(error);
     }
 
     @ExceptionHandler(HolidayOperationException.class)
     public ResponseEntity<ErrorResponse> handleHolidayOperationException(HolidayOperationException e) {
+        branchMetrics.recordError(e);
         ErrorResponse error = new ErrorResponse("BAD_REQUEST", e.getMessage());
         return ResponseEntity.status(400).body(error);
     }
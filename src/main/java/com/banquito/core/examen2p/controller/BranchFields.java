@@ -0,0 +1,67 @@
+package com.banquito.core.examen2p.controller;
+
+import com.banquito.core.examen2p.exception.InvalidBranchDataException;
+import com.banquito.core.examen2p.repository.BranchStore;
+import com.fasterxml.jackson.databind.ser.BeanPropertyWriter;
+import com.fasterxml.jackson.databind.ser.PropertyWriter;
+import com.fasterxml.jackson.databind.ser.impl.SimpleBeanPropertyFilter;
+
+import java.util.LinkedHashSet;
+import java.util.Set;
+
+public final class BranchFields {
+    public static final String PARAMETER = "fields";
+    public static final String FILTER_ID = "branchFields";
+    public static final String SUMMARY = "summary";
+
+    private static final Set<String> ALLOWED = Set.of(
+            "id", "emailAddress", "name", "phoneNumber", "state",
+            "creationDate", "lastModifiedDate", "branchHolidays", "calendarIds", "excludedHolidays");
+
+    private BranchFields() {
+    }
+
+    public static Set<String> parse(String fields) {
+        if (fields == null || fields.isBlank()) {
+            return Set.of();
+        }
+        if (fields.trim().equals(SUMMARY)) {
+            return BranchStore.SUMMARY_FIELDS;
+        }
+        Set<String> selected = new LinkedHashSet<>();
+        for (String field : fields.split(",")) {
+            String trimmed = field.trim();
+            if (!ALLOWED.contains(trimmed)) {
+                throw new InvalidBranchDataException(PARAMETER, trimmed);
+            }
+            selected.add(trimmed);
+        }
+        return selected;
+    }
+
+    public static Filter filter(Set<String> fields) {
+        return new Filter(fields);
+    }
+
+    public static final class Filter extends SimpleBeanPropertyFilter {
+        private final Set<String> fields;
+
+        private Filter(Set<String> fields) {
+            this.fields = Set.copyOf(fields);
+        }
+
+        public boolean includes(String field) {
+            return fields.contains(field);
+        }
+
+        @Override
+        protected boolean include(BeanPropertyWriter writer) {
+            return fields.contains(writer.getName());
+        }
+
+        @Override
+        protected boolean include(PropertyWriter writer) {
+            return fields.contains(writer.getName());
+        }
+    }
+}
@@ -0,0 +1,38 @@
+package com.banquito.core.examen2p.controller;
+
+import com.banquito.core.examen2p.exception.ErrorResponse;
+import com.fasterxml.jackson.databind.ser.impl.SimpleFilterProvider;
+import org.springframework.context.annotation.Profile;
+import org.springframework.core.MethodParameter;
+import org.springframework.http.MediaType;
+import org.springframework.http.converter.json.MappingJacksonValue;
+import org.springframework.http.server.ServerHttpRequest;
+import org.springframework.http.server.ServerHttpResponse;
+import org.springframework.http.server.ServletServerHttpRequest;
+import org.springframework.web.bind.annotation.RestControllerAdvice;
+import org.springframework.web.servlet.mvc.method.annotation.AbstractMappingJacksonResponseBodyAdvice;
+
+import java.util.Set;
+
+@Profile("!reactive")
+@RestControllerAdvice(assignableTypes = BranchController.class)
+public class BranchFieldsResponseBodyAdvice extends AbstractMappingJacksonResponseBodyAdvice {
+
+    @Override
+    protected void beforeBodyWriteInternal(MappingJacksonValue bodyContainer, MediaType contentType,
+                                           MethodParameter returnType, ServerHttpRequest request,
+                                           ServerHttpResponse response) {
+        if (!(request instanceof ServletServerHttpRequest servletRequest)) {
+            return;
+        }
+        if (bodyContainer.getValue() instanceof ErrorResponse) {
+            return;
+        }
+        Set<String> fields = BranchFields.parse(servletRequest.getServletRequest().getParameter(BranchFields.PARAMETER));
+        if (fields.isEmpty()) {
+            return;
+        }
+        bodyContainer.setFilters(new SimpleFilterProvider()
+                .addFilter(BranchFields.FILTER_ID, BranchFields.filter(fields)));
+    }
+}
@@ -0,0 +1,146 @@
+package com.banquito.core.examen2p.controller;
+
+import com.banquito.core.examen2p.controller.dto.BusinessDayDTO;
+import com.banquito.core.examen2p.exception.BranchNotFoundException;
+import com.banquito.core.examen2p.exception.ErrorResponse;
+import com.banquito.core.examen2p.exception.InvalidBranchDataException;
+import com.banquito.core.examen2p.service.BranchMetrics;
+import com.banquito.core.examen2p.service.BusinessCalendarService;
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.Parameter;
+import io.swagger.v3.oas.annotations.responses.ApiResponse;
+import io.swagger.v3.oas.annotations.responses.ApiResponses;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.context.annotation.Profile;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+import java.time.LocalDate;
+
+@Slf4j
+@RestController
+@Profile("!reactive")
+@RequestMapping("/v1/branches/{id}/business-days")
+@RequiredArgsConstructor
+@Tag(name = "Business Days", description = "API para calcular días hábiles de una sucursal según sus feriados")
+public class BusinessCalendarController {
+
+    private final BusinessCalendarService businessCalendarService;
+    private final BranchMetrics branchMetrics;
+
+    @GetMapping("/next")
+    @Operation(summary = "Siguiente día hábil", 
+              description = "Retorna el primer día hábil posterior a la fecha indicada")
+    @ApiResponses({
+        @ApiResponse(responseCode = "200", description = "Día hábil calculado exitosamente"),
+        @ApiResponse(responseCode = "400", description = "No existe un día hábil representable después de la fecha"),
+        @ApiResponse(responseCode = "404", description = "Sucursal no encontrada"),
+        @ApiResponse(responseCode = "500", description = "Error interno del servidor")
+    })
+    public ResponseEntity<BusinessDayDTO> nextBusinessDay(
+            @Parameter(description = "ID de la sucursal", required = true)
+            @PathVariable String id,
+            @Parameter(description = "Fecha de referencia", required = true)
+            @RequestParam LocalDate date) {
+        try {
+            log.info("Calculando el siguiente día hábil después de {} para la sucursal {}", date, id);
+            LocalDate next = businessCalendarService.nextBusinessDay(id, date);
+            return ResponseEntity.ok(BusinessDayDTO.builder().branchId(id).from(date).date(next).build());
+        } catch (BranchNotFoundException e) {
+            log.error("Error al calcular día hábil: sucursal {} no encontrada", id);
+            throw e;
+        } catch (InvalidBranchDataException e) {
+            log.error("Error al calcular el siguiente día hábil para la sucursal {}: {}", id, e.getMessage());
+            throw e;
+        } catch (Exception e) {
+            log.error("Error inesperado al calcular el siguiente día hábil de la sucursal {}", id, e);
+            throw e;
+        }
+    }
+
+    @GetMapping("/add")
+    @Operation(summary = "Sumar días hábiles", 
+              description = "Retorna la fecha que resulta de sumar la cantidad indicada de días hábiles")
+    @ApiResponses({
+        @ApiResponse(responseCode = "200", description = "Fecha calculada exitosamente"),
+        @ApiResponse(responseCode = "400", description = "Cantidad de días inválida"),
+        @ApiResponse(responseCode = "404", description = "Sucursal no encontrada"),
+        @ApiResponse(responseCode = "500", description = "Error interno del servidor")
+    })
+    public ResponseEntity<BusinessDayDTO> addBusinessDays(
+            @Parameter(description = "ID de la sucursal", required = true)
+            @PathVariable String id,
+            @Parameter(description = "Fecha de referencia", required = true)
+            @RequestParam LocalDate date,
+            @Parameter(description = "Cantidad de días hábiles a sumar", required = true)
+            @RequestParam int days) {
+        try {
+            log.info("Sumando {} días hábiles a {} para la sucursal {}", days, date, id);
+            LocalDate result = businessCalendarService.addBusinessDays(id, date, days);
+            return ResponseEntity.ok(BusinessDayDTO.builder()
+                    .branchId(id).from(date).date(result).businessDays((long) days).build());
+        } catch (BranchNotFoundException | InvalidBranchDataException e) {
+            log.error("Error al sumar días hábiles para la sucursal {}: {}", id, e.getMessage());
+            throw e;
+        } catch (Exception e) {
+            log.error("Error inesperado al sumar días hábiles para la sucursal {}", id, e);
+            throw e;
+        }
+    }
+
+    @GetMapping("/count")
+    @Operation(summary = "Contar días hábiles", 
+              description = "Cuenta los días hábiles entre dos fechas, incluyendo la inicial y excluyendo la final")
+    @ApiResponses({
+        @ApiResponse(responseCode = "200", description = "Días hábiles contados exitosamente"),
+        @ApiResponse(responseCode = "400", description = "Periodo de consulta demasiado extenso"),
+        @ApiResponse(responseCode = "404", description = "Sucursal no encontrada"),
+        @ApiResponse(responseCode = "500", description = "Error interno del servidor")
+    })
+    public ResponseEntity<BusinessDayDTO> countBusinessDays(
+            @Parameter(description = "ID de la sucursal", required = true)
+            @PathVariable String id,
+            @Parameter(description = "Fecha inicial (inclusive)", required = true)
+            @RequestParam LocalDate from,
+            @Parameter(description = "Fecha final (exclusiva)", required = true)
+            @RequestParam LocalDate to) {
+        try {
+            log.info("Contando días hábiles entre {} y {} para la sucursal {}", from, to, id);
+            long count = businessCalendarService.businessDaysBetween(id, from, to);
+            return ResponseEntity.ok(BusinessDayDTO.builder()
+                    .branchId(id).from(from).to(to).businessDays(count).build());
+        } catch (BranchNotFoundException e) {
+            log.error("Error al contar días hábiles: sucursal {} no encontrada", id);
+            throw e;
+        } catch (InvalidBranchDataException e) {
+            log.error("Error al contar días hábiles para la sucursal {}: {}", id, e.getMessage());
+            throw e;
+        } catch (Exception e) {
+            log.error("Error inesperado al contar días hábiles de la sucursal {}", id, e);
+            throw e;
+        }
+    }
+
+    @ExceptionHandler(BranchNotFoundException.class)
+    public ResponseEntity<ErrorResponse> handleBranchNotFoundException(BranchNotFoundException e) {
+        branchMetrics.recordError(e);
+        ErrorResponse error = new ErrorResponse("NOT_FOUND", e.getMessage());
+        return ResponseEntity.status(404).body(error);
+    }
+
+    @ExceptionHandler(InvalidBranchDataException.class)
+    public ResponseEntity<ErrorResponse> handleInvalidBranchDataException(InvalidBranchDataException e) {
+        branchMetrics.recordError(e);
+        ErrorResponse error = new ErrorResponse("BAD_REQUEST", e.getMessage());
+        return ResponseEntity.status(400).body(error);
+    }
+
+    @ExceptionHandler(Exception.class)
+    public ResponseEntity<ErrorResponse> handleGenericException(Exception e) {
+        ErrorResponse error = new ErrorResponse("INTERNAL_SERVER_ERROR", "Error interno del servidor");
+        log.error("Error no manejado", e);
+        return ResponseEntity.status(500).body(error);
+    }
+}
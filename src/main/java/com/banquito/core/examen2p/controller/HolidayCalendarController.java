@@ -0,0 +1,244 @@
+package com.banquito.core.examen2p.controller;
+
+import com.banquito.core.examen2p.controller.dto.BranchHolidayDTO;
+import com.banquito.core.examen2p.controller.dto.HolidayCalendarDTO;
+import com.banquito.core.examen2p.controller.mapper.BranchMapper;
+import com.banquito.core.examen2p.exception.ErrorResponse;
+import com.banquito.core.examen2p.exception.HolidayCalendarNotFoundException;
+import com.banquito.core.examen2p.exception.HolidayCalendarOperationException;
+import com.banquito.core.examen2p.exception.InvalidBranchDataException;
+import com.banquito.core.examen2p.service.BranchMetrics;
+import com.banquito.core.examen2p.service.HolidayCalendarService;
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.Parameter;
+import io.swagger.v3.oas.annotations.responses.ApiResponse;
+import io.swagger.v3.oas.annotations.responses.ApiResponses;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import jakarta.validation.Valid;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.context.annotation.Profile;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+import java.time.LocalDate;
+import java.util.List;
+import java.util.stream.Collectors;
+
+@Slf4j
+@RestController
+@Profile("!reactive")
+@RequestMapping("/v1/holiday-calendars")
+@RequiredArgsConstructor
+@Tag(name = "Holiday Calendars", description = "API para gestionar calendarios de feriados compartidos entre sucursales")
+public class HolidayCalendarController {
+
+    private final HolidayCalendarService holidayCalendarService;
+    private final BranchMapper branchMapper;
+    private final BranchMetrics branchMetrics;
+
+    @GetMapping
+    @Operation(summary = "Obtener todos los calendarios",
+              description = "Retorna todos los calendarios de feriados compartidos")
+    @ApiResponses({
+        @ApiResponse(responseCode = "200", description = "Lista de calendarios obtenida exitosamente")
+    })
+    public ResponseEntity<List<HolidayCalendarDTO>> getAllCalendars() {
+        try {
+            log.info("Obteniendo todos los calendarios de feriados");
+            List<HolidayCalendarDTO> calendars = holidayCalendarService.findAll().stream()
+                    .map(branchMapper::toDto)
+                    .collect(Collectors.toList());
+            log.info("Se encontraron {} calendarios de feriados", calendars.size());
+            return ResponseEntity.ok(calendars);
+        } catch (Exception e) {
+            log.error("Error al obtener los calendarios de feriados", e);
+            throw e;
+        }
+    }
+
+    @PostMapping
+    @Operation(summary = "Crear un calendario",
+              description = "Crea un calendario de feriados que luego puede asignarse a varias sucursales")
+    @ApiResponses({
+        @ApiResponse(responseCode = "200", description = "Calendario creado exitosamente"),
+        @ApiResponse(responseCode = "400", description = "Datos del calendario inválidos")
+    })
+    public ResponseEntity<HolidayCalendarDTO> createCalendar(
+            @Parameter(description = "Datos del calendario a crear", required = true)
+            @Valid @RequestBody HolidayCalendarDTO calendarDTO) {
+        try {
+            log.info("Creando calendario de feriados con nombre: {}", calendarDTO.getName());
+            HolidayCalendarDTO created = branchMapper.toDto(
+                    holidayCalendarService.create(branchMapper.toEntity(calendarDTO)));
+            log.info("Calendario de feriados creado con ID: {}", created.getId());
+            return ResponseEntity.ok(created);
+        } catch (InvalidBranchDataException e) {
+            log.error("Error al crear el calendario de feriados: {}", e.getMessage());
+            throw e;
+        } catch (Exception e) {
+            log.error("Error al crear el calendario de feriados", e);
+            throw e;
+        }
+    }
+
+    @GetMapping("/{id}")
+    @Operation(summary = "Obtener calendario por ID",
+              description = "Retorna un calendario de feriados con todos sus feriados")
+    @ApiResponses({
+        @ApiResponse(responseCode = "200", description = "Calendario encontrado exitosamente"),
+        @ApiResponse(responseCode = "404", description = "Calendario no encontrado")
+    })
+    public ResponseEntity<HolidayCalendarDTO> getCalendarById(
+            @Parameter(description = "ID del calendario", required = true)
+            @PathVariable String id) {
+        try {
+            log.info("Buscando calendario de feriados con ID: {}", id);
+            return ResponseEntity.ok(branchMapper.toDto(holidayCalendarService.findById(id)));
+        } catch (HolidayCalendarNotFoundException e) {
+            log.error("Calendario de feriados no encontrado con ID: {}", id);
+            throw e;
+        } catch (Exception e) {
+            log.error("Error al buscar el calendario de feriados con ID: {}", id, e);
+            throw e;
+        }
+    }
+
+    @DeleteMapping("/{id}")
+    @Operation(summary = "Eliminar calendario",
+              description = "Elimina un calendario de feriados que no esté asignado a ninguna sucursal")
+    @ApiResponses({
+        @ApiResponse(responseCode = "204", description = "Calendario eliminado exitosamente"),
+        @ApiResponse(responseCode = "400", description = "El calendario está asignado a sucursales"),
+        @ApiResponse(responseCode = "404", description = "Calendario no encontrado")
+    })
+    public ResponseEntity<Void> deleteCalendar(
+            @Parameter(description = "ID del calendario", required = true)
+            @PathVariable String id) {
+        try {
+            log.info("Eliminando calendario de feriados: {}", id);
+            holidayCalendarService.delete(id);
+            log.info("Calendario de feriados eliminado: {}", id);
+            return ResponseEntity.noContent().build();
+        } catch (HolidayCalendarNotFoundException | HolidayCalendarOperationException e) {
+            log.error("Error al eliminar el calendario de feriados: {}", e.getMessage());
+            throw e;
+        } catch (Exception e) {
+            log.error("Error inesperado al eliminar el calendario de feriados {}", id, e);
+            throw e;
+        }
+    }
+
+    @PostMapping("/{id}/holidays")
+    @Operation(summary = "Agregar feriado al calendario",
+              description = "Agrega un feriado al calendario. Aplica de inmediato a todas las sucursales que lo usan")
+    @ApiResponses({
+        @ApiResponse(responseCode = "200", description = "Feriado agregado exitosamente"),
+        @ApiResponse(responseCode = "400", description = "Datos del feriado inválidos o fecha ya registrada"),
+        @ApiResponse(responseCode = "404", description = "Calendario no encontrado"),
+        @ApiResponse(responseCode = "500", description = "Error interno del servidor")
+    })
+    public ResponseEntity<HolidayCalendarDTO> addHoliday(
+            @Parameter(description = "ID del calendario", required = true)
+            @PathVariable String id,
+            @Parameter(description = "Datos del feriado", required = true)
+            @Valid @RequestBody BranchHolidayDTO holidayDTO) {
+        try {
+            log.info("Agregando feriado {} al calendario {}", holidayDTO.getName(), id);
+            HolidayCalendarDTO updated = branchMapper.toDto(
+                    holidayCalendarService.addHoliday(id, branchMapper.toEntity(holidayDTO)));
+            log.info("Feriado agregado al calendario: {}", id);
+            return ResponseEntity.ok(updated);
+        } catch (HolidayCalendarNotFoundException | HolidayCalendarOperationException | InvalidBranchDataException e) {
+            log.error("Error al agregar feriado al calendario {}: {}", id, e.getMessage());
+            throw e;
+        } catch (Exception e) {
+            log.error("Error inesperado al agregar feriado al calendario {}", id, e);
+            throw e;
+        }
+    }
+
+    @DeleteMapping("/{id}/holidays")
+    @Operation(summary = "Eliminar feriado del calendario",
+              description = "Elimina del calendario el feriado de la fecha indicada")
+    @ApiResponses({
+        @ApiResponse(responseCode = "200", description = "Feriado eliminado exitosamente"),
+        @ApiResponse(responseCode = "400", description = "El calendario no tiene un feriado en esa fecha"),
+        @ApiResponse(responseCode = "404", description = "Calendario no encontrado"),
+        @ApiResponse(responseCode = "500", description = "Error interno del servidor")
+    })
+    public ResponseEntity<HolidayCalendarDTO> deleteHoliday(
+            @Parameter(description = "ID del calendario", required = true)
+            @PathVariable String id,
+            @Parameter(description = "Fecha del feriado a eliminar", required = true)
+            @RequestParam LocalDate date) {
+        try {
+            log.info("Eliminando feriado del {} del calendario: {}", date, id);
+            HolidayCalendarDTO updated = branchMapper.toDto(holidayCalendarService.deleteHoliday(id, date));
+            log.info("Feriado eliminado del calendario: {}", id);
+            return ResponseEntity.ok(updated);
+        } catch (HolidayCalendarNotFoundException | HolidayCalendarOperationException e) {
+            log.error("Error al eliminar feriado del calendario: {}", e.getMessage());
+            throw e;
+        } catch (Exception e) {
+            log.error("Error inesperado al eliminar feriado del calendario {}", id, e);
+            throw e;
+        }
+    }
+
+    @DeleteMapping("/{id}/holidays/rules")
+    @Operation(summary = "Eliminar regla de feriado del calendario",
+              description = "Elimina del calendario un feriado recurrente según su nombre")
+    @ApiResponses({
+        @ApiResponse(responseCode = "200", description = "Regla de feriado eliminada exitosamente"),
+        @ApiResponse(responseCode = "400", description = "El calendario no tiene una regla con ese nombre"),
+        @ApiResponse(responseCode = "404", description = "Calendario no encontrado"),
+        @ApiResponse(responseCode = "500", description = "Error interno del servidor")
+    })
+    public ResponseEntity<HolidayCalendarDTO> deleteHolidayRule(
+            @Parameter(description = "ID del calendario", required = true)
+            @PathVariable String id,
+            @Parameter(description = "Nombre del feriado recurrente a eliminar", required = true)
+            @RequestParam String name) {
+        try {
+            log.info("Eliminando regla de feriado {} del calendario: {}", name, id);
+            HolidayCalendarDTO updated = branchMapper.toDto(holidayCalendarService.deleteHolidayRule(id, name));
+            log.info("Regla de feriado eliminada del calendario: {}", id);
+            return ResponseEntity.ok(updated);
+        } catch (HolidayCalendarNotFoundException | HolidayCalendarOperationException e) {
+            log.error("Error al eliminar regla de feriado del calendario: {}", e.getMessage());
+            throw e;
+        } catch (Exception e) {
+            log.error("Error inesperado al eliminar regla de feriado del calendario {}", id, e);
+            throw e;
+        }
+    }
+
+    @ExceptionHandler(HolidayCalendarNotFoundException.class)
+    public ResponseEntity<ErrorResponse> handleHolidayCalendarNotFoundException(HolidayCalendarNotFoundException e) {
+        branchMetrics.recordError(e);
+        ErrorResponse error = new ErrorResponse("NOT_FOUND", e.getMessage());
+        return ResponseEntity.status(404).body(error);
+    }
+
+    @ExceptionHandler(InvalidBranchDataException.class)
+    public ResponseEntity<ErrorResponse> handleInvalidBranchDataException(InvalidBranchDataException e) {
+        branchMetrics.recordError(e);
+        ErrorResponse error = new ErrorResponse("BAD_REQUEST", e.getMessage());
+        return ResponseEntity.status(400).body(error);
+    }
+
+    @ExceptionHandler(HolidayCalendarOperationException.class)
+    public ResponseEntity<ErrorResponse> handleHolidayCalendarOperationException(HolidayCalendarOperationException e) {
+        branchMetrics.recordError(e);
+        ErrorResponse error = new ErrorResponse("BAD_REQUEST", e.getMessage());
+        return ResponseEntity.status(400).body(error);
+    }
+
+    @ExceptionHandler(Exception.class)
+    public ResponseEntity<ErrorResponse> handleGenericException(Exception e) {
+        ErrorResponse error = new ErrorResponse("INTERNAL_SERVER_ERROR", "Error interno del servidor");
+        log.error("Error no manejado", e);
+        return ResponseEntity.status(500).body(error);
+    }
+}
@@ -0,0 +1,42 @@
+package com.banquito.core.examen2p.controller;
+
+import com.banquito.core.examen2p.controller.dto.HolidayCheckDTO;
+import com.banquito.core.examen2p.exception.InvalidBranchDataException;
+import jakarta.validation.ConstraintViolation;
+import jakarta.validation.Validator;
+
+import java.time.LocalDate;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+public final class HolidayChecks {
+    public static final String PARAMETER = "checks";
+    public static final int MAX_CHECKS = 1000;
+
+    private HolidayChecks() {
+    }
+
+    public static Map<String, Set<LocalDate>> group(List<HolidayCheckDTO> checks, Validator validator) {
+        if (checks.size() > MAX_CHECKS) {
+            throw new InvalidBranchDataException(PARAMETER, checks.size() + " combinaciones (máximo " + MAX_CHECKS + ")");
+        }
+        Map<String, Set<LocalDate>> datesByBranch = new LinkedHashMap<>();
+        for (int i = 0; i < checks.size(); i++) {
+            HolidayCheckDTO check = checks.get(i);
+            if (check == null) {
+                throw new InvalidBranchDataException(PARAMETER + "[" + i + "]", "null");
+            }
+            Set<ConstraintViolation<HolidayCheckDTO>> violations = validator.validate(check);
+            if (!violations.isEmpty()) {
+                ConstraintViolation<HolidayCheckDTO> violation = violations.iterator().next();
+                throw new InvalidBranchDataException(PARAMETER + "[" + i + "]." + violation.getPropertyPath(),
+                        violation.getMessage());
+            }
+            datesByBranch.computeIfAbsent(check.getBranchId(), key -> new LinkedHashSet<>()).add(check.getDate());
+        }
+        return datesByBranch;
+    }
+}
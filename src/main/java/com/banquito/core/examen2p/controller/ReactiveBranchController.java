@@ -0,0 +1,246 @@
+package com.banquito.core.examen2p.controller;
+
+import com.banquito.core.examen2p.controller.dto.BranchDTO;
+import com.banquito.core.examen2p.controller.dto.BranchHolidayDTO;
+import com.banquito.core.examen2p.controller.dto.BranchMatchDTO;
+import com.banquito.core.examen2p.controller.dto.HolidayCheckDTO;
+import com.banquito.core.examen2p.controller.dto.HolidayStatusDTO;
+import com.banquito.core.examen2p.controller.mapper.BranchMapper;
+import com.banquito.core.examen2p.exception.BranchNotFoundException;
+import com.banquito.core.examen2p.exception.ErrorResponse;
+import com.banquito.core.examen2p.exception.HolidayOperationException;
+import com.banquito.core.examen2p.exception.InvalidBranchDataException;
+import com.banquito.core.examen2p.service.BranchMetrics;
+import com.banquito.core.examen2p.service.ReactiveBranchService;
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.Parameter;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import jakarta.validation.Valid;
+import jakarta.validation.Validator;
+import jakarta.validation.constraints.Pattern;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.context.annotation.Profile;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.time.LocalDate;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+@Slf4j
+@RestController
+@Profile("reactive")
+@RequestMapping("/v1/branches")
+@RequiredArgsConstructor
+@Tag(name = "Branch (reactivo)", description = "Subconjunto reactivo de la API de sucursales: consulta, creación, teléfono, feriados de la sucursal y verificación de feriados. Cierres, cambios, importación, eliminación, calendarios, reglas, días hábiles y calendarios de feriados solo están disponibles en el perfil por defecto")
+public class ReactiveBranchController {
+
+    private final ReactiveBranchService branchService;
+    private final BranchMapper branchMapper;
+    private final BranchMetrics branchMetrics;
+    private final Validator validator;
+
+    @GetMapping
+    @Operation(summary = "Obtener todas las sucursales", 
+              description = "Retorna una lista de todas las sucursales bancarias activas e inactivas")
+    public Flux<BranchDTO> getAllBranches() {
+        log.info("Obteniendo todas las sucursales");
+        return branchService.findAll()
+                .map(branchMapper::toDto)
+                .doOnError(e -> log.error("Error al obtener las sucursales", e));
+    }
+
+    @GetMapping(value = "/stream", produces = MediaType.APPLICATION_NDJSON_VALUE)
+    @Operation(summary = "Transmitir todas las sucursales", 
+              description = "Retorna todas las sucursales en formato NDJSON respetando la contrapresión del cliente")
+    public Flux<BranchDTO> streamBranches() {
+        log.info("Transmitiendo todas las sucursales");
+        return branchService.streamAll()
+                .map(branchMapper::toDto)
+                .doOnError(e -> log.error("Error al transmitir las sucursales", e));
+    }
+
+    @GetMapping("/search")
+    @Operation(summary = "Buscar sucursales por nombre", 
+              description = "Retorna las sucursales cuyo nombre, o alguna de sus palabras, empieza con el texto indicado, sin distinguir mayúsculas ni tildes")
+    public Mono<ResponseEntity<List<BranchMatchDTO>>> searchBranches(
+            @Parameter(description = "Texto inicial del nombre de la sucursal", required = true)
+            @RequestParam String q,
+            @Parameter(description = "Estado de las sucursales, ACTIVE o INACTIVE")
+            @Pattern(regexp = "^(ACTIVE|INACTIVE)$", message = "El estado debe ser ACTIVE o INACTIVE")
+            @RequestParam(required = false) String state,
+            @Parameter(description = "Cantidad máxima de coincidencias")
+            @RequestParam(defaultValue = "10") int limit) {
+        if (limit < 1 || limit > 50) {
+            return Mono.error(new InvalidBranchDataException("limit", String.valueOf(limit)));
+        }
+        return branchService.search(q, state, limit)
+                .map(branches -> branches.stream()
+                        .map(branch -> BranchMatchDTO.builder()
+                                .id(branch.getId())
+                                .name(branch.getName())
+                                .state(branch.getState())
+                                .build())
+                        .collect(Collectors.toList()))
+                .map(ResponseEntity::ok);
+    }
+
+    @PostMapping
+    @Operation(summary = "Crear una nueva sucursal", 
+              description = "Crea una nueva sucursal bancaria sin feriados. Todos los campos son obligatorios excepto el ID")
+    public Mono<ResponseEntity<BranchDTO>> createBranch(
+            @Parameter(description = "Datos de la sucursal a crear", required = true)
+            @Valid @RequestBody BranchDTO branchDTO) {
+        log.info("Creando nueva sucursal con nombre: {}", branchDTO.getName());
+        return branchService.create(branchMapper.toEntity(branchDTO))
+                .map(branchMapper::toDto)
+                .doOnNext(created -> log.info("Sucursal creada con ID: {}", created.getId()))
+                .map(ResponseEntity::ok);
+    }
+
+    @GetMapping("/{id}")
+    @Operation(summary = "Obtener sucursal por ID", 
+              description = "Retorna una sucursal bancaria específica basada en su ID")
+    public Mono<ResponseEntity<BranchDTO>> getBranchById(
+            @Parameter(description = "ID de la sucursal", required = true)
+            @PathVariable String id) {
+        log.info("Buscando sucursal con ID: {}", id);
+        return branchService.findById(id)
+                .map(branchMapper::toDto)
+                .doOnNext(branch -> log.info("Sucursal encontrada: {}", branch.getName()))
+                .map(ResponseEntity::ok);
+    }
+
+    @PatchMapping("/{id}/phone")
+    @Operation(summary = "Actualizar número de teléfono", 
+              description = "Actualiza el número de teléfono de una sucursal específica")
+    public Mono<ResponseEntity<BranchDTO>> updatePhoneNumber(
+            @Parameter(description = "ID de la sucursal", required = true)
+            @PathVariable String id,
+            @Parameter(description = "Nuevo número de teléfono", required = true)
+            @Pattern(regexp = "^\\+?[0-9]{10,13}$", message = "El formato del número de teléfono no es válido")
+            @RequestParam String phoneNumber) {
+        log.info("Actualizando número de teléfono de la sucursal {}: {}", id, phoneNumber);
+        return branchService.updatePhoneNumber(id, phoneNumber)
+                .map(branchMapper::toDto)
+                .doOnNext(branch -> log.info("Número de teléfono actualizado para la sucursal: {}", id))
+                .map(ResponseEntity::ok);
+    }
+
+    @PostMapping("/{id}/holidays")
+    @Operation(summary = "Agregar feriado", 
+              description = "Agrega un nuevo feriado a una sucursal específica")
+    public Mono<ResponseEntity<BranchDTO>> addHoliday(
+            @Parameter(description = "ID de la sucursal", required = true)
+            @PathVariable String id,
+            @Parameter(description = "Datos del feriado", required = true)
+            @Valid @RequestBody BranchHolidayDTO holidayDTO) {
+        log.info("Agregando feriado {} a la sucursal {}", holidayDTO.getName(), id);
+        return branchService.addHoliday(id, branchMapper.toEntity(holidayDTO))
+                .map(branchMapper::toDto)
+                .doOnNext(branch -> log.info("Feriado agregado a la sucursal: {}", id))
+                .map(ResponseEntity::ok);
+    }
+
+    @DeleteMapping("/{id}/holidays")
+    @Operation(summary = "Eliminar feriado", 
+              description = "Elimina un feriado específico de una sucursal")
+    public Mono<ResponseEntity<BranchDTO>> deleteHoliday(
+            @Parameter(description = "ID de la sucursal", required = true)
+            @PathVariable String id,
+            @Parameter(description = "Fecha del feriado a eliminar", required = true)
+            @RequestParam LocalDate date) {
+        log.info("Eliminando feriado del {} de la sucursal: {}", date, id);
+        return branchService.deleteHoliday(id, date)
+                .map(branchMapper::toDto)
+                .doOnNext(branch -> log.info("Feriado eliminado de la sucursal: {}", id))
+                .map(ResponseEntity::ok);
+    }
+
+    @GetMapping("/{id}/holidays")
+    @Operation(summary = "Obtener feriados", 
+              description = "Obtiene todos los feriados de una sucursal específica")
+    public Mono<ResponseEntity<List<BranchHolidayDTO>>> getHolidays(
+            @Parameter(description = "ID de la sucursal", required = true)
+            @PathVariable String id) {
+        log.info("Obteniendo feriados de la sucursal: {}", id);
+        return branchService.getHolidays(id)
+                .map(branchMapper::toHolidayDtos)
+                .doOnNext(holidays -> log.info("Se encontraron {} feriados para la sucursal {}", holidays.size(), id))
+                .map(ResponseEntity::ok);
+    }
+
+    @GetMapping("/{id}/holidays/check")
+    @Operation(summary = "Verificar feriado", 
+              description = "Verifica si una fecha específica es feriado en una sucursal")
+    public Mono<ResponseEntity<Void>> isHoliday(
+            @Parameter(description = "ID de la sucursal", required = true)
+            @PathVariable String id,
+            @Parameter(description = "Fecha a verificar", required = true)
+            @RequestParam LocalDate date) {
+        log.info("Verificando si {} es feriado en la sucursal {}", date, id);
+        return branchService.verifyHoliday(id, date)
+                .then(Mono.fromSupplier(() -> {
+                    log.info("Se confirmó que {} es feriado en la sucursal {}", date, id);
+                    return ResponseEntity.ok().<Void>build();
+                }));
+    }
+
+    @GetMapping("/{id}/holidays/status")
+    @Operation(summary = "Consultar estado de feriado", 
+              description = "Indica en el cuerpo de la respuesta si una fecha es feriado en una sucursal. A diferencia de /check, una fecha laborable responde 200 con holiday en false")
+    public Mono<ResponseEntity<HolidayStatusDTO>> getHolidayStatus(
+            @Parameter(description = "ID de la sucursal", required = true)
+            @PathVariable String id,
+            @Parameter(description = "Fecha a consultar", required = true)
+            @RequestParam LocalDate date) {
+        return branchService.isHoliday(id, date)
+                .map(holiday -> ResponseEntity.ok(HolidayStatusDTO.builder().branchId(id).date(date).holiday(holiday).build()));
+    }
+
+    @PostMapping("/holidays/check")
+    @Operation(summary = "Verificar feriados en lote", 
+              description = "Verifica varias combinaciones de sucursal y fecha en una sola llamada. Las sucursales inexistentes no se incluyen en el resultado")
+    public Mono<ResponseEntity<Map<String, Map<LocalDate, Boolean>>>> checkHolidays(
+            @Parameter(description = "Combinaciones de sucursal y fecha a verificar", required = true)
+            @RequestBody List<HolidayCheckDTO> checks) {
+        log.info("Verificando {} combinaciones de sucursal y fecha", checks.size());
+        Map<String, Set<LocalDate>> datesByBranch = HolidayChecks.group(checks, validator);
+        return branchService.checkHolidays(datesByBranch)
+                .map(ResponseEntity::ok);
+    }
+
+    @ExceptionHandler(BranchNotFoundException.class)
+    public ResponseEntity<ErrorResponse> handleBranchNotFoundException(BranchNotFoundException e) {
+        branchMetrics.recordError(e);
+        ErrorResponse error = new ErrorResponse("NOT_FOUND", e.getMessage());
+        return ResponseEntity.status(404).body(error);
+    }
+
+    @ExceptionHandler(InvalidBranchDataException.class)
+    public ResponseEntity<ErrorResponse> handleInvalidBranchDataException(InvalidBranchDataException e) {
+        branchMetrics.recordError(e);
+        ErrorResponse error = new ErrorResponse("BAD_REQUEST", e.getMessage());
+        return ResponseEntity.status(400).body(error);
+    }
+
+    @ExceptionHandler(HolidayOperationException.class)
+    public ResponseEntity<ErrorResponse> handleHolidayOperationException(HolidayOperationException e) {
+        branchMetrics.recordError(e);
+        ErrorResponse error = new ErrorResponse("BAD_REQUEST", e.getMessage());
+        return ResponseEntity.status(400).body(error);
+    }
+
+    @ExceptionHandler(Exception.class)
+    public ResponseEntity<ErrorResponse> handleGenericException(Exception e) {
+        ErrorResponse error = new ErrorResponse("INTERNAL_SERVER_ERROR", "Error interno del servidor");
+        log.error("Error no manejado", e);
+        return ResponseEntity.status(500).body(error);
+    }
+}
@@ -0,0 +1,22 @@
+package com.banquito.core.examen2p.controller.dto;
+
+import jakarta.validation.constraints.NotBlank;
+import jakarta.validation.constraints.NotNull;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDate;
+import java.util.List;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class BranchCalendarsDTO {
+    @NotNull(message = "La lista de calendarios es obligatoria")
+    private List<@NotBlank(message = "El ID del calendario es obligatorio") String> calendarIds;
+
+    private List<@NotNull(message = "La fecha excluida es obligatoria") LocalDate> excludedHolidays;
+}
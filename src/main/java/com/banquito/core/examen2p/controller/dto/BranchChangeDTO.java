@@ -0,0 +1,24 @@
+package com.banquito.core.examen2p.controller.dto;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class BranchChangeDTO {
+    public static final String UPSERT = "UPSERT";
+    public static final String DELETE = "DELETE";
+
+    private String id;
+    private String type;
+    private LocalDateTime modifiedAt;
+    @JsonInclude(JsonInclude.Include.NON_NULL)
+    private BranchDTO branch;
+}
@@ -0,0 +1,18 @@
+package com.banquito.core.examen2p.controller.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class BranchChangeFeedDTO {
+    private List<BranchChangeDTO> changes;
+    private String cursor;
+    private boolean hasMore;
+}
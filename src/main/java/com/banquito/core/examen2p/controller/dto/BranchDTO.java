@@ -1,5 +1,8 @@
 package com.banquito.core.examen2p.controller.dto;
 
+import com.banquito.core.examen2p.controller.BranchFields;
+import com.fasterxml.jackson.annotation.JsonFilter;
+import com.fasterxml.jackson.annotation.JsonInclude;
 import jakarta.validation.constraints.Email;
 import jakarta.validation.constraints.NotBlank;
 import jakarta.validation.constraints.Pattern;
@@ -9,6 +12,7 @@ import lombok.Data;
 import lombok.NoArgsConstructor;
 import lombok.AllArgsConstructor;
 
+import java.time.LocalDate;
 import java.time.LocalDateTime;
 import java.util.List;
 
@@ -16,6 +20,7 @@ import java.util.List;
 @Builder
 @NoArgsConstructor
 @AllArgsConstructor
+@JsonFilter(BranchFields.FILTER_ID)
 public class BranchDTO {
     private String id;
 
@@ -38,4 +43,10 @@ public class BranchDTO {
     private LocalDateTime creationDate;
     private LocalDateTime lastModifiedDate;
     private List<BranchHolidayDTO> branchHolidays;
+
+    @JsonInclude(JsonInclude.Include.NON_EMPTY)
+    private List<String> calendarIds;
+
+    @JsonInclude(JsonInclude.Include.NON_EMPTY)
+    private List<LocalDate> excludedHolidays;
 } 
\ No newline at end of file
@@ -1,8 +1,12 @@
 package com.banquito.core.examen2p.controller.dto;
 
+import com.fasterxml.jackson.annotation.JsonIgnore;
+import com.fasterxml.jackson.annotation.JsonInclude;
+import io.swagger.v3.oas.annotations.media.Schema;
+import jakarta.validation.Valid;
+import jakarta.validation.constraints.AssertTrue;
 import jakarta.validation.constraints.Future;
 import jakarta.validation.constraints.NotBlank;
-import jakarta.validation.constraints.NotNull;
 import jakarta.validation.constraints.Size;
 import lombok.Builder;
 import lombok.Data;
@@ -16,11 +20,21 @@ import java.time.LocalDate;
 @NoArgsConstructor
 @AllArgsConstructor
 public class BranchHolidayDTO {
-    @NotNull(message = "La fecha es obligatoria")
     @Future(message = "La fecha debe ser futura")
     private LocalDate date;
 
     @NotBlank(message = "El nombre del feriado es obligatorio")
     @Size(min = 3, max = 100, message = "El nombre debe tener entre 3 y 100 caracteres")
     private String name;
+
+    @Valid
+    @JsonInclude(JsonInclude.Include.NON_NULL)
+    private HolidayRuleDTO rule;
+
+    @JsonIgnore
+    @Schema(hidden = true)
+    @AssertTrue(message = "Debe indicar la fecha o la regla del feriado, pero no ambas")
+    public boolean isDateOrRule() {
+        return (date == null) != (rule == null);
+    }
 } 
\ No newline at end of file
@@ -0,0 +1,22 @@
+package com.banquito.core.examen2p.controller.dto;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDate;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+@JsonInclude(JsonInclude.Include.NON_NULL)
+public class BusinessDayDTO {
+    private String branchId;
+    private LocalDate from;
+    private LocalDate to;
+    private LocalDate date;
+    private Long businessDays;
+}
@@ -0,0 +1,15 @@
+package com.banquito.core.examen2p.controller.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class ClosedBranchDTO {
+    private String id;
+    private String name;
+}
@@ -0,0 +1,31 @@
+package com.banquito.core.examen2p.controller.dto;
+
+import jakarta.validation.Valid;
+import jakarta.validation.constraints.NotBlank;
+import jakarta.validation.constraints.Size;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class HolidayCalendarDTO {
+    private String id;
+
+    @NotBlank(message = "El nombre del calendario es obligatorio")
+    @Size(min = 3, max = 100, message = "El nombre debe tener entre 3 y 100 caracteres")
+    private String name;
+
+    @Size(max = 500, message = "La descripción no puede superar los 500 caracteres")
+    private String description;
+
+    private LocalDateTime creationDate;
+    private LocalDateTime lastModifiedDate;
+    private List<@Valid BranchHolidayDTO> holidays;
+}
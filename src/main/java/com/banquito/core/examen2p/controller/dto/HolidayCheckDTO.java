@@ -0,0 +1,22 @@
+package com.banquito.core.examen2p.controller.dto;
+
+import jakarta.validation.constraints.NotBlank;
+import jakarta.validation.constraints.NotNull;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDate;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class HolidayCheckDTO {
+    @NotBlank(message = "El ID de la sucursal es obligatorio")
+    private String branchId;
+
+    @NotNull(message = "La fecha es obligatoria")
+    private LocalDate date;
+}
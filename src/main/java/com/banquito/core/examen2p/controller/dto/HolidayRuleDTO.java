@@ -0,0 +1,33 @@
+package com.banquito.core.examen2p.controller.dto;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+import jakarta.validation.constraints.NotBlank;
+import jakarta.validation.constraints.Pattern;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+@JsonInclude(JsonInclude.Include.NON_NULL)
+public class HolidayRuleDTO {
+    @NotBlank(message = "El tipo de regla es obligatorio")
+    @Pattern(regexp = "^(FIXED_DATE|NTH_WEEKDAY|EASTER_OFFSET)$",
+            message = "El tipo de regla debe ser FIXED_DATE, NTH_WEEKDAY o EASTER_OFFSET")
+    private String type;
+
+    private Integer month;
+    private Integer dayOfMonth;
+
+    @Pattern(regexp = "^(MONDAY|TUESDAY|WEDNESDAY|THURSDAY|FRIDAY|SATURDAY|SUNDAY)$",
+            message = "El día de la semana no es válido")
+    private String dayOfWeek;
+
+    private Integer ordinal;
+    private Integer offsetDays;
+    private Integer fromYear;
+    private Integer toYear;
+}
@@ -0,0 +1,62 @@
+package com.banquito.core.examen2p.controller.mapper;
+
+import com.banquito.core.examen2p.model.BranchHoliday;
+import com.banquito.core.examen2p.model.HolidayRule;
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.JsonSerializer;
+import com.fasterxml.jackson.databind.SerializerProvider;
+import com.fasterxml.jackson.databind.ser.std.StdSerializer;
+
+import java.io.IOException;
+import java.time.LocalDate;
+
+public class BranchHolidayJsonSerializer extends StdSerializer<BranchHoliday> {
+
+    public BranchHolidayJsonSerializer() {
+        super(BranchHoliday.class);
+    }
+
+    @Override
+    public void serialize(BranchHoliday holiday, JsonGenerator generator, SerializerProvider provider) throws IOException {
+        write(holiday, generator, provider, provider.findValueSerializer(LocalDate.class));
+    }
+
+    static void write(BranchHoliday holiday, JsonGenerator generator, SerializerProvider provider,
+                      JsonSerializer<Object> dateSerializer) throws IOException {
+        generator.writeStartObject(holiday);
+        generator.writeFieldName("date");
+        if (holiday.getDate() == null) {
+            generator.writeNull();
+        } else {
+            dateSerializer.serialize(holiday.getDate(), generator, provider);
+        }
+        generator.writeStringField("name", holiday.getName());
+        if (holiday.getRule() != null) {
+            writeRule(holiday.getRule(), generator);
+        }
+        generator.writeEndObject();
+    }
+
+    private static void writeRule(HolidayRule rule, JsonGenerator generator) throws IOException {
+        generator.writeObjectFieldStart("rule");
+        if (rule.getType() != null) {
+            generator.writeStringField("type", rule.getType().name());
+        }
+        writeNumber("month", rule.getMonth(), generator);
+        writeNumber("dayOfMonth", rule.getDayOfMonth(), generator);
+        if (rule.getDayOfWeek() != null) {
+            generator.writeStringField("dayOfWeek", rule.getDayOfWeek().name());
+        }
+        writeNumber("ordinal", rule.getOrdinal(), generator);
+        writeNumber("offsetDays", rule.getOffsetDays(), generator);
+        writeNumber("fromYear", rule.getFromYear(), generator);
+        writeNumber("toYear", rule.getToYear(), generator);
+        generator.writeEndObject();
+    }
+
+    private static void writeNumber(String field, Integer value, JsonGenerator generator) throws IOException {
+        if (value != null) {
+            generator.writeNumberField(field, value);
+        }
+    }
+}
@@ -0,0 +1,110 @@
+package com.banquito.core.examen2p.controller.mapper;
+
+import com.banquito.core.examen2p.controller.BranchFields;
+import com.banquito.core.examen2p.model.Branch;
+import com.banquito.core.examen2p.model.BranchHoliday;
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.JsonSerializer;
+import com.fasterxml.jackson.databind.SerializerProvider;
+import com.fasterxml.jackson.databind.ser.FilterProvider;
+import com.fasterxml.jackson.databind.ser.PropertyFilter;
+import com.fasterxml.jackson.databind.ser.std.StdSerializer;
+
+import java.io.IOException;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.List;
+
+public class BranchJsonSerializer extends StdSerializer<Branch> {
+
+    public BranchJsonSerializer() {
+        super(Branch.class);
+    }
+
+    @Override
+    public void serialize(Branch branch, JsonGenerator generator, SerializerProvider provider) throws IOException {
+        BranchFields.Filter fields = fieldsFilter(branch, provider);
+        generator.writeStartObject(branch);
+        if (includes(fields, "id")) {
+            generator.writeStringField("id", branch.getId());
+        }
+        if (includes(fields, "emailAddress")) {
+            generator.writeStringField("emailAddress", branch.getEmailAddress());
+        }
+        if (includes(fields, "name")) {
+            generator.writeStringField("name", branch.getName());
+        }
+        if (includes(fields, "phoneNumber")) {
+            generator.writeStringField("phoneNumber", branch.getPhoneNumber());
+        }
+        if (includes(fields, "state")) {
+            generator.writeStringField("state", branch.getState());
+        }
+        if (includes(fields, "creationDate") || includes(fields, "lastModifiedDate")) {
+            JsonSerializer<Object> dateTimeSerializer = provider.findValueSerializer(LocalDateTime.class);
+            if (includes(fields, "creationDate")) {
+                writeDateTime("creationDate", branch.getCreationDate(), generator, provider, dateTimeSerializer);
+            }
+            if (includes(fields, "lastModifiedDate")) {
+                writeDateTime("lastModifiedDate", branch.getLastModifiedDate(), generator, provider, dateTimeSerializer);
+            }
+        }
+        if (includes(fields, "branchHolidays")) {
+            generator.writeFieldName("branchHolidays");
+            List<BranchHoliday> holidays = branch.getBranchHolidays();
+            if (holidays == null || holidays.isEmpty()) {
+                generator.writeStartArray(holidays, 0);
+            } else {
+                JsonSerializer<Object> dateSerializer = provider.findValueSerializer(LocalDate.class);
+                generator.writeStartArray(holidays, holidays.size());
+                for (BranchHoliday holiday : holidays) {
+                    BranchHolidayJsonSerializer.write(holiday, generator, provider, dateSerializer);
+                }
+            }
+            generator.writeEndArray();
+        }
+        List<String> calendarIds = branch.getCalendarIds();
+        if (calendarIds != null && !calendarIds.isEmpty() && includes(fields, "calendarIds")) {
+            generator.writeFieldName("calendarIds");
+            generator.writeStartArray(calendarIds, calendarIds.size());
+            for (String calendarId : calendarIds) {
+                generator.writeString(calendarId);
+            }
+            generator.writeEndArray();
+        }
+        List<LocalDate> excluded = branch.getExcludedHolidays();
+        if (excluded != null && !excluded.isEmpty() && includes(fields, "excludedHolidays")) {
+            JsonSerializer<Object> dateSerializer = provider.findValueSerializer(LocalDate.class);
+            generator.writeFieldName("excludedHolidays");
+            generator.writeStartArray(excluded, excluded.size());
+            for (LocalDate date : excluded) {
+                dateSerializer.serialize(date, generator, provider);
+            }
+            generator.writeEndArray();
+        }
+        generator.writeEndObject();
+    }
+
+    private static BranchFields.Filter fieldsFilter(Branch branch, SerializerProvider provider) {
+        FilterProvider filterProvider = provider.getFilterProvider();
+        if (filterProvider == null) {
+            return null;
+        }
+        PropertyFilter filter = filterProvider.findPropertyFilter(BranchFields.FILTER_ID, branch);
+        return filter instanceof BranchFields.Filter fieldsFilter ? fieldsFilter : null;
+    }
+
+    private static boolean includes(BranchFields.Filter fields, String field) {
+        return fields == null || fields.includes(field);
+    }
+
+    private static void writeDateTime(String field, LocalDateTime value, JsonGenerator generator,
+                                      SerializerProvider provider, JsonSerializer<Object> serializer) throws IOException {
+        generator.writeFieldName(field);
+        if (value == null) {
+            generator.writeNull();
+        } else {
+            serializer.serialize(value, generator, provider);
+        }
+    }
+}
@@ -2,10 +2,16 @@ package com.banquito.core.examen2p.controller.mapper;
 
 import com.banquito.core.examen2p.controller.dto.BranchDTO;
 import com.banquito.core.examen2p.controller.dto.BranchHolidayDTO;
+import com.banquito.core.examen2p.controller.dto.HolidayCalendarDTO;
+import com.banquito.core.examen2p.controller.dto.HolidayRuleDTO;
 import com.banquito.core.examen2p.model.Branch;
 import com.banquito.core.examen2p.model.BranchHoliday;
+import com.banquito.core.examen2p.model.HolidayCalendar;
+import com.banquito.core.examen2p.model.HolidayRule;
+import com.banquito.core.examen2p.model.HolidayRuleType;
 import org.springframework.stereotype.Component;
 
+import java.time.DayOfWeek;
 import java.util.ArrayList;
 import java.util.List;
 import java.util.stream.Collectors;
@@ -27,6 +33,8 @@ public class BranchMapper {
                 .creationDate(branch.getCreationDate())
                 .lastModifiedDate(branch.getLastModifiedDate())
                 .branchHolidays(mapHolidaysToDto(branch.getBranchHolidays()))
+                .calendarIds(branch.getCalendarIds())
+                .excludedHolidays(branch.getExcludedHolidays())
                 .build();
     }
 
@@ -44,9 +52,41 @@ public class BranchMapper {
         branch.setCreationDate(dto.getCreationDate());
         branch.setLastModifiedDate(dto.getLastModifiedDate());
         branch.setBranchHolidays(mapHolidaysToEntity(dto.getBranchHolidays()));
+        branch.setCalendarIds(dto.getCalendarIds());
+        branch.setExcludedHolidays(dto.getExcludedHolidays());
         return branch;
     }
 
+    public HolidayCalendarDTO toDto(HolidayCalendar calendar) {
+        if (calendar == null) {
+            return null;
+        }
+
+        return HolidayCalendarDTO.builder()
+                .id(calendar.getId())
+                .name(calendar.getName())
+                .description(calendar.getDescription())
+                .creationDate(calendar.getCreationDate())
+                .lastModifiedDate(calendar.getLastModifiedDate())
+                .holidays(mapHolidaysToDto(calendar.getHolidays()))
+                .build();
+    }
+
+    public HolidayCalendar toEntity(HolidayCalendarDTO dto) {
+        if (dto == null) {
+            return null;
+        }
+
+        HolidayCalendar calendar = new HolidayCalendar();
+        calendar.setId(dto.getId());
+        calendar.setName(dto.getName());
+        calendar.setDescription(dto.getDescription());
+        calendar.setCreationDate(dto.getCreationDate());
+        calendar.setLastModifiedDate(dto.getLastModifiedDate());
+        calendar.setHolidays(mapHolidaysToEntity(dto.getHolidays()));
+        return calendar;
+    }
+
     public BranchHolidayDTO toDto(BranchHoliday holiday) {
         if (holiday == null) {
             return null;
@@ -55,6 +95,7 @@ public class BranchMapper {
         return BranchHolidayDTO.builder()
                 .date(holiday.getDate())
                 .name(holiday.getName())
+                .rule(toDto(holiday.getRule()))
                 .build();
     }
 
@@ -66,9 +107,48 @@ public class BranchMapper {
         BranchHoliday holiday = new BranchHoliday();
         holiday.setDate(dto.getDate());
         holiday.setName(dto.getName());
+        holiday.setRule(toEntity(dto.getRule()));
         return holiday;
     }
 
+    public HolidayRuleDTO toDto(HolidayRule rule) {
+        if (rule == null) {
+            return null;
+        }
+
+        return HolidayRuleDTO.builder()
+                .type(rule.getType() == null ? null : rule.getType().name())
+                .month(rule.getMonth())
+                .dayOfMonth(rule.getDayOfMonth())
+                .dayOfWeek(rule.getDayOfWeek() == null ? null : rule.getDayOfWeek().name())
+                .ordinal(rule.getOrdinal())
+                .offsetDays(rule.getOffsetDays())
+                .fromYear(rule.getFromYear())
+                .toYear(rule.getToYear())
+                .build();
+    }
+
+    public HolidayRule toEntity(HolidayRuleDTO dto) {
+        if (dto == null) {
+            return null;
+        }
+
+        HolidayRule rule = new HolidayRule();
+        rule.setType(dto.getType() == null ? null : HolidayRuleType.valueOf(dto.getType()));
+        rule.setMonth(dto.getMonth());
+        rule.setDayOfMonth(dto.getDayOfMonth());
+        rule.setDayOfWeek(dto.getDayOfWeek() == null ? null : DayOfWeek.valueOf(dto.getDayOfWeek()));
+        rule.setOrdinal(dto.getOrdinal());
+        rule.setOffsetDays(dto.getOffsetDays());
+        rule.setFromYear(dto.getFromYear());
+        rule.setToYear(dto.getToYear());
+        return rule;
+    }
+
+    public List<BranchHolidayDTO> toHolidayDtos(List<BranchHoliday> holidays) {
+        return mapHolidaysToDto(holidays);
+    }
+
     private List<BranchHolidayDTO> mapHolidaysToDto(List<BranchHoliday> holidays) {
         if (holidays == null) {
             return new ArrayList<>();
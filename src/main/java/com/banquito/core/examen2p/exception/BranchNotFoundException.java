@@ -4,7 +4,7 @@ public class BranchNotFoundException extends RuntimeException {
     private final String branchId;
 
     public BranchNotFoundException(String branchId) {
-        super();
+        super(null, null, false, false);
         this.branchId = branchId;
     }
 
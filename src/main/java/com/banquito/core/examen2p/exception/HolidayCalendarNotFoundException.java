@@ -0,0 +1,15 @@
+package com.banquito.core.examen2p.exception;
+
+public class HolidayCalendarNotFoundException extends RuntimeException {
+    private final String calendarId;
+
+    public HolidayCalendarNotFoundException(String calendarId) {
+        super();
+        this.calendarId = calendarId;
+    }
+
+    @Override
+    public String getMessage() {
+        return "No se encontró ningún calendario de feriados con el ID: " + calendarId;
+    }
+}
@@ -0,0 +1,23 @@
+package com.banquito.core.examen2p.exception;
+
+public class HolidayCalendarOperationException extends RuntimeException {
+    private final String operation;
+    private final String calendarId;
+    private final String detail;
+
+    public HolidayCalendarOperationException(String operation, String calendarId, String detail) {
+        super();
+        this.operation = operation;
+        this.calendarId = calendarId;
+        this.detail = detail;
+    }
+
+    public String getOperation() {
+        return operation;
+    }
+
+    @Override
+    public String getMessage() {
+        return "Error en operación " + operation + " del calendario de feriados " + calendarId + ": " + detail;
+    }
+}
@@ -6,12 +6,16 @@ public class HolidayOperationException extends RuntimeException {
     private final String detail;
 
     public HolidayOperationException(String operation, String branchId, String detail) {
-        super();
+        super(null, null, false, false);
         this.operation = operation;
         this.branchId = branchId;
         this.detail = detail;
     }
 
+    public String getOperation() {
+        return operation;
+    }
+
     @Override
     public String getMessage() {
         return "Error en operación " + operation + " de feriados para la sucursal " + branchId + ": " + detail;
@@ -2,13 +2,22 @@ package com.banquito.core.examen2p.model;
 
 import lombok.Data;
 import org.springframework.data.annotation.Id;
+import org.springframework.data.mongodb.core.index.CompoundIndex;
+import org.springframework.data.mongodb.core.index.CompoundIndexes;
+import org.springframework.data.mongodb.core.index.Indexed;
 import org.springframework.data.mongodb.core.mapping.Document;
 
+import java.time.LocalDate;
 import java.time.LocalDateTime;
 import java.util.List;
 
 @Data
 @Document(collection = "branches")
+@CompoundIndexes({
+        @CompoundIndex(name = "branch_holiday_date_state_name", def = "{ 'branchHolidays.date': 1, 'state': 1, 'name': 1, '_id': 1 }"),
+        @CompoundIndex(name = "branch_holiday_rule_type", def = "{ 'branchHolidays.rule.type': 1 }", sparse = true),
+        @CompoundIndex(name = "branch_last_modified_id", def = "{ 'lastModifiedDate': 1, '_id': 1 }")
+})
 public class Branch {
     @Id
     private String id;
@@ -19,4 +28,7 @@ public class Branch {
     private LocalDateTime creationDate;
     private LocalDateTime lastModifiedDate;
     private List<BranchHoliday> branchHolidays;
+    @Indexed
+    private List<String> calendarIds;
+    private List<LocalDate> excludedHolidays;
 } 
\ No newline at end of file
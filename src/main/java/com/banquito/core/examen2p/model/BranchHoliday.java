@@ -7,4 +7,5 @@ import java.time.LocalDate;
 public class BranchHoliday {
     private LocalDate date;
     private String name;
+    private HolidayRule rule;
 } 
\ No newline at end of file
@@ -0,0 +1,24 @@
+package com.banquito.core.examen2p.model;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import org.springframework.data.annotation.Id;
+import org.springframework.data.mongodb.core.index.Indexed;
+import org.springframework.data.mongodb.core.mapping.Document;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Document(collection = "branch_tombstones")
+public class BranchTombstone {
+    public static final Duration RETENTION = Duration.ofDays(90);
+
+    @Id
+    private String id;
+    @Indexed(name = "branch_tombstone_ttl", expireAfter = "90d")
+    private LocalDateTime deletedAt;
+}
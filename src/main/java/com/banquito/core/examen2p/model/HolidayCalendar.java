@@ -0,0 +1,20 @@
+package com.banquito.core.examen2p.model;
+
+import lombok.Data;
+import org.springframework.data.annotation.Id;
+import org.springframework.data.mongodb.core.mapping.Document;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+@Data
+@Document(collection = "holiday_calendars")
+public class HolidayCalendar {
+    @Id
+    private String id;
+    private String name;
+    private String description;
+    private LocalDateTime creationDate;
+    private LocalDateTime lastModifiedDate;
+    private List<BranchHoliday> holidays;
+}
@@ -0,0 +1,17 @@
+package com.banquito.core.examen2p.model;
+
+import lombok.Data;
+
+import java.time.DayOfWeek;
+
+@Data
+public class HolidayRule {
+    private HolidayRuleType type;
+    private Integer month;
+    private Integer dayOfMonth;
+    private DayOfWeek dayOfWeek;
+    private Integer ordinal;
+    private Integer offsetDays;
+    private Integer fromYear;
+    private Integer toYear;
+}
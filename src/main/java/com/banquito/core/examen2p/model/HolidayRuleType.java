@@ -0,0 +1,7 @@
+package com.banquito.core.examen2p.model;
+
+public enum HolidayRuleType {
+    FIXED_DATE,
+    NTH_WEEKDAY,
+    EASTER_OFFSET
+}
@@ -2,8 +2,18 @@ package com.banquito.core.examen2p.repository;
 
 import com.banquito.core.examen2p.model.Branch;
 import org.springframework.data.mongodb.repository.MongoRepository;
+import org.springframework.data.mongodb.repository.Query;
 import org.springframework.stereotype.Repository;
 
+import java.util.List;
+import java.util.Optional;
+
 @Repository
 public interface BranchRepository extends MongoRepository<Branch, String> {
-} 
\ No newline at end of file
+
+    @Query(value = "{ '_id': ?0 }", fields = "{ 'branchHolidays': 1, 'holidayCodes': 1, 'holidayNames': 1, 'calendarIds': 1, 'excludedHolidays': 1, 'lastModifiedDate': 1 }")
+    Optional<Branch> findHolidaysById(String id);
+
+    @Query(value = "{}", fields = "{ 'emailAddress': 1, 'name': 1, 'phoneNumber': 1, 'state': 1, 'creationDate': 1, 'lastModifiedDate': 1 }")
+    List<Branch> findAllSummaries();
+} 
@@ -0,0 +1,62 @@
+package com.banquito.core.examen2p.repository;
+
+import com.banquito.core.examen2p.model.Branch;
+import com.banquito.core.examen2p.model.BranchHoliday;
+import com.banquito.core.examen2p.model.BranchTombstone;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.stream.Stream;
+
+public interface BranchStore {
+    Set<String> SUMMARY_FIELDS = Set.of(
+            "id", "emailAddress", "name", "phoneNumber", "state", "creationDate", "lastModifiedDate");
+
+    List<Branch> findAll();
+
+    List<Branch> findAll(Set<String> fields);
+
+    List<Branch> findPage(String after, int limit, Set<String> fields);
+
+    Stream<Branch> streamAll();
+
+    Optional<Branch> findById(String id);
+
+    Optional<Branch> findById(String id, Set<String> fields);
+
+    Optional<Branch> findHolidaysById(String id);
+
+    List<Branch> findClosedOn(LocalDate date, Collection<String> calendarIds, String state);
+
+    List<Branch> findWithHolidayRules(String state);
+
+    List<Branch> findHolidaysByIds(Collection<String> ids);
+
+    List<Branch> findModifiedSince(LocalDateTime since, String afterId, LocalDateTime until, int limit);
+
+    List<BranchTombstone> findDeletedSince(LocalDateTime since, String afterId, LocalDateTime until, int limit);
+
+    Branch save(Branch branch);
+
+    Map<Integer, String> insertAll(List<Branch> branches);
+
+    Optional<Branch> updatePhoneNumber(String id, String phoneNumber, LocalDateTime modifiedAt);
+
+    Optional<Branch> pushHoliday(String id, BranchHoliday holiday, LocalDateTime modifiedAt);
+
+    Optional<Branch> pullHoliday(String id, LocalDate date, LocalDateTime modifiedAt);
+
+    Optional<Branch> pullHolidayRule(String id, String name, LocalDateTime modifiedAt);
+
+    Optional<Branch> updateCalendars(String id, List<String> calendarIds, List<LocalDate> excludedHolidays,
+                                     LocalDateTime modifiedAt);
+
+    Optional<Branch> deleteById(String id, LocalDateTime deletedAt);
+
+    boolean isCalendarReferenced(String calendarId);
+}
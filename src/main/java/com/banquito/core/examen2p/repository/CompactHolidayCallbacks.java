@@ -0,0 +1,27 @@
+package com.banquito.core.examen2p.repository;
+
+import com.banquito.core.examen2p.model.Branch;
+import org.bson.Document;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.data.mongodb.core.mapping.event.AfterConvertCallback;
+import org.springframework.data.mongodb.core.mapping.event.BeforeSaveCallback;
+import org.springframework.stereotype.Component;
+
+@Component
+@ConditionalOnProperty(name = "banquito.storage.holiday-encoding", havingValue = "compact")
+public class CompactHolidayCallbacks implements BeforeSaveCallback<Branch>, AfterConvertCallback<Branch> {
+
+    @Override
+    public Branch onBeforeSave(Branch entity, Document document, String collection) {
+        CompactHolidays.encode(entity.getBranchHolidays(), document);
+        return entity;
+    }
+
+    @Override
+    public Branch onAfterConvert(Branch entity, Document document, String collection) {
+        if (CompactHolidays.isEncoded(document)) {
+            entity.setBranchHolidays(CompactHolidays.merge(CompactHolidays.decode(document), entity.getBranchHolidays()));
+        }
+        return entity;
+    }
+}
@@ -0,0 +1,100 @@
+package com.banquito.core.examen2p.repository;
+
+import com.banquito.core.examen2p.model.Branch;
+import com.banquito.core.examen2p.model.BranchHoliday;
+import lombok.extern.slf4j.Slf4j;
+import org.bson.Document;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.ApplicationArguments;
+import org.springframework.boot.ApplicationRunner;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.data.mongodb.core.BulkOperations;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.query.Criteria;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.data.mongodb.core.query.Update;
+import org.springframework.stereotype.Component;
+
+import java.util.List;
+import java.util.stream.Stream;
+
+@Slf4j
+@Component
+@ConditionalOnProperty(name = "banquito.storage.holiday-encoding", havingValue = "compact")
+public class CompactHolidayMigration implements ApplicationRunner {
+    private final MongoTemplate mongoTemplate;
+    private final boolean enabled;
+    private final int batchSize;
+
+    public CompactHolidayMigration(MongoTemplate mongoTemplate,
+                                   @Value("${banquito.storage.holiday-migration.enabled:false}") boolean enabled,
+                                   @Value("${banquito.storage.holiday-migration.batch-size:500}") int batchSize) {
+        this.mongoTemplate = mongoTemplate;
+        this.enabled = enabled;
+        this.batchSize = batchSize;
+    }
+
+    @Override
+    public void run(ApplicationArguments args) {
+        if (!enabled) {
+            return;
+        }
+        Result result = migrate();
+        log.info("Migración de feriados a formato compacto: {} sucursales migradas, {} omitidas por cambios concurrentes",
+                result.migrated(), result.skipped());
+    }
+
+    public Result migrate() {
+        Query pending = Query.query(Criteria.where(CompactHolidays.LEGACY_FIELD + ".date").exists(true));
+        pending.fields().include(CompactHolidays.LEGACY_FIELD, CompactHolidays.CODES_FIELD,
+                CompactHolidays.NAMES_FIELD, "lastModifiedDate");
+        long migrated = 0;
+        long skipped = 0;
+        BulkOperations batch = null;
+        int queued = 0;
+        try (Stream<Branch> branches = mongoTemplate.stream(pending, Branch.class)) {
+            for (Branch branch : (Iterable<Branch>) branches::iterator) {
+                if (batch == null) {
+                    batch = mongoTemplate.bulkOps(BulkOperations.BulkMode.UNORDERED, Branch.class);
+                }
+                batch.updateOne(guard(branch), compactUpdate(branch));
+                if (++queued == batchSize) {
+                    long matched = batch.execute().getMatchedCount();
+                    migrated += matched;
+                    skipped += queued - matched;
+                    batch = null;
+                    queued = 0;
+                }
+            }
+        }
+        if (batch != null) {
+            long matched = batch.execute().getMatchedCount();
+            migrated += matched;
+            skipped += queued - matched;
+        }
+        return new Result(migrated, skipped);
+    }
+
+    private static Query guard(Branch branch) {
+        return Query.query(Criteria.where("id").is(branch.getId())
+                .and("lastModifiedDate").is(branch.getLastModifiedDate())
+                .and(CompactHolidays.LEGACY_FIELD + ".date").exists(true));
+    }
+
+    private static Update compactUpdate(Branch branch) {
+        Document encoded = new Document();
+        CompactHolidays.encode(branch.getBranchHolidays(), encoded);
+        List<BranchHoliday> rules = branch.getBranchHolidays().stream()
+                .filter(holiday -> holiday.getRule() != null)
+                .toList();
+        Update update = new Update()
+                .set(CompactHolidays.CODES_FIELD, encoded.get(CompactHolidays.CODES_FIELD))
+                .set(CompactHolidays.NAMES_FIELD, encoded.get(CompactHolidays.NAMES_FIELD));
+        return rules.isEmpty()
+                ? update.unset(CompactHolidays.LEGACY_FIELD)
+                : update.set(CompactHolidays.LEGACY_FIELD, rules);
+    }
+
+    public record Result(long migrated, long skipped) {
+    }
+}
@@ -0,0 +1,114 @@
+package com.banquito.core.examen2p.repository;
+
+import com.banquito.core.examen2p.model.BranchHoliday;
+import org.bson.Document;
+import org.springframework.data.mongodb.core.query.Criteria;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+public final class CompactHolidays {
+    public static final String LEGACY_FIELD = "branchHolidays";
+    public static final String CODES_FIELD = "holidayCodes";
+    public static final String NAMES_FIELD = "holidayNames";
+
+    static final int NAME_BITS = 20;
+    static final int MAX_NAMES = 1 << NAME_BITS;
+    private static final long NAME_MASK = MAX_NAMES - 1;
+
+    private CompactHolidays() {
+    }
+
+    public static long code(LocalDate date, int nameIndex) {
+        if (nameIndex < 0 || nameIndex >= MAX_NAMES) {
+            throw new IllegalArgumentException("Índice de nombre de feriado fuera de rango: " + nameIndex);
+        }
+        return (date.toEpochDay() << NAME_BITS) | nameIndex;
+    }
+
+    public static long firstCode(LocalDate date) {
+        return date.toEpochDay() << NAME_BITS;
+    }
+
+    public static long firstCodeAfter(LocalDate date) {
+        return (date.toEpochDay() + 1) << NAME_BITS;
+    }
+
+    public static Criteria hasCodeOn(LocalDate date) {
+        return Criteria.where(CODES_FIELD).elemMatch(new Criteria().gte(firstCode(date)).lt(firstCodeAfter(date)));
+    }
+
+    public static Criteria hasNoCodeOn(LocalDate date) {
+        return Criteria.where(CODES_FIELD).not().elemMatch(new Criteria().gte(firstCode(date)).lt(firstCodeAfter(date)));
+    }
+
+    public static Document codeRange(LocalDate date) {
+        return new Document("$gte", firstCode(date)).append("$lt", firstCodeAfter(date));
+    }
+
+    public static void encode(List<BranchHoliday> holidays, Document target) {
+        List<BranchHoliday> sorted = new ArrayList<>();
+        if (holidays != null) {
+            holidays.stream()
+                    .filter(holiday -> holiday.getRule() == null && holiday.getDate() != null)
+                    .forEach(sorted::add);
+        }
+        sorted.sort(Comparator.comparing(BranchHoliday::getDate));
+        List<String> names = new ArrayList<>();
+        Map<String, Integer> dictionary = new HashMap<>();
+        List<Long> codes = new ArrayList<>(sorted.size());
+        for (BranchHoliday holiday : sorted) {
+            Integer index = dictionary.get(holiday.getName());
+            if (index == null) {
+                index = names.size();
+                dictionary.put(holiday.getName(), index);
+                names.add(holiday.getName());
+            }
+            codes.add(code(holiday.getDate(), index));
+        }
+        List<Document> rules = target.getList(LEGACY_FIELD, Document.class, List.of()).stream()
+                .filter(holiday -> holiday.containsKey("rule"))
+                .toList();
+        if (rules.isEmpty()) {
+            target.remove(LEGACY_FIELD);
+        } else {
+            target.put(LEGACY_FIELD, rules);
+        }
+        target.put(CODES_FIELD, codes);
+        target.put(NAMES_FIELD, names);
+    }
+
+    public static boolean isEncoded(Document source) {
+        return source.containsKey(CODES_FIELD);
+    }
+
+    public static List<BranchHoliday> decode(Document source) {
+        List<Number> codes = source.getList(CODES_FIELD, Number.class, List.of());
+        List<String> names = source.getList(NAMES_FIELD, String.class, List.of());
+        List<BranchHoliday> holidays = new ArrayList<>(codes.size());
+        for (Number value : codes) {
+            long code = value.longValue();
+            int nameIndex = (int) (code & NAME_MASK);
+            BranchHoliday holiday = new BranchHoliday();
+            holiday.setDate(LocalDate.ofEpochDay(code >> NAME_BITS));
+            holiday.setName(nameIndex < names.size() ? names.get(nameIndex) : null);
+            holidays.add(holiday);
+        }
+        return holidays;
+    }
+
+    public static List<BranchHoliday> merge(List<BranchHoliday> decoded, List<BranchHoliday> legacy) {
+        if (legacy == null || legacy.isEmpty()) {
+            return decoded;
+        }
+        List<BranchHoliday> merged = new ArrayList<>(decoded.size() + legacy.size());
+        merged.addAll(decoded);
+        merged.addAll(legacy);
+        merged.sort(SortedHolidays.ORDER);
+        return merged;
+    }
+}
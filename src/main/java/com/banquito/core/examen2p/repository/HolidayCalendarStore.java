@@ -0,0 +1,26 @@
+package com.banquito.core.examen2p.repository;
+
+import com.banquito.core.examen2p.model.BranchHoliday;
+import com.banquito.core.examen2p.model.HolidayCalendar;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Optional;
+
+public interface HolidayCalendarStore {
+
+    List<HolidayCalendar> findAll();
+
+    Optional<HolidayCalendar> findById(String id);
+
+    HolidayCalendar save(HolidayCalendar calendar);
+
+    boolean deleteById(String id);
+
+    Optional<HolidayCalendar> pushHoliday(String id, BranchHoliday holiday, LocalDateTime modifiedAt);
+
+    Optional<HolidayCalendar> pullHoliday(String id, LocalDate date, LocalDateTime modifiedAt);
+
+    Optional<HolidayCalendar> pullHolidayRule(String id, String name, LocalDateTime modifiedAt);
+}
@@ -0,0 +1,477 @@
+package com.banquito.core.examen2p.repository;
+
+import com.banquito.core.examen2p.model.Branch;
+import com.banquito.core.examen2p.model.BranchHoliday;
+import com.banquito.core.examen2p.model.BranchTombstone;
+import com.banquito.core.examen2p.model.HolidayRule;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.bson.types.ObjectId;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.ConcurrentNavigableMap;
+import java.util.concurrent.ConcurrentSkipListMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.function.UnaryOperator;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+@Slf4j
+@Component
+@ConditionalOnProperty(name = "banquito.storage.type", havingValue = "local")
+public class LocalBranchStore implements BranchStore {
+    private static final byte PUT = 1;
+    private static final byte DELETE = 2;
+    private static final int HEADER_BYTES = 5;
+    private static final int INITIAL_MAPPED_BYTES = 1 << 20;
+
+    private final ObjectMapper objectMapper;
+    private final Path path;
+    private final ConcurrentSkipListMap<String, Branch> branches = new ConcurrentSkipListMap<>();
+    private final ConcurrentSkipListMap<String, BranchTombstone> tombstones = new ConcurrentSkipListMap<>();
+    private final ScheduledExecutorService maintenance;
+    private FileChannel channel;
+    private MappedByteBuffer buffer;
+    private int position;
+    private long records;
+
+    public LocalBranchStore(@Value("${banquito.storage.local.path:data/branches.log}") Path path,
+                            @Value("${banquito.storage.local.compaction-interval-seconds:300}") long compactionIntervalSeconds) {
+        this.objectMapper = LocalStoreMapper.create();
+        this.path = path;
+        try {
+            if (path.getParent() != null) {
+                Files.createDirectories(path.getParent());
+            }
+            open();
+            replay();
+        } catch (IOException e) {
+            throw new UncheckedIOException("No se pudo abrir el almacenamiento local " + path, e);
+        }
+        log.info("Almacenamiento local {} cargado con {} sucursales", path, branches.size());
+
+        if (compactionIntervalSeconds > 0) {
+            maintenance = Executors.newSingleThreadScheduledExecutor(runnable -> {
+                Thread thread = new Thread(runnable, "local-branch-store");
+                thread.setDaemon(true);
+                return thread;
+            });
+            maintenance.scheduleWithFixedDelay(this::maintain,
+                    compactionIntervalSeconds, compactionIntervalSeconds, TimeUnit.SECONDS);
+        } else {
+            maintenance = null;
+        }
+    }
+
+    @Override
+    public List<Branch> findAll() {
+        return branches.values().stream()
+                .map(LocalBranchStore::copy)
+                .collect(Collectors.toList());
+    }
+
+    @Override
+    public List<Branch> findAll(Set<String> fields) {
+        return findAll();
+    }
+
+    @Override
+    public List<Branch> findPage(String after, int limit, Set<String> fields) {
+        ConcurrentNavigableMap<String, Branch> page = after == null ? branches : branches.tailMap(after, false);
+        return page.values().stream().limit(limit).map(LocalBranchStore::copy).collect(Collectors.toList());
+    }
+
+    @Override
+    public Stream<Branch> streamAll() {
+        return branches.values().stream().map(LocalBranchStore::copy);
+    }
+
+    @Override
+    public Optional<Branch> findById(String id) {
+        return Optional.ofNullable(branches.get(id)).map(LocalBranchStore::copy);
+    }
+
+    @Override
+    public Optional<Branch> findById(String id, Set<String> fields) {
+        return findById(id);
+    }
+
+    @Override
+    public Optional<Branch> findHolidaysById(String id) {
+        return findById(id);
+    }
+
+    @Override
+    public List<Branch> findHolidaysByIds(Collection<String> ids) {
+        return ids.stream()
+                .map(branches::get)
+                .filter(Objects::nonNull)
+                .map(LocalBranchStore::copy)
+                .collect(Collectors.toList());
+    }
+
+    @Override
+    public List<Branch> findClosedOn(LocalDate date, Collection<String> calendarIds, String state) {
+        return branches.values().stream()
+                .filter(branch -> state == null || state.equals(branch.getState()))
+                .filter(branch -> SortedHolidays.containsDate(branch.getBranchHolidays(), date)
+                        || (branch.getCalendarIds() != null && branch.getCalendarIds().stream().anyMatch(calendarIds::contains)
+                        && (branch.getExcludedHolidays() == null || !branch.getExcludedHolidays().contains(date))))
+                .map(LocalBranchStore::copy)
+                .collect(Collectors.toList());
+    }
+
+    @Override
+    public List<Branch> findWithHolidayRules(String state) {
+        return branches.values().stream()
+                .filter(branch -> state == null || state.equals(branch.getState()))
+                .filter(branch -> branch.getBranchHolidays().stream().anyMatch(holiday -> holiday.getRule() != null))
+                .map(LocalBranchStore::copy)
+                .collect(Collectors.toList());
+    }
+
+    @Override
+    public List<Branch> findModifiedSince(LocalDateTime since, String afterId, LocalDateTime until, int limit) {
+        return branches.values().stream()
+                .filter(branch -> isChangedSince(branch.getLastModifiedDate(), branch.getId(), since, afterId, until))
+                .sorted(Comparator.comparing(Branch::getLastModifiedDate).thenComparing(Branch::getId))
+                .limit(limit)
+                .map(LocalBranchStore::copy)
+                .collect(Collectors.toList());
+    }
+
+    @Override
+    public List<BranchTombstone> findDeletedSince(LocalDateTime since, String afterId, LocalDateTime until, int limit) {
+        return tombstones.values().stream()
+                .filter(tombstone -> isChangedSince(tombstone.getDeletedAt(), tombstone.getId(), since, afterId, until))
+                .sorted(Comparator.comparing(BranchTombstone::getDeletedAt).thenComparing(BranchTombstone::getId))
+                .limit(limit)
+                .collect(Collectors.toList());
+    }
+
+    @Override
+    public synchronized Branch save(Branch branch) {
+        Branch stored = copy(branch);
+        stored.getBranchHolidays().sort(SortedHolidays.ORDER);
+        if (stored.getId() == null) {
+            stored.setId(new ObjectId().toHexString());
+        }
+        write(stored);
+        branch.setId(stored.getId());
+        return copy(stored);
+    }
+
+    @Override
+    public synchronized Map<Integer, String> insertAll(List<Branch> toInsert) {
+        Map<Integer, String> failures = new LinkedHashMap<>();
+        for (int i = 0; i < toInsert.size(); i++) {
+            Branch branch = toInsert.get(i);
+            if (branch.getId() != null && branches.containsKey(branch.getId())) {
+                failures.put(i, "Ya existe una sucursal con el ID: " + branch.getId());
+                continue;
+            }
+            save(branch);
+        }
+        return failures;
+    }
+
+    @Override
+    public Optional<Branch> updatePhoneNumber(String id, String phoneNumber, LocalDateTime modifiedAt) {
+        return modify(id, branch -> {
+            branch.setPhoneNumber(phoneNumber);
+            branch.setLastModifiedDate(modifiedAt);
+            return branch;
+        });
+    }
+
+    @Override
+    public Optional<Branch> pushHoliday(String id, BranchHoliday holiday, LocalDateTime modifiedAt) {
+        return modify(id, branch -> {
+            if (!SortedHolidays.insert(branch.getBranchHolidays(), holiday)) {
+                return null;
+            }
+            branch.setLastModifiedDate(modifiedAt);
+            return branch;
+        });
+    }
+
+    @Override
+    public Optional<Branch> pullHoliday(String id, LocalDate date, LocalDateTime modifiedAt) {
+        return modify(id, branch -> {
+            if (!SortedHolidays.removeDate(branch.getBranchHolidays(), date)) {
+                return null;
+            }
+            branch.setLastModifiedDate(modifiedAt);
+            return branch;
+        });
+    }
+
+    @Override
+    public Optional<Branch> pullHolidayRule(String id, String name, LocalDateTime modifiedAt) {
+        return modify(id, branch -> {
+            if (!branch.getBranchHolidays().removeIf(holiday -> holiday.getRule() != null && name.equals(holiday.getName()))) {
+                return null;
+            }
+            branch.setLastModifiedDate(modifiedAt);
+            return branch;
+        });
+    }
+
+    @Override
+    public Optional<Branch> updateCalendars(String id, List<String> calendarIds, List<LocalDate> excludedHolidays,
+                                            LocalDateTime modifiedAt) {
+        return modify(id, branch -> {
+            branch.setCalendarIds(new ArrayList<>(calendarIds));
+            branch.setExcludedHolidays(new ArrayList<>(excludedHolidays));
+            branch.setLastModifiedDate(modifiedAt);
+            return branch;
+        });
+    }
+
+    @Override
+    public synchronized Optional<Branch> deleteById(String id, LocalDateTime deletedAt) {
+        Branch removed = branches.get(id);
+        if (removed == null) {
+            return Optional.empty();
+        }
+        BranchTombstone tombstone = new BranchTombstone(id, deletedAt);
+        append(DELETE, tombstone);
+        branches.remove(id);
+        tombstones.put(id, tombstone);
+        return Optional.of(removed);
+    }
+
+    @Override
+    public boolean isCalendarReferenced(String calendarId) {
+        return branches.values().stream()
+                .anyMatch(branch -> branch.getCalendarIds() != null && branch.getCalendarIds().contains(calendarId));
+    }
+
+    public synchronized void compact() {
+        long before = records;
+        Path compacted = path.resolveSibling(path.getFileName() + ".compact");
+        LocalDateTime expiredBefore = LocalDateTime.now().minus(BranchTombstone.RETENTION);
+        int written = 0;
+        try {
+            Files.deleteIfExists(compacted);
+            try (FileChannel target = FileChannel.open(compacted,
+                    StandardOpenOption.CREATE_NEW, StandardOpenOption.WRITE)) {
+                for (Branch branch : branches.values()) {
+                    written += writeRecord(target, PUT, branch);
+                }
+                tombstones.values().removeIf(tombstone -> tombstone.getDeletedAt().isBefore(expiredBefore));
+                for (BranchTombstone tombstone : tombstones.values()) {
+                    written += writeRecord(target, DELETE, tombstone);
+                }
+                target.force(true);
+            }
+            buffer.force();
+            channel.close();
+            Files.move(compacted, path, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+            open();
+            position = written;
+            records = branches.size() + tombstones.size();
+            log.info("Almacenamiento local compactado de {} a {} registros", before, records);
+        } catch (IOException e) {
+            throw new UncheckedIOException("No se pudo compactar el almacenamiento local " + path, e);
+        }
+    }
+
+    public synchronized void flush() {
+        buffer.force();
+    }
+
+    @PreDestroy
+    public synchronized void close() throws IOException {
+        if (maintenance != null) {
+            maintenance.shutdownNow();
+        }
+        buffer.force();
+        channel.close();
+    }
+
+    private synchronized Optional<Branch> modify(String id, UnaryOperator<Branch> change) {
+        Branch current = branches.get(id);
+        if (current == null) {
+            return Optional.empty();
+        }
+        Branch updated = change.apply(copy(current));
+        if (updated == null) {
+            return Optional.empty();
+        }
+        write(updated);
+        return Optional.of(copy(updated));
+    }
+
+    private void write(Branch branch) {
+        append(PUT, branch);
+        branches.put(branch.getId(), branch);
+    }
+
+    private void append(byte type, Object value) {
+        try {
+            byte[] payload = objectMapper.writeValueAsBytes(value);
+            ensureCapacity(HEADER_BYTES + payload.length);
+            buffer.put(position + 4, type);
+            buffer.put(position + HEADER_BYTES, payload);
+            buffer.putInt(position, payload.length);
+            position += HEADER_BYTES + payload.length;
+            records++;
+        } catch (IOException e) {
+            throw new UncheckedIOException("No se pudo escribir en el almacenamiento local " + path, e);
+        }
+    }
+
+    private int writeRecord(FileChannel target, byte type, Object value) throws IOException {
+        byte[] payload = objectMapper.writeValueAsBytes(value);
+        ByteBuffer record = ByteBuffer.allocate(HEADER_BYTES + payload.length);
+        record.putInt(payload.length).put(type).put(payload).flip();
+        int length = record.remaining();
+        while (record.hasRemaining()) {
+            target.write(record);
+        }
+        return length;
+    }
+
+    private void open() throws IOException {
+        channel = FileChannel.open(path, StandardOpenOption.CREATE, StandardOpenOption.READ, StandardOpenOption.WRITE);
+        long size = Math.max(channel.size(), INITIAL_MAPPED_BYTES);
+        buffer = channel.map(FileChannel.MapMode.READ_WRITE, 0, size);
+    }
+
+    private void replay() throws IOException {
+        position = 0;
+        while (position + HEADER_BYTES <= buffer.capacity()) {
+            int length = buffer.getInt(position);
+            if (length <= 0 || position + HEADER_BYTES + length > buffer.capacity()) {
+                break;
+            }
+            byte[] payload = new byte[length];
+            buffer.get(position + HEADER_BYTES, payload);
+            byte type = buffer.get(position + 4);
+            if (type == PUT) {
+                Branch branch = objectMapper.readValue(payload, Branch.class);
+                if (branch.getBranchHolidays() != null) {
+                    branch.getBranchHolidays().sort(SortedHolidays.ORDER);
+                }
+                branches.put(branch.getId(), branch);
+            } else if (type == DELETE) {
+                BranchTombstone tombstone = objectMapper.readValue(payload, BranchTombstone.class);
+                branches.remove(tombstone.getId());
+                tombstones.put(tombstone.getId(), tombstone);
+            }
+            position += HEADER_BYTES + length;
+            records++;
+        }
+    }
+
+    private void ensureCapacity(int bytes) throws IOException {
+        long required = (long) position + bytes;
+        if (required <= buffer.capacity()) {
+            return;
+        }
+        if (grownSize(required) > Integer.MAX_VALUE) {
+            compact();
+            required = (long) position + bytes;
+            if (required <= buffer.capacity()) {
+                return;
+            }
+            if (required > Integer.MAX_VALUE) {
+                throw new IllegalStateException("El almacenamiento local " + path + " requiere " + required
+                        + " bytes después de compactarse y excede el máximo de " + Integer.MAX_VALUE);
+            }
+        }
+        buffer.force();
+        buffer = channel.map(FileChannel.MapMode.READ_WRITE, 0, Math.min(grownSize(required), Integer.MAX_VALUE));
+    }
+
+    private long grownSize(long required) {
+        long size = buffer.capacity();
+        while (size < required) {
+            size *= 2;
+        }
+        return size;
+    }
+
+    private void maintain() {
+        try {
+            flush();
+            if (records > 2L * (branches.size() + tombstones.size()) + 1000) {
+                compact();
+            }
+        } catch (RuntimeException e) {
+            log.error("Error en el mantenimiento del almacenamiento local", e);
+        }
+    }
+
+    private static boolean isChangedSince(LocalDateTime modifiedAt, String id, LocalDateTime since, String afterId,
+                                          LocalDateTime until) {
+        if (modifiedAt == null || modifiedAt.isBefore(since) || !modifiedAt.isBefore(until)) {
+            return false;
+        }
+        return afterId == null || modifiedAt.isAfter(since) || id.compareTo(afterId) > 0;
+    }
+
+    private static Branch copy(Branch source) {
+        Branch branch = new Branch();
+        branch.setId(source.getId());
+        branch.setEmailAddress(source.getEmailAddress());
+        branch.setName(source.getName());
+        branch.setPhoneNumber(source.getPhoneNumber());
+        branch.setState(source.getState());
+        branch.setCreationDate(source.getCreationDate());
+        branch.setLastModifiedDate(source.getLastModifiedDate());
+        List<BranchHoliday> holidays = new ArrayList<>();
+        if (source.getBranchHolidays() != null) {
+            source.getBranchHolidays().forEach(holiday -> holidays.add(copy(holiday)));
+        }
+        branch.setBranchHolidays(holidays);
+        branch.setCalendarIds(source.getCalendarIds() == null ? null : new ArrayList<>(source.getCalendarIds()));
+        branch.setExcludedHolidays(source.getExcludedHolidays() == null ? null : new ArrayList<>(source.getExcludedHolidays()));
+        return branch;
+    }
+
+    private static BranchHoliday copy(BranchHoliday source) {
+        BranchHoliday holiday = new BranchHoliday();
+        holiday.setDate(source.getDate());
+        holiday.setName(source.getName());
+        if (source.getRule() != null) {
+            HolidayRule rule = new HolidayRule();
+            rule.setType(source.getRule().getType());
+            rule.setMonth(source.getRule().getMonth());
+            rule.setDayOfMonth(source.getRule().getDayOfMonth());
+            rule.setDayOfWeek(source.getRule().getDayOfWeek());
+            rule.setOrdinal(source.getRule().getOrdinal());
+            rule.setOffsetDays(source.getRule().getOffsetDays());
+            rule.setFromYear(source.getRule().getFromYear());
+            rule.setToYear(source.getRule().getToYear());
+            holiday.setRule(rule);
+        }
+        return holiday;
+    }
+}
@@ -0,0 +1,154 @@
+package com.banquito.core.examen2p.repository;
+
+import com.banquito.core.examen2p.model.BranchHoliday;
+import com.banquito.core.examen2p.model.HolidayCalendar;
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import lombok.extern.slf4j.Slf4j;
+import org.bson.types.ObjectId;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentSkipListMap;
+import java.util.function.UnaryOperator;
+
+@Slf4j
+@Component
+@ConditionalOnProperty(name = "banquito.storage.type", havingValue = "local")
+public class LocalHolidayCalendarStore implements HolidayCalendarStore {
+    private final ObjectMapper objectMapper;
+    private final Path path;
+    private final Map<String, HolidayCalendar> calendars = new ConcurrentSkipListMap<>();
+
+    public LocalHolidayCalendarStore(@Value("${banquito.storage.local.calendars-path:data/holiday-calendars.json}") Path path) {
+        this.objectMapper = LocalStoreMapper.create();
+        this.path = path;
+        try {
+            if (path.getParent() != null) {
+                Files.createDirectories(path.getParent());
+            }
+            if (Files.exists(path)) {
+                List<HolidayCalendar> stored = objectMapper.readValue(path.toFile(), new TypeReference<>() {
+                });
+                stored.forEach(calendar -> calendars.put(calendar.getId(), calendar));
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException("No se pudo abrir el almacenamiento local " + path, e);
+        }
+        log.info("Almacenamiento local {} cargado con {} calendarios de feriados", path, calendars.size());
+    }
+
+    @Override
+    public List<HolidayCalendar> findAll() {
+        return new ArrayList<>(calendars.values());
+    }
+
+    @Override
+    public Optional<HolidayCalendar> findById(String id) {
+        return Optional.ofNullable(calendars.get(id));
+    }
+
+    @Override
+    public synchronized HolidayCalendar save(HolidayCalendar calendar) {
+        HolidayCalendar stored = copy(calendar);
+        if (stored.getId() == null) {
+            stored.setId(new ObjectId().toHexString());
+        }
+        calendars.put(stored.getId(), stored);
+        persist();
+        calendar.setId(stored.getId());
+        return stored;
+    }
+
+    @Override
+    public synchronized boolean deleteById(String id) {
+        if (calendars.remove(id) == null) {
+            return false;
+        }
+        persist();
+        return true;
+    }
+
+    @Override
+    public Optional<HolidayCalendar> pushHoliday(String id, BranchHoliday holiday, LocalDateTime modifiedAt) {
+        return modify(id, calendar -> {
+            if (!SortedHolidays.insert(calendar.getHolidays(), holiday)) {
+                return null;
+            }
+            calendar.setLastModifiedDate(modifiedAt);
+            return calendar;
+        });
+    }
+
+    @Override
+    public Optional<HolidayCalendar> pullHoliday(String id, LocalDate date, LocalDateTime modifiedAt) {
+        return modify(id, calendar -> {
+            if (!SortedHolidays.removeDate(calendar.getHolidays(), date)) {
+                return null;
+            }
+            calendar.setLastModifiedDate(modifiedAt);
+            return calendar;
+        });
+    }
+
+    @Override
+    public Optional<HolidayCalendar> pullHolidayRule(String id, String name, LocalDateTime modifiedAt) {
+        return modify(id, calendar -> {
+            if (!calendar.getHolidays().removeIf(holiday -> holiday.getRule() != null && name.equals(holiday.getName()))) {
+                return null;
+            }
+            calendar.setLastModifiedDate(modifiedAt);
+            return calendar;
+        });
+    }
+
+    private synchronized Optional<HolidayCalendar> modify(String id, UnaryOperator<HolidayCalendar> change) {
+        HolidayCalendar current = calendars.get(id);
+        if (current == null) {
+            return Optional.empty();
+        }
+        HolidayCalendar updated = change.apply(copy(current));
+        if (updated == null) {
+            return Optional.empty();
+        }
+        calendars.put(id, updated);
+        persist();
+        return Optional.of(updated);
+    }
+
+    private void persist() {
+        Path temporary = path.resolveSibling(path.getFileName() + ".tmp");
+        try {
+            objectMapper.writeValue(temporary.toFile(), new ArrayList<>(calendars.values()));
+            Files.move(temporary, path, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        } catch (IOException e) {
+            throw new UncheckedIOException("No se pudo escribir en el almacenamiento local " + path, e);
+        }
+    }
+
+    private static HolidayCalendar copy(HolidayCalendar source) {
+        HolidayCalendar calendar = new HolidayCalendar();
+        calendar.setId(source.getId());
+        calendar.setName(source.getName());
+        calendar.setDescription(source.getDescription());
+        calendar.setCreationDate(source.getCreationDate());
+        calendar.setLastModifiedDate(source.getLastModifiedDate());
+        calendar.setHolidays(source.getHolidays() == null
+                ? new ArrayList<>()
+                : new ArrayList<>(source.getHolidays()));
+        calendar.getHolidays().sort(SortedHolidays.ORDER);
+        return calendar;
+    }
+}
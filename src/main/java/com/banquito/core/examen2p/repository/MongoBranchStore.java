@@ -0,0 +1,325 @@
+package com.banquito.core.examen2p.repository;
+
+import com.banquito.core.examen2p.model.Branch;
+import com.banquito.core.examen2p.model.BranchHoliday;
+import com.banquito.core.examen2p.model.BranchTombstone;
+import org.bson.Document;
+import org.bson.types.ObjectId;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.mongodb.BulkOperationException;
+import org.springframework.data.mongodb.core.BulkOperations;
+import org.springframework.data.mongodb.core.FindAndModifyOptions;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.index.Index;
+import org.springframework.data.mongodb.core.query.Criteria;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.data.mongodb.core.query.Update;
+import org.springframework.stereotype.Component;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.stream.Stream;
+
+@Component
+@ConditionalOnProperty(name = "banquito.storage.type", havingValue = "mongo", matchIfMissing = true)
+public class MongoBranchStore implements BranchStore {
+    private static final int COMPACT_PUSH_ATTEMPTS = 3;
+
+    private final BranchRepository branchRepository;
+    private final MongoTemplate mongoTemplate;
+    private final boolean compactHolidays;
+
+    public MongoBranchStore(BranchRepository branchRepository, MongoTemplate mongoTemplate,
+                            @Value("${banquito.storage.holiday-encoding:documents}") String holidayEncoding) {
+        this.branchRepository = branchRepository;
+        this.mongoTemplate = mongoTemplate;
+        this.compactHolidays = "compact".equals(holidayEncoding);
+        if (compactHolidays) {
+            mongoTemplate.indexOps(Branch.class).ensureIndex(new Index()
+                    .on(CompactHolidays.CODES_FIELD, Sort.Direction.ASC)
+                    .named("branch_holiday_codes"));
+        }
+    }
+
+    @Override
+    public List<Branch> findAll() {
+        return branchRepository.findAll();
+    }
+
+    @Override
+    public List<Branch> findAll(Set<String> fields) {
+        if (fields.equals(SUMMARY_FIELDS)) {
+            return branchRepository.findAllSummaries();
+        }
+        return mongoTemplate.find(project(new Query(), fields), Branch.class);
+    }
+
+    @Override
+    public List<Branch> findPage(String after, int limit, Set<String> fields) {
+        Query query = new Query().with(Sort.by(Sort.Direction.ASC, "id")).limit(limit);
+        if (after != null) {
+            query.addCriteria(Criteria.where("id").gt(after));
+        }
+        return mongoTemplate.find(project(query, fields), Branch.class);
+    }
+
+    @Override
+    public Stream<Branch> streamAll() {
+        return mongoTemplate.stream(new Query().with(Sort.by(Sort.Direction.ASC, "id")), Branch.class);
+    }
+
+    @Override
+    public Optional<Branch> findById(String id) {
+        return branchRepository.findById(id);
+    }
+
+    @Override
+    public Optional<Branch> findById(String id, Set<String> fields) {
+        return Optional.ofNullable(mongoTemplate.findOne(
+                project(Query.query(Criteria.where("id").is(id)), fields), Branch.class));
+    }
+
+    @Override
+    public Optional<Branch> findHolidaysById(String id) {
+        return branchRepository.findHolidaysById(id);
+    }
+
+    @Override
+    public List<Branch> findHolidaysByIds(Collection<String> ids) {
+        Query query = Query.query(Criteria.where("id").in(ids));
+        query.fields().include(CompactHolidays.LEGACY_FIELD, CompactHolidays.CODES_FIELD, CompactHolidays.NAMES_FIELD,
+                "calendarIds", "excludedHolidays");
+        return mongoTemplate.find(query, Branch.class);
+    }
+
+    @Override
+    public List<Branch> findClosedOn(LocalDate date, Collection<String> calendarIds, String state) {
+        Map<String, Branch> closed = new TreeMap<>();
+        collectClosed(closed, Criteria.where("branchHolidays.date").is(date), state, null);
+        if (compactHolidays) {
+            collectClosed(closed, CompactHolidays.hasCodeOn(date), state, null);
+        }
+        if (!calendarIds.isEmpty()) {
+            collectClosed(closed, Criteria.where("calendarIds").in(calendarIds), state, date);
+        }
+        return new ArrayList<>(closed.values());
+    }
+
+    private void collectClosed(Map<String, Branch> closed, Criteria closure, String state, LocalDate excludable) {
+        if (state != null) {
+            closure.and("state").is(state);
+        }
+        Query query = Query.query(closure);
+        query.fields().include("id", "name");
+        if (excludable != null) {
+            query.fields().include("excludedHolidays");
+        }
+        for (Branch branch : mongoTemplate.find(query, Branch.class)) {
+            List<LocalDate> excluded = branch.getExcludedHolidays();
+            if (excluded == null || !excluded.contains(excludable)) {
+                branch.setExcludedHolidays(null);
+                closed.putIfAbsent(branch.getId(), branch);
+            }
+        }
+    }
+
+    @Override
+    public List<Branch> findWithHolidayRules(String state) {
+        Criteria criteria = Criteria.where("branchHolidays.rule.type").exists(true);
+        if (state != null) {
+            criteria.and("state").is(state);
+        }
+        Query query = Query.query(criteria);
+        query.fields().include("id", "name", "branchHolidays");
+        return mongoTemplate.find(query, Branch.class);
+    }
+
+    @Override
+    public List<Branch> findModifiedSince(LocalDateTime since, String afterId, LocalDateTime until, int limit) {
+        Query query = Query.query(changedSince("lastModifiedDate", since, afterId, until))
+                .with(Sort.by(Sort.Direction.ASC, "lastModifiedDate", "id"))
+                .limit(limit);
+        return mongoTemplate.find(query, Branch.class);
+    }
+
+    @Override
+    public List<BranchTombstone> findDeletedSince(LocalDateTime since, String afterId, LocalDateTime until, int limit) {
+        Query query = Query.query(changedSince("deletedAt", since, afterId, until))
+                .with(Sort.by(Sort.Direction.ASC, "deletedAt", "id"))
+                .limit(limit);
+        return mongoTemplate.find(query, BranchTombstone.class);
+    }
+
+    @Override
+    public Branch save(Branch branch) {
+        return branchRepository.save(branch);
+    }
+
+    @Override
+    public Map<Integer, String> insertAll(List<Branch> branches) {
+        Map<Integer, String> failures = new LinkedHashMap<>();
+        try {
+            mongoTemplate.bulkOps(BulkOperations.BulkMode.UNORDERED, Branch.class)
+                    .insert(branches)
+                    .execute();
+        } catch (BulkOperationException e) {
+            e.getErrors().forEach(error -> failures.put(error.getIndex(), error.getMessage()));
+        }
+        return failures;
+    }
+
+    @Override
+    public Optional<Branch> updatePhoneNumber(String id, String phoneNumber, LocalDateTime modifiedAt) {
+        return findAndModify(Criteria.where("id").is(id), new Update()
+                .set("phoneNumber", phoneNumber)
+                .set("lastModifiedDate", modifiedAt));
+    }
+
+    @Override
+    public Optional<Branch> pushHoliday(String id, BranchHoliday holiday, LocalDateTime modifiedAt) {
+        if (compactHolidays && holiday.getRule() == null) {
+            return pushCompactHoliday(id, holiday, modifiedAt);
+        }
+        Optional<Branch> updated = findAndModify(
+                Criteria.where("id").is(id).and("branchHolidays").ne(null).andOperator(notDuplicated(holiday)),
+                new Update()
+                        .push("branchHolidays").sort(Sort.by("date")).each(holiday)
+                        .set("lastModifiedDate", modifiedAt));
+        if (updated.isPresent()) {
+            return updated;
+        }
+        return findAndModify(
+                Criteria.where("id").is(id).and("branchHolidays").is(null),
+                new Update().set("branchHolidays", List.of(holiday)).set("lastModifiedDate", modifiedAt));
+    }
+
+    @Override
+    public Optional<Branch> pullHoliday(String id, LocalDate date, LocalDateTime modifiedAt) {
+        if (compactHolidays) {
+            return pullCompactHoliday(id, date, modifiedAt);
+        }
+        return findAndModify(
+                Criteria.where("id").is(id).and("branchHolidays.date").is(date),
+                new Update()
+                        .pull("branchHolidays", new Document("date", date))
+                        .set("lastModifiedDate", modifiedAt));
+    }
+
+    @Override
+    public Optional<Branch> pullHolidayRule(String id, String name, LocalDateTime modifiedAt) {
+        Document rule = new Document("name", name).append("rule", new Document("$exists", true));
+        return findAndModify(
+                Criteria.where("id").is(id).and("branchHolidays").elemMatch(
+                        Criteria.where("name").is(name).and("rule").exists(true)),
+                new Update()
+                        .pull("branchHolidays", rule)
+                        .set("lastModifiedDate", modifiedAt));
+    }
+
+    @Override
+    public Optional<Branch> updateCalendars(String id, List<String> calendarIds, List<LocalDate> excludedHolidays,
+                                            LocalDateTime modifiedAt) {
+        return findAndModify(Criteria.where("id").is(id), new Update()
+                .set("calendarIds", calendarIds)
+                .set("excludedHolidays", excludedHolidays)
+                .set("lastModifiedDate", modifiedAt));
+    }
+
+    @Override
+    public Optional<Branch> deleteById(String id, LocalDateTime deletedAt) {
+        Query query = Query.query(Criteria.where("id").is(id));
+        if (!mongoTemplate.exists(query, Branch.class)) {
+            return Optional.empty();
+        }
+        mongoTemplate.save(new BranchTombstone(id, deletedAt));
+        return Optional.ofNullable(mongoTemplate.findAndRemove(query, Branch.class));
+    }
+
+    @Override
+    public boolean isCalendarReferenced(String calendarId) {
+        return mongoTemplate.exists(Query.query(Criteria.where("calendarIds").is(calendarId)), Branch.class);
+    }
+
+    private static Criteria changedSince(String field, LocalDateTime since, String afterId, LocalDateTime until) {
+        Criteria criteria = Criteria.where(field).gte(since).lt(until);
+        if (afterId != null) {
+            criteria.orOperator(Criteria.where(field).gt(since), Criteria.where("id").gt(afterId));
+        }
+        return criteria;
+    }
+
+    private static Criteria notDuplicated(BranchHoliday holiday) {
+        if (holiday.getRule() == null) {
+            return Criteria.where("branchHolidays.date").ne(holiday.getDate());
+        }
+        return Criteria.where("branchHolidays").not().elemMatch(
+                Criteria.where("name").is(holiday.getName()).and("rule").exists(true));
+    }
+
+    private Optional<Branch> pushCompactHoliday(String id, BranchHoliday holiday, LocalDateTime modifiedAt) {
+        LocalDate date = holiday.getDate();
+        for (int attempt = 0; attempt < COMPACT_PUSH_ATTEMPTS; attempt++) {
+            Query byId = Query.query(Criteria.where("_id").is(ObjectId.isValid(id) ? new ObjectId(id) : id));
+            byId.fields().include(CompactHolidays.NAMES_FIELD);
+            Document names = mongoTemplate.findAndModify(byId, new Update()
+                            .addToSet(CompactHolidays.NAMES_FIELD, holiday.getName())
+                            .set("lastModifiedDate", modifiedAt),
+                    FindAndModifyOptions.options().returnNew(true), Document.class,
+                    mongoTemplate.getCollectionName(Branch.class));
+            if (names == null) {
+                return Optional.empty();
+            }
+            int nameIndex = names.getList(CompactHolidays.NAMES_FIELD, String.class).indexOf(holiday.getName());
+            Criteria notDuplicated = Criteria.where("id").is(id)
+                    .and(CompactHolidays.NAMES_FIELD + "." + nameIndex).is(holiday.getName())
+                    .and("branchHolidays.date").ne(date)
+                    .andOperator(CompactHolidays.hasNoCodeOn(date));
+            Optional<Branch> updated = findAndModify(notDuplicated, new Update()
+                    .push(CompactHolidays.CODES_FIELD).sort(Sort.Direction.ASC).each(CompactHolidays.code(date, nameIndex))
+                    .set("lastModifiedDate", modifiedAt));
+            if (updated.isPresent() || mongoTemplate.exists(Query.query(Criteria.where("id").is(id).orOperator(
+                    CompactHolidays.hasCodeOn(date), Criteria.where("branchHolidays.date").is(date))), Branch.class)) {
+                return updated;
+            }
+        }
+        throw new IllegalStateException("El diccionario de nombres de feriados de la sucursal " + id
+                + " cambió durante la inserción del feriado del " + date);
+    }
+
+    private Optional<Branch> pullCompactHoliday(String id, LocalDate date, LocalDateTime modifiedAt) {
+        return findAndModify(
+                Criteria.where("id").is(id).orOperator(
+                        CompactHolidays.hasCodeOn(date),
+                        Criteria.where("branchHolidays.date").is(date)),
+                new Update()
+                        .pull(CompactHolidays.CODES_FIELD, CompactHolidays.codeRange(date))
+                        .pull("branchHolidays", new Document("date", date))
+                        .set("lastModifiedDate", modifiedAt));
+    }
+
+    private Query project(Query query, Set<String> fields) {
+        if (!fields.isEmpty()) {
+            fields.forEach(field -> query.fields().include(field));
+            if (compactHolidays && fields.contains(CompactHolidays.LEGACY_FIELD)) {
+                query.fields().include(CompactHolidays.CODES_FIELD, CompactHolidays.NAMES_FIELD);
+            }
+            query.fields().include("lastModifiedDate");
+        }
+        return query;
+    }
+
+    private Optional<Branch> findAndModify(Criteria criteria, Update update) {
+        return Optional.ofNullable(mongoTemplate.findAndModify(Query.query(criteria), update,
+                FindAndModifyOptions.options().returnNew(true), Branch.class));
+    }
+}
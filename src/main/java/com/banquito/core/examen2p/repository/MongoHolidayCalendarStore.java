@@ -0,0 +1,82 @@
+package com.banquito.core.examen2p.repository;
+
+import com.banquito.core.examen2p.model.BranchHoliday;
+import com.banquito.core.examen2p.model.HolidayCalendar;
+import lombok.RequiredArgsConstructor;
+import org.bson.Document;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.mongodb.core.FindAndModifyOptions;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.query.Criteria;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.data.mongodb.core.query.Update;
+import org.springframework.stereotype.Component;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Optional;
+
+@Component
+@RequiredArgsConstructor
+@ConditionalOnProperty(name = "banquito.storage.type", havingValue = "mongo", matchIfMissing = true)
+public class MongoHolidayCalendarStore implements HolidayCalendarStore {
+    private final MongoTemplate mongoTemplate;
+
+    @Override
+    public List<HolidayCalendar> findAll() {
+        return mongoTemplate.findAll(HolidayCalendar.class);
+    }
+
+    @Override
+    public Optional<HolidayCalendar> findById(String id) {
+        return Optional.ofNullable(mongoTemplate.findById(id, HolidayCalendar.class));
+    }
+
+    @Override
+    public HolidayCalendar save(HolidayCalendar calendar) {
+        return mongoTemplate.save(calendar);
+    }
+
+    @Override
+    public boolean deleteById(String id) {
+        return mongoTemplate.remove(Query.query(Criteria.where("id").is(id)), HolidayCalendar.class)
+                .getDeletedCount() > 0;
+    }
+
+    @Override
+    public Optional<HolidayCalendar> pushHoliday(String id, BranchHoliday holiday, LocalDateTime modifiedAt) {
+        Criteria notDuplicated = holiday.getRule() == null
+                ? Criteria.where("holidays.date").ne(holiday.getDate())
+                : Criteria.where("holidays").not().elemMatch(
+                        Criteria.where("name").is(holiday.getName()).and("rule").exists(true));
+        return findAndModify(Criteria.where("id").is(id).andOperator(notDuplicated), new Update()
+                .push("holidays").sort(Sort.by("date")).each(holiday)
+                .set("lastModifiedDate", modifiedAt));
+    }
+
+    @Override
+    public Optional<HolidayCalendar> pullHoliday(String id, LocalDate date, LocalDateTime modifiedAt) {
+        return findAndModify(
+                Criteria.where("id").is(id).and("holidays.date").is(date),
+                new Update()
+                        .pull("holidays", new Document("date", date))
+                        .set("lastModifiedDate", modifiedAt));
+    }
+
+    @Override
+    public Optional<HolidayCalendar> pullHolidayRule(String id, String name, LocalDateTime modifiedAt) {
+        return findAndModify(
+                Criteria.where("id").is(id).and("holidays").elemMatch(
+                        Criteria.where("name").is(name).and("rule").exists(true)),
+                new Update()
+                        .pull("holidays", new Document("name", name).append("rule", new Document("$exists", true)))
+                        .set("lastModifiedDate", modifiedAt));
+    }
+
+    private Optional<HolidayCalendar> findAndModify(Criteria criteria, Update update) {
+        return Optional.ofNullable(mongoTemplate.findAndModify(Query.query(criteria), update,
+                FindAndModifyOptions.options().returnNew(true), HolidayCalendar.class));
+    }
+}
@@ -0,0 +1,14 @@
+package com.banquito.core.examen2p.repository;
+
+import com.banquito.core.examen2p.model.Branch;
+import org.springframework.data.mongodb.repository.Query;
+import org.springframework.data.mongodb.repository.ReactiveMongoRepository;
+import org.springframework.stereotype.Repository;
+import reactor.core.publisher.Mono;
+
+@Repository
+public interface ReactiveBranchRepository extends ReactiveMongoRepository<Branch, String> {
+
+    @Query(value = "{ '_id': ?0 }", fields = "{ 'branchHolidays': 1, 'holidayCodes': 1, 'holidayNames': 1, 'calendarIds': 1, 'excludedHolidays': 1, 'lastModifiedDate': 1 }")
+    Mono<Branch> findHolidaysById(String id);
+}
@@ -0,0 +1,24 @@
+package com.banquito.core.examen2p.repository;
+
+import com.banquito.core.examen2p.model.Branch;
+import org.bson.Document;
+import org.reactivestreams.Publisher;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Profile;
+import org.springframework.data.mongodb.core.mapping.event.ReactiveAfterConvertCallback;
+import org.springframework.stereotype.Component;
+import reactor.core.publisher.Mono;
+
+@Component
+@Profile("reactive")
+@ConditionalOnProperty(name = "banquito.storage.holiday-encoding", havingValue = "compact")
+public class ReactiveCompactHolidayCallbacks implements ReactiveAfterConvertCallback<Branch> {
+
+    @Override
+    public Publisher<Branch> onAfterConvert(Branch entity, Document document, String collection) {
+        if (CompactHolidays.isEncoded(document)) {
+            entity.setBranchHolidays(CompactHolidays.merge(CompactHolidays.decode(document), entity.getBranchHolidays()));
+        }
+        return Mono.just(entity);
+    }
+}
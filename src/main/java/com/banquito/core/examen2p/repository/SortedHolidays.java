@@ -0,0 +1,65 @@
+package com.banquito.core.examen2p.repository;
+
+import com.banquito.core.examen2p.model.BranchHoliday;
+
+import java.time.LocalDate;
+import java.util.Comparator;
+import java.util.List;
+
+public final class SortedHolidays {
+    public static final Comparator<BranchHoliday> ORDER =
+            Comparator.comparing(BranchHoliday::getDate, Comparator.nullsFirst(Comparator.naturalOrder()));
+
+    private SortedHolidays() {
+    }
+
+    public static int firstIndexAtOrAfter(List<BranchHoliday> holidays, LocalDate date) {
+        int low = 0;
+        int high = holidays.size();
+        while (low < high) {
+            int mid = (low + high) >>> 1;
+            LocalDate current = holidays.get(mid).getDate();
+            if (current == null || current.isBefore(date)) {
+                low = mid + 1;
+            } else {
+                high = mid;
+            }
+        }
+        return low;
+    }
+
+    public static boolean containsDate(List<BranchHoliday> holidays, LocalDate date) {
+        int index = firstIndexAtOrAfter(holidays, date);
+        return index < holidays.size() && date.equals(holidays.get(index).getDate());
+    }
+
+    public static boolean containsRule(List<BranchHoliday> holidays, String name) {
+        return holidays.stream().anyMatch(holiday -> holiday.getRule() != null && name.equals(holiday.getName()));
+    }
+
+    public static boolean insert(List<BranchHoliday> holidays, BranchHoliday holiday) {
+        if (holiday.getRule() != null) {
+            if (containsRule(holidays, holiday.getName())) {
+                return false;
+            }
+            holidays.add(firstIndexAtOrAfter(holidays, LocalDate.MIN), holiday);
+            return true;
+        }
+        int index = firstIndexAtOrAfter(holidays, holiday.getDate());
+        if (index < holidays.size() && holiday.getDate().equals(holidays.get(index).getDate())) {
+            return false;
+        }
+        holidays.add(index, holiday);
+        return true;
+    }
+
+    public static boolean removeDate(List<BranchHoliday> holidays, LocalDate date) {
+        int from = firstIndexAtOrAfter(holidays, date);
+        int to = from;
+        while (to < holidays.size() && date.equals(holidays.get(to).getDate())) {
+            to++;
+        }
+        holidays.subList(from, to).clear();
+        return to > from;
+    }
+}
@@ -0,0 +1,102 @@
+package com.banquito.core.examen2p.service;
+
+import com.banquito.core.examen2p.model.Branch;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.atomic.LongAdder;
+
+@Component
+public class BranchCache {
+    private static final int VERSION_STRIPES = 1024;
+
+    private final int maxSize;
+    private final ConcurrentHashMap<String, Slot> entries = new ConcurrentHashMap<>();
+    private final AtomicLongArray versions = new AtomicLongArray(VERSION_STRIPES);
+    private final LongAdder hits = new LongAdder();
+    private final LongAdder misses = new LongAdder();
+    private final LongAdder evictions = new LongAdder();
+
+    public BranchCache(@Value("${banquito.cache.branches.max-size:1000}") int maxSize) {
+        this.maxSize = maxSize;
+    }
+
+    public Branch get(String id) {
+        Slot slot = entries.get(id);
+        if (slot == null) {
+            misses.increment();
+            return null;
+        }
+        hits.increment();
+        slot.lastAccess = System.nanoTime();
+        return slot.branch;
+    }
+
+    public long version(String id) {
+        return versions.get(stripe(id));
+    }
+
+    public void put(Branch branch, long expectedVersion) {
+        int stripe = stripe(branch.getId());
+        entries.compute(branch.getId(), (id, current) ->
+                versions.get(stripe) == expectedVersion ? new Slot(branch) : current);
+        while (entries.size() > maxSize) {
+            evictLeastRecentlyUsed();
+        }
+    }
+
+    public void invalidate(String id) {
+        int stripe = stripe(id);
+        entries.compute(id, (key, current) -> {
+            versions.incrementAndGet(stripe);
+            return null;
+        });
+    }
+
+    public void clear() {
+        for (int i = 0; i < VERSION_STRIPES; i++) {
+            versions.incrementAndGet(i);
+        }
+        entries.clear();
+    }
+
+    public Stats stats() {
+        return new Stats(entries.size(), maxSize, hits.sum(), misses.sum(), evictions.sum());
+    }
+
+    private void evictLeastRecentlyUsed() {
+        Map.Entry<String, Slot> eldest = null;
+        for (Map.Entry<String, Slot> entry : entries.entrySet()) {
+            if (eldest == null || entry.getValue().lastAccess < eldest.getValue().lastAccess) {
+                eldest = entry;
+            }
+        }
+        if (eldest != null && entries.remove(eldest.getKey(), eldest.getValue())) {
+            evictions.increment();
+        }
+    }
+
+    private static int stripe(String id) {
+        int hash = id.hashCode();
+        return (hash ^ (hash >>> 16)) & (VERSION_STRIPES - 1);
+    }
+
+    private static final class Slot {
+        private final Branch branch;
+        private volatile long lastAccess = System.nanoTime();
+
+        private Slot(Branch branch) {
+            this.branch = branch;
+        }
+    }
+
+    public record Stats(int size, int maxSize, long hits, long misses, long evictions) {
+        public double hitRatio() {
+            long requests = hits + misses;
+            return requests == 0 ? 0 : (double) hits / requests;
+        }
+    }
+}
@@ -0,0 +1,268 @@
+package com.banquito.core.examen2p.service;
+
+import com.banquito.core.examen2p.model.BranchHoliday;
+import com.banquito.core.examen2p.model.HolidayRule;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.LongPredicate;
+
+public final class BranchCalendar {
+    private static final BranchCalendar EMPTY =
+            new BranchCalendar(0, new long[0], new int[0], new String[0], List.of(), 0, new int[0]);
+    private static final int MAX_MEMOIZED_YEARS = 400;
+
+    private final int baseEpochDay;
+    private final long[] words;
+    private final int[] epochDays;
+    private final String[] names;
+    private final List<BranchHoliday> rules;
+    private final int sharedRules;
+    private final int[] excludedDays;
+    private final Map<Integer, long[]> ruleYears = new ConcurrentHashMap<>();
+
+    private BranchCalendar(int baseEpochDay, long[] words, int[] epochDays, String[] names, List<BranchHoliday> rules,
+                           int sharedRules, int[] excludedDays) {
+        this.baseEpochDay = baseEpochDay;
+        this.words = words;
+        this.epochDays = epochDays;
+        this.names = names;
+        this.rules = rules;
+        this.sharedRules = sharedRules;
+        this.excludedDays = excludedDays;
+    }
+
+    public static BranchCalendar of(List<BranchHoliday> holidays) {
+        return of(List.of(), List.of(), holidays);
+    }
+
+    public static BranchCalendar of(List<BranchHoliday> shared, Collection<LocalDate> excluded,
+                                    List<BranchHoliday> local) {
+        if ((shared == null || shared.isEmpty()) && (local == null || local.isEmpty())) {
+            return EMPTY;
+        }
+        int[] excludedDays = excluded == null ? new int[0] : excluded.stream()
+                .mapToInt(date -> (int) date.toEpochDay())
+                .sorted()
+                .distinct()
+                .toArray();
+        List<BranchHoliday> dated = new ArrayList<>();
+        addDated(dated, shared, excludedDays);
+        addDated(dated, local, new int[0]);
+        dated.sort(Comparator.comparing(BranchHoliday::getDate));
+        int[] days = new int[dated.size()];
+        String[] names = new String[dated.size()];
+        int count = 0;
+        for (BranchHoliday holiday : dated) {
+            int day = (int) holiday.getDate().toEpochDay();
+            if (count == 0 || days[count - 1] != day) {
+                days[count] = day;
+                names[count++] = holiday.getName();
+            }
+        }
+        List<BranchHoliday> rules = new ArrayList<>();
+        addRules(rules, shared);
+        int sharedRules = rules.size();
+        addRules(rules, local);
+        return of(Arrays.copyOf(days, count), Arrays.copyOf(names, count), List.copyOf(rules), sharedRules,
+                sharedRules == 0 ? new int[0] : excludedDays);
+    }
+
+    static BranchCalendar ofEpochDays(int[] sortedDays) {
+        return of(sortedDays, new String[sortedDays.length], List.of(), 0, new int[0]);
+    }
+
+    static BranchCalendar ofEpochDays(int[] sortedDays, String[] names) {
+        return of(sortedDays, names, List.of(), 0, new int[0]);
+    }
+
+    private static void addDated(List<BranchHoliday> dated, List<BranchHoliday> holidays, int[] excludedDays) {
+        if (holidays == null) {
+            return;
+        }
+        for (BranchHoliday holiday : holidays) {
+            if (holiday != null && holiday.getRule() == null && holiday.getDate() != null
+                    && Arrays.binarySearch(excludedDays, (int) holiday.getDate().toEpochDay()) < 0) {
+                dated.add(holiday);
+            }
+        }
+    }
+
+    private static void addRules(List<BranchHoliday> rules, List<BranchHoliday> holidays) {
+        if (holidays == null) {
+            return;
+        }
+        for (BranchHoliday holiday : holidays) {
+            if (holiday != null && holiday.getRule() != null) {
+                rules.add(holiday);
+            }
+        }
+    }
+
+    private static BranchCalendar of(int[] sortedDays, String[] names, List<BranchHoliday> rules, int sharedRules,
+                                     int[] excludedDays) {
+        if (sortedDays.length == 0) {
+            return rules.isEmpty()
+                    ? EMPTY
+                    : new BranchCalendar(0, new long[0], sortedDays, names, rules, sharedRules, excludedDays);
+        }
+        int base = sortedDays[0];
+        int span = sortedDays[sortedDays.length - 1] - base + 1;
+        long[] words = new long[(span + 63) >>> 6];
+        for (int day : sortedDays) {
+            int offset = day - base;
+            words[offset >>> 6] |= 1L << offset;
+        }
+        return new BranchCalendar(base, words, sortedDays, names, rules, sharedRules, excludedDays);
+    }
+
+    public boolean contains(LocalDate date) {
+        return containsDate(date.toEpochDay()) || containsRule(date);
+    }
+
+    public boolean contains(long epochDay) {
+        return containsDate(epochDay) || (!rules.isEmpty() && containsRule(LocalDate.ofEpochDay(epochDay)));
+    }
+
+    public int size() {
+        return epochDays.length;
+    }
+
+    public boolean hasRules() {
+        return !rules.isEmpty();
+    }
+
+    public int[] epochDays() {
+        return Arrays.copyOf(epochDays, epochDays.length);
+    }
+
+    String nameAt(int index) {
+        return names[index];
+    }
+
+    public List<BranchHoliday> between(LocalDate from, LocalDate to) {
+        long last = to.toEpochDay();
+        List<BranchHoliday> occurrences = new ArrayList<>();
+        for (int i = firstIndexAtOrAfter(from.toEpochDay()); i < epochDays.length && epochDays[i] <= last; i++) {
+            occurrences.add(holiday(LocalDate.ofEpochDay(epochDays[i]), names[i], null));
+        }
+        if (rules.isEmpty()) {
+            return occurrences;
+        }
+        Set<LocalDate> ruleDays = new HashSet<>();
+        for (int year = from.getYear(); year <= to.getYear(); year++) {
+            for (int i = 0; i < rules.size(); i++) {
+                BranchHoliday rule = rules.get(i);
+                LocalDate date = HolidayRules.resolve(rule.getRule(), year);
+                if (date != null && !date.isBefore(from) && !date.isAfter(to) && !isExcluded(i, date.toEpochDay())
+                        && !containsDate(date.toEpochDay()) && ruleDays.add(date)) {
+                    occurrences.add(holiday(date, rule.getName(), rule.getRule()));
+                }
+            }
+        }
+        occurrences.sort(Comparator.comparing(BranchHoliday::getDate));
+        return occurrences;
+    }
+
+    long countHolidays(long fromInclusive, long toExclusive, LongPredicate filter) {
+        long count = 0;
+        for (int i = firstIndexAtOrAfter(fromInclusive); i < epochDays.length && epochDays[i] < toExclusive; i++) {
+            if (filter.test(epochDays[i])) {
+                count++;
+            }
+        }
+        if (rules.isEmpty() || fromInclusive >= toExclusive) {
+            return count;
+        }
+        int lastYear = LocalDate.ofEpochDay(toExclusive - 1).getYear();
+        for (int year = LocalDate.ofEpochDay(fromInclusive).getYear(); year <= lastYear; year++) {
+            long yearStart = LocalDate.of(year, 1, 1).toEpochDay();
+            long[] bits = ruleYear(year);
+            for (int w = 0; w < bits.length; w++) {
+                long word = bits[w];
+                while (word != 0) {
+                    long day = yearStart + (w << 6) + Long.numberOfTrailingZeros(word);
+                    word &= word - 1;
+                    if (day >= fromInclusive && day < toExclusive && !containsDate(day) && filter.test(day)) {
+                        count++;
+                    }
+                }
+            }
+        }
+        return count;
+    }
+
+    int firstIndexAtOrAfter(long epochDay) {
+        int low = 0;
+        int high = epochDays.length;
+        while (low < high) {
+            int mid = (low + high) >>> 1;
+            if (epochDays[mid] < epochDay) {
+                low = mid + 1;
+            } else {
+                high = mid;
+            }
+        }
+        return low;
+    }
+
+    private boolean containsDate(long epochDay) {
+        long offset = epochDay - baseEpochDay;
+        if (offset < 0 || offset >= ((long) words.length << 6)) {
+            return false;
+        }
+        return (words[(int) (offset >>> 6)] & (1L << offset)) != 0;
+    }
+
+    private boolean containsRule(LocalDate date) {
+        if (rules.isEmpty()) {
+            return false;
+        }
+        int dayOfYear = date.getDayOfYear() - 1;
+        return (ruleYear(date.getYear())[dayOfYear >>> 6] & (1L << dayOfYear)) != 0;
+    }
+
+    private boolean isExcluded(int ruleIndex, long epochDay) {
+        return ruleIndex < sharedRules && excludedDays.length > 0
+                && Arrays.binarySearch(excludedDays, (int) epochDay) >= 0;
+    }
+
+    private long[] ruleYear(int year) {
+        long[] bits = ruleYears.get(year);
+        if (bits != null) {
+            return bits;
+        }
+        if (ruleYears.size() >= MAX_MEMOIZED_YEARS) {
+            ruleYears.clear();
+        }
+        return ruleYears.computeIfAbsent(year, this::materialize);
+    }
+
+    private long[] materialize(int year) {
+        long[] bits = new long[6];
+        for (int i = 0; i < rules.size(); i++) {
+            LocalDate date = HolidayRules.resolve(rules.get(i).getRule(), year);
+            if (date != null && !isExcluded(i, date.toEpochDay())) {
+                int dayOfYear = date.getDayOfYear() - 1;
+                bits[dayOfYear >>> 6] |= 1L << dayOfYear;
+            }
+        }
+        return bits;
+    }
+
+    private static BranchHoliday holiday(LocalDate date, String name, HolidayRule rule) {
+        BranchHoliday holiday = new BranchHoliday();
+        holiday.setDate(date);
+        holiday.setName(name);
+        holiday.setRule(rule);
+        return holiday;
+    }
+}
@@ -0,0 +1,290 @@
+package com.banquito.core.examen2p.service;
+
+import com.banquito.core.examen2p.controller.dto.BranchDTO;
+import com.banquito.core.examen2p.controller.dto.BranchHolidayDTO;
+import com.banquito.core.examen2p.controller.dto.BulkImportErrorDTO;
+import com.banquito.core.examen2p.controller.dto.BulkImportReportDTO;
+import com.banquito.core.examen2p.controller.mapper.BranchMapper;
+import com.banquito.core.examen2p.exception.InvalidBranchDataException;
+import com.banquito.core.examen2p.model.Branch;
+import com.banquito.core.examen2p.repository.BranchStore;
+import com.banquito.core.examen2p.repository.SortedHolidays;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import jakarta.validation.ConstraintViolation;
+import jakarta.validation.Validator;
+import lombok.extern.slf4j.Slf4j;
+import org.bson.types.ObjectId;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+@Slf4j
+@Service
+public class BranchImportService {
+    private static final List<String> CSV_COLUMNS = List.of("emailAddress", "name", "phoneNumber", "state");
+
+    private final BranchStore branchStore;
+    private final BranchMapper branchMapper;
+    private final Validator validator;
+    private final ObjectMapper objectMapper;
+    private final HolidayCalendarIndex holidayCalendarIndex;
+    private final BranchNameIndex branchNameIndex;
+    private final int batchSize;
+
+    public BranchImportService(BranchStore branchStore, BranchMapper branchMapper, Validator validator,
+                               ObjectMapper objectMapper, HolidayCalendarIndex holidayCalendarIndex,
+                               BranchNameIndex branchNameIndex,
+                               @Value("${banquito.import.batch-size:500}") int batchSize) {
+        this.branchStore = branchStore;
+        this.branchMapper = branchMapper;
+        this.validator = validator;
+        this.objectMapper = objectMapper;
+        this.holidayCalendarIndex = holidayCalendarIndex;
+        this.branchNameIndex = branchNameIndex;
+        this.batchSize = batchSize;
+    }
+
+    public BulkImportReportDTO importNdjson(InputStream input) throws IOException {
+        Batch batch = new Batch();
+        try (BufferedReader reader = reader(input)) {
+            String line;
+            long row = 0;
+            while ((line = reader.readLine()) != null) {
+                row++;
+                if (line.isBlank()) {
+                    continue;
+                }
+                try {
+                    batch.add(row, objectMapper.readValue(line, BranchDTO.class));
+                } catch (JsonProcessingException e) {
+                    batch.reject(row, "JSON inválido: " + e.getOriginalMessage());
+                }
+            }
+        }
+        return batch.finish();
+    }
+
+    public BulkImportReportDTO importCsv(InputStream input) throws IOException {
+        Batch batch = new Batch();
+        try (BufferedReader reader = reader(input)) {
+            String headerLine = reader.readLine();
+            if (headerLine == null) {
+                return batch.finish();
+            }
+            List<String> header = parseCsvLine(headerLine);
+            Map<String, Integer> columns = new HashMap<>();
+            for (int i = 0; i < header.size(); i++) {
+                columns.put(header.get(i).trim(), i);
+            }
+            if (!columns.keySet().containsAll(CSV_COLUMNS)) {
+                batch.reject(1, "La cabecera debe contener las columnas " + String.join(",", CSV_COLUMNS));
+                return batch.finish();
+            }
+
+            String line;
+            long row = 1;
+            while ((line = reader.readLine()) != null) {
+                row++;
+                if (line.isBlank()) {
+                    continue;
+                }
+                try {
+                    batch.add(row, toDto(parseCsvLine(line), columns));
+                } catch (RuntimeException e) {
+                    batch.reject(row, "Fila CSV inválida: " + e.getMessage());
+                }
+            }
+        }
+        return batch.finish();
+    }
+
+    private BranchDTO toDto(List<String> values, Map<String, Integer> columns) {
+        return BranchDTO.builder()
+                .emailAddress(column(values, columns, "emailAddress"))
+                .name(column(values, columns, "name"))
+                .phoneNumber(column(values, columns, "phoneNumber"))
+                .state(column(values, columns, "state"))
+                .branchHolidays(parseHolidays(column(values, columns, "holidays")))
+                .build();
+    }
+
+    private static String column(List<String> values, Map<String, Integer> columns, String name) {
+        Integer index = columns.get(name);
+        if (index == null || index >= values.size()) {
+            return null;
+        }
+        String value = values.get(index).trim();
+        return value.isEmpty() ? null : value;
+    }
+
+    private static List<BranchHolidayDTO> parseHolidays(String value) {
+        List<BranchHolidayDTO> holidays = new ArrayList<>();
+        if (value == null) {
+            return holidays;
+        }
+        for (String entry : value.split(";")) {
+            int separator = entry.indexOf(':');
+            if (separator < 0) {
+                throw new IllegalArgumentException("feriado sin formato fecha:nombre: " + entry);
+            }
+            holidays.add(BranchHolidayDTO.builder()
+                    .date(LocalDate.parse(entry.substring(0, separator).trim()))
+                    .name(entry.substring(separator + 1).trim())
+                    .build());
+        }
+        return holidays;
+    }
+
+    static List<String> parseCsvLine(String line) {
+        List<String> values = new ArrayList<>();
+        StringBuilder current = new StringBuilder();
+        boolean quoted = false;
+        for (int i = 0; i < line.length(); i++) {
+            char c = line.charAt(i);
+            if (quoted) {
+                if (c == '"' && i + 1 < line.length() && line.charAt(i + 1) == '"') {
+                    current.append('"');
+                    i++;
+                } else if (c == '"') {
+                    quoted = false;
+                } else {
+                    current.append(c);
+                }
+            } else if (c == '"') {
+                quoted = true;
+            } else if (c == ',') {
+                values.add(current.toString());
+                current.setLength(0);
+            } else {
+                current.append(c);
+            }
+        }
+        if (quoted) {
+            throw new IllegalArgumentException("comillas sin cerrar");
+        }
+        values.add(current.toString());
+        return values;
+    }
+
+    private static BufferedReader reader(InputStream input) {
+        return new BufferedReader(new InputStreamReader(input, StandardCharsets.UTF_8));
+    }
+
+    private String validate(BranchDTO dto) {
+        List<String> violations = new ArrayList<>();
+        for (ConstraintViolation<BranchDTO> violation : validator.validate(dto)) {
+            violations.add(violation.getPropertyPath() + ": " + violation.getMessage());
+        }
+        if (dto.getBranchHolidays() != null) {
+            Set<LocalDate> dates = new HashSet<>();
+            Set<String> ruleNames = new HashSet<>();
+            for (int i = 0; i < dto.getBranchHolidays().size(); i++) {
+                BranchHolidayDTO holiday = dto.getBranchHolidays().get(i);
+                Set<ConstraintViolation<BranchHolidayDTO>> holidayViolations = validator.validate(holiday);
+                for (ConstraintViolation<BranchHolidayDTO> violation : holidayViolations) {
+                    violations.add("branchHolidays[" + i + "]." + violation.getPropertyPath() + ": " + violation.getMessage());
+                }
+                if (holidayViolations.isEmpty() && holiday.getRule() != null) {
+                    try {
+                        HolidayRules.validate(branchMapper.toEntity(holiday.getRule()));
+                    } catch (InvalidBranchDataException e) {
+                        violations.add("branchHolidays[" + i + "].rule: " + e.getMessage());
+                    }
+                    if (!ruleNames.add(holiday.getName())) {
+                        violations.add("branchHolidays[" + i + "]: ya existe una regla de feriado con el nombre " + holiday.getName());
+                    }
+                } else if (holidayViolations.isEmpty() && !dates.add(holiday.getDate())) {
+                    violations.add("branchHolidays[" + i + "]: ya existe un feriado para la fecha " + holiday.getDate());
+                }
+            }
+        }
+        if (dto.getCalendarIds() != null) {
+            for (String calendarId : dto.getCalendarIds()) {
+                if (calendarId == null || holidayCalendarIndex.getShared(calendarId) == null) {
+                    violations.add("calendarIds: no existe el calendario de feriados " + calendarId);
+                }
+            }
+        }
+        return violations.isEmpty() ? null : violations.stream().sorted().collect(Collectors.joining("; "));
+    }
+
+    private class Batch {
+        private final List<Branch> branches = new ArrayList<>(batchSize);
+        private final List<Long> rows = new ArrayList<>(batchSize);
+        private final List<BulkImportErrorDTO> errors = new ArrayList<>();
+        private long received;
+        private long inserted;
+
+        void add(long row, BranchDTO dto) {
+            received++;
+            String violations = validate(dto);
+            if (violations != null) {
+                errors.add(new BulkImportErrorDTO(row, violations));
+                return;
+            }
+            Branch branch = branchMapper.toEntity(dto);
+            if (branch.getBranchHolidays() != null) {
+                branch.getBranchHolidays().sort(SortedHolidays.ORDER);
+            }
+            if (branch.getId() == null) {
+                branch.setId(new ObjectId().toHexString());
+            }
+            LocalDateTime now = LocalDateTime.now();
+            branch.setCreationDate(now);
+            branch.setLastModifiedDate(now);
+            branches.add(branch);
+            rows.add(row);
+            if (branches.size() >= batchSize) {
+                flush();
+            }
+        }
+
+        void reject(long row, String message) {
+            received++;
+            errors.add(new BulkImportErrorDTO(row, message));
+        }
+
+        BulkImportReportDTO finish() {
+            flush();
+            errors.sort((left, right) -> Long.compare(left.getRow(), right.getRow()));
+            return BulkImportReportDTO.builder()
+                    .received(received)
+                    .inserted(inserted)
+                    .errors(errors)
+                    .build();
+        }
+
+        private void flush() {
+            if (branches.isEmpty()) {
+                return;
+            }
+            Map<Integer, String> failed = branchStore.insertAll(branches);
+            failed.forEach((index, message) -> errors.add(new BulkImportErrorDTO(rows.get(index), message)));
+            for (int i = 0; i < branches.size(); i++) {
+                if (!failed.containsKey(i)) {
+                    holidayCalendarIndex.put(branches.get(i));
+                    branchNameIndex.put(branches.get(i));
+                    inserted++;
+                }
+            }
+            log.info("Lote de importación procesado: {} sucursales, {} con error", branches.size(), failed.size());
+            branches.clear();
+            rows.clear();
+        }
+    }
+}
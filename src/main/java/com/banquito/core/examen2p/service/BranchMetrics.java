@@ -0,0 +1,39 @@
+package com.banquito.core.examen2p.service;
+
+import com.banquito.core.examen2p.exception.HolidayCalendarOperationException;
+import com.banquito.core.examen2p.exception.HolidayOperationException;
+import com.banquito.core.examen2p.model.Branch;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.stereotype.Component;
+
+@Component
+public class BranchMetrics {
+    private final MeterRegistry meterRegistry;
+    private final DistributionSummary holidaysPerBranch;
+
+    public BranchMetrics(MeterRegistry meterRegistry) {
+        this.meterRegistry = meterRegistry;
+        this.holidaysPerBranch = DistributionSummary.builder("banquito.branch.holidays")
+                .description("Cantidad de feriados de cada sucursal cargada desde la base de datos")
+                .baseUnit("holidays")
+                .publishPercentileHistogram()
+                .register(meterRegistry);
+    }
+
+    public void recordLoaded(Branch branch) {
+        holidaysPerBranch.record(branch.getBranchHolidays() == null ? 0 : branch.getBranchHolidays().size());
+    }
+
+    public void recordError(RuntimeException e) {
+        String operation = "none";
+        if (e instanceof HolidayOperationException holidayException) {
+            operation = holidayException.getOperation();
+        } else if (e instanceof HolidayCalendarOperationException calendarException) {
+            operation = calendarException.getOperation();
+        }
+        meterRegistry.counter("banquito.branch.errors",
+                "exception", e.getClass().getSimpleName(),
+                "operation", operation).increment();
+    }
+}
@@ -0,0 +1,148 @@
+package com.banquito.core.examen2p.service;
+
+import com.banquito.core.examen2p.model.Branch;
+import com.banquito.core.examen2p.repository.BranchStore;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+
+import java.text.Normalizer;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.NavigableMap;
+import java.util.PriorityQueue;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentSkipListMap;
+import java.util.regex.Pattern;
+
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class BranchNameIndex {
+    private static final char KEY_SEPARATOR = '\u0000';
+    private static final Pattern MARKS = Pattern.compile("\\p{M}+");
+    private static final Pattern SEPARATORS = Pattern.compile("[^\\p{L}\\p{N}]+");
+    private static final Comparator<Match> RANKING = Comparator
+            .comparing((Match match) -> match.position() > 0)
+            .thenComparingInt(match -> match.entry().folded().length())
+            .thenComparing(match -> match.entry().folded())
+            .thenComparing(match -> match.entry().id());
+
+    private final BranchStore branchStore;
+    private final ConcurrentSkipListMap<String, Match> names = new ConcurrentSkipListMap<>();
+    private final ConcurrentSkipListMap<String, Match> suffixes = new ConcurrentSkipListMap<>();
+    private final Map<String, Entry> entries = new ConcurrentHashMap<>();
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void load() {
+        try {
+            log.info("Cargando el índice de nombres de sucursales");
+            branchStore.findAll(Set.of("id", "name", "state")).forEach(this::put);
+            log.info("Índice de nombres cargado con {} sucursales", entries.size());
+        } catch (Exception e) {
+            log.warn("No se pudo precargar el índice de nombres de sucursales: {}", e.getMessage());
+        }
+    }
+
+    public synchronized void put(Branch branch) {
+        remove(branch.getId());
+        if (branch.getName() == null) {
+            return;
+        }
+        Entry entry = new Entry(branch.getId(), branch.getName(), branch.getState(), fold(branch.getName()));
+        entries.put(entry.id(), entry);
+        names.put(key(entry.folded(), entry.id()), new Match(entry, 0));
+        for (int start : wordStarts(entry.folded())) {
+            suffixes.put(key(entry.folded().substring(start), entry.id()), new Match(entry, start));
+        }
+    }
+
+    public synchronized void remove(String id) {
+        Entry entry = entries.remove(id);
+        if (entry == null) {
+            return;
+        }
+        names.remove(key(entry.folded(), id));
+        for (int start : wordStarts(entry.folded())) {
+            suffixes.remove(key(entry.folded().substring(start), id));
+        }
+    }
+
+    public List<Branch> search(String query, String state, int limit) {
+        if (limit < 1) {
+            return List.of();
+        }
+        String prefix = fold(query);
+        PriorityQueue<Match> top = new PriorityQueue<>(limit + 1, RANKING.reversed());
+        Set<String> selected = new HashSet<>();
+        collect(names, prefix, state, limit, top, selected);
+        if (top.size() < limit) {
+            collect(suffixes, prefix, state, limit, top, selected);
+        }
+        List<Match> ranked = new ArrayList<>(top);
+        ranked.sort(RANKING);
+        List<Branch> results = new ArrayList<>(ranked.size());
+        for (Match match : ranked) {
+            Branch branch = new Branch();
+            branch.setId(match.entry().id());
+            branch.setName(match.entry().name());
+            branch.setState(match.entry().state());
+            results.add(branch);
+        }
+        return results;
+    }
+
+    public int size() {
+        return entries.size();
+    }
+
+    static String fold(String value) {
+        String decomposed = Normalizer.normalize(value, Normalizer.Form.NFD);
+        String folded = MARKS.matcher(decomposed).replaceAll("").toLowerCase(Locale.ROOT);
+        return SEPARATORS.matcher(folded).replaceAll(" ").trim();
+    }
+
+    private static void collect(NavigableMap<String, Match> index, String prefix, String state, int limit,
+                                PriorityQueue<Match> top, Set<String> selected) {
+        for (Match match : index.subMap(prefix, true, prefix + Character.MAX_VALUE, false).values()) {
+            if ((state != null && !state.equals(match.entry().state())) || selected.contains(match.entry().id())) {
+                continue;
+            }
+            if (top.size() == limit) {
+                if (RANKING.compare(match, top.peek()) >= 0) {
+                    continue;
+                }
+                selected.remove(top.poll().entry().id());
+            }
+            top.add(match);
+            selected.add(match.entry().id());
+        }
+    }
+
+    private static List<Integer> wordStarts(String folded) {
+        List<Integer> starts = new ArrayList<>();
+        for (int i = 1; i < folded.length(); i++) {
+            if (folded.charAt(i - 1) == ' ') {
+                starts.add(i);
+            }
+        }
+        return starts;
+    }
+
+    private static String key(String suffix, String id) {
+        return suffix + KEY_SEPARATOR + id;
+    }
+
+    private record Entry(String id, String name, String state, String folded) {
+    }
+
+    private record Match(Entry entry, int position) {
+    }
+}
@@ -2,92 +2,300 @@ package com.banquito.core.examen2p.service;
 
 import com.banquito.core.examen2p.model.Branch;
 import com.banquito.core.examen2p.model.BranchHoliday;
-import com.banquito.core.examen2p.repository.BranchRepository;
+import com.banquito.core.examen2p.repository.BranchStore;
 import com.banquito.core.examen2p.exception.BranchNotFoundException;
 import com.banquito.core.examen2p.exception.HolidayOperationException;
+import com.banquito.core.examen2p.exception.InvalidBranchDataException;
+import io.micrometer.core.annotation.Timed;
 import lombok.RequiredArgsConstructor;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
 import java.time.LocalDate;
 import java.time.LocalDateTime;
+import java.time.temporal.ChronoUnit;
 import java.util.ArrayList;
+import java.util.Collection;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
 
 @Service
 @RequiredArgsConstructor
+@Timed(value = "banquito.branch.service", histogram = true)
 public class BranchService {
-    private final BranchRepository branchRepository;
+    private static final int MAX_HOLIDAY_RANGE_YEARS = 100;
+    private static final int MAX_CLOSURE_RANGE_DAYS = 31;
+
+    private final BranchStore branchStore;
+    private final HolidayCalendarIndex holidayCalendarIndex;
+    private final BranchCache branchCache;
+    private final BranchMetrics branchMetrics;
+    private final BranchNameIndex branchNameIndex;
 
     public List<Branch> findAll() {
-        return branchRepository.findAll();
+        List<Branch> branches = branchStore.findAll();
+        branches.forEach(branchMetrics::recordLoaded);
+        return branches;
+    }
+
+    public List<Branch> findAll(Set<String> fields) {
+        if (fields.isEmpty()) {
+            return findAll();
+        }
+        return branchStore.findAll(fields);
+    }
+
+    public List<Branch> findPage(String after, int limit, Set<String> fields) {
+        return branchStore.findPage(after, limit, fields);
+    }
+
+    public Stream<Branch> streamAll() {
+        return branchStore.streamAll();
     }
 
     public Branch findById(String id) {
-        return branchRepository.findById(id)
+        Branch cached = branchCache.get(id);
+        if (cached != null) {
+            return cached;
+        }
+        long version = branchCache.version(id);
+        Branch branch = branchStore.findById(id)
+                .orElseThrow(() -> new BranchNotFoundException(id));
+        branchMetrics.recordLoaded(branch);
+        branchCache.put(branch, version);
+        return branch;
+    }
+
+    public Branch findById(String id, Set<String> fields) {
+        if (fields.isEmpty()) {
+            return findById(id);
+        }
+        return branchStore.findById(id, fields)
                 .orElseThrow(() -> new BranchNotFoundException(id));
     }
 
     @Transactional
     public Branch create(Branch branch) {
+        requireCalendars(branch.getCalendarIds());
         branch.setCreationDate(LocalDateTime.now());
         branch.setLastModifiedDate(LocalDateTime.now());
         branch.setBranchHolidays(new ArrayList<>());
-        return branchRepository.save(branch);
+        Branch saved = branchStore.save(branch);
+        branchCache.invalidate(saved.getId());
+        holidayCalendarIndex.put(saved);
+        branchNameIndex.put(saved);
+        return saved;
     }
 
     @Transactional
+    public void delete(String id) {
+        branchStore.deleteById(id, LocalDateTime.now())
+                .orElseThrow(() -> new BranchNotFoundException(id));
+        branchCache.invalidate(id);
+        holidayCalendarIndex.remove(id);
+        branchNameIndex.remove(id);
+    }
+
+    public List<Branch> search(String query, String state, int limit) {
+        if (query == null || BranchNameIndex.fold(query).isEmpty()) {
+            throw new InvalidBranchDataException("q", query);
+        }
+        return branchNameIndex.search(query, state, limit);
+    }
+
     public Branch updatePhoneNumber(String id, String phoneNumber) {
-        Branch branch = findById(id);
-        branch.setPhoneNumber(phoneNumber);
-        branch.setLastModifiedDate(LocalDateTime.now());
-        return branchRepository.save(branch);
+        Branch updated = branchStore.updatePhoneNumber(id, phoneNumber, LocalDateTime.now())
+                .orElseThrow(() -> new BranchNotFoundException(id));
+        branchCache.invalidate(id);
+        return updated;
+    }
+
+    public Branch updateCalendars(String id, List<String> calendarIds, List<LocalDate> excludedHolidays) {
+        requireCalendars(calendarIds);
+        Branch updated = branchStore.updateCalendars(id,
+                        calendarIds == null ? List.of() : calendarIds,
+                        excludedHolidays == null ? List.of() : excludedHolidays,
+                        LocalDateTime.now())
+                .orElseThrow(() -> new BranchNotFoundException(id));
+        branchCache.invalidate(id);
+        holidayCalendarIndex.put(updated);
+        return updated;
     }
 
-    @Transactional
     public Branch addHoliday(String id, BranchHoliday holiday) {
-        Branch branch = findById(id);
-        if (branch.getBranchHolidays() == null) {
-            branch.setBranchHolidays(new ArrayList<>());
+        if (holiday.getRule() != null) {
+            HolidayRules.validate(holiday.getRule());
         }
-        branch.getBranchHolidays().add(holiday);
-        branch.setLastModifiedDate(LocalDateTime.now());
-        return branchRepository.save(branch);
+        Branch updated = branchStore.pushHoliday(id, holiday, LocalDateTime.now()).orElse(null);
+        if (updated == null) {
+            branchStore.findHolidaysById(id).orElseThrow(() -> new BranchNotFoundException(id));
+            throw new HolidayOperationException("agregar", id, holiday.getRule() == null
+                    ? "Ya existe un feriado para la fecha: " + holiday.getDate()
+                    : "Ya existe una regla de feriado con el nombre: " + holiday.getName());
+        }
+        branchCache.invalidate(id);
+        holidayCalendarIndex.put(updated);
+        return updated;
     }
 
-    @Transactional
     public Branch deleteHoliday(String id, LocalDate date) {
-        Branch branch = findById(id);
-        if (branch.getBranchHolidays() == null || branch.getBranchHolidays().isEmpty()) {
-            throw new HolidayOperationException("eliminar", id, "La sucursal no tiene feriados");
+        Branch updated = branchStore.pullHoliday(id, date, LocalDateTime.now()).orElse(null);
+        if (updated == null) {
+            Branch branch = branchStore.findHolidaysById(id)
+                    .orElseThrow(() -> new BranchNotFoundException(id));
+            if (branch.getBranchHolidays() == null || branch.getBranchHolidays().isEmpty()) {
+                throw new HolidayOperationException("eliminar", id, "La sucursal no tiene feriados");
+            }
+            throw new HolidayOperationException("eliminar", id, "No se encontró un feriado para la fecha: " + date);
         }
+        branchCache.invalidate(id);
+        holidayCalendarIndex.put(updated);
+        return updated;
+    }
 
-        boolean removed = branch.getBranchHolidays().removeIf(holiday -> holiday.getDate().equals(date));
-        if (!removed) {
-            throw new HolidayOperationException("eliminar", id, "No se encontró un feriado para la fecha: " + date);
+    public Branch deleteHolidayRule(String id, String name) {
+        Branch updated = branchStore.pullHolidayRule(id, name, LocalDateTime.now()).orElse(null);
+        if (updated == null) {
+            branchStore.findHolidaysById(id).orElseThrow(() -> new BranchNotFoundException(id));
+            throw new HolidayOperationException("eliminar", id, "No se encontró una regla de feriado con el nombre: " + name);
         }
+        branchCache.invalidate(id);
+        holidayCalendarIndex.put(updated);
+        return updated;
+    }
 
-        branch.setLastModifiedDate(LocalDateTime.now());
-        return branchRepository.save(branch);
+    public Branch findHolidaysById(String id) {
+        Branch cached = branchCache.get(id);
+        if (cached != null) {
+            return cached;
+        }
+        Branch branch = branchStore.findHolidaysById(id)
+                .orElseThrow(() -> new BranchNotFoundException(id));
+        branchMetrics.recordLoaded(branch);
+        return branch;
     }
 
     public List<BranchHoliday> getHolidays(String id) {
-        Branch branch = findById(id);
-        return branch.getBranchHolidays();
+        return getHolidays(findHolidaysById(id));
     }
 
-    public boolean isHoliday(String id, LocalDate date) {
-        Branch branch = findById(id);
+    public List<BranchHoliday> getHolidays(Branch branch) {
+        return holidayCalendarIndex.holidaysOf(branch);
+    }
+
+    public LocalDateTime holidaysModifiedAt(Branch branch) {
+        return holidayCalendarIndex.lastModifiedOf(branch);
+    }
+
+    public List<BranchHoliday> getHolidays(String id, LocalDate from, LocalDate to) {
+        if (to.isBefore(from)) {
+            throw new InvalidBranchDataException("to", to.toString());
+        }
+        if (to.getYear() - from.getYear() >= MAX_HOLIDAY_RANGE_YEARS) {
+            throw new InvalidBranchDataException("to", to.toString());
+        }
+        return calendarOf(id).between(from, to);
+    }
+
+    public List<Branch> findClosedOn(LocalDate date, String state) {
+        return findClosedOn(date, state, branchStore.findWithHolidayRules(state));
+    }
+
+    public Map<LocalDate, List<Branch>> findClosedBetween(LocalDate from, LocalDate to, String state) {
+        if (to.isBefore(from) || ChronoUnit.DAYS.between(from, to) >= MAX_CLOSURE_RANGE_DAYS) {
+            throw new InvalidBranchDataException("to", to.toString());
+        }
+        List<Branch> withRules = branchStore.findWithHolidayRules(state);
+        Map<LocalDate, List<Branch>> closures = new LinkedHashMap<>();
+        for (LocalDate date = from; !date.isAfter(to); date = date.plusDays(1)) {
+            List<Branch> closed = findClosedOn(date, state, withRules);
+            if (!closed.isEmpty()) {
+                closures.put(date, closed);
+            }
+        }
+        return closures;
+    }
+
+    private List<Branch> findClosedOn(LocalDate date, String state, List<Branch> withRules) {
+        Map<String, Branch> closed = new TreeMap<>();
+        for (Branch branch : branchStore.findClosedOn(date, holidayCalendarIndex.sharedCalendarsClosedOn(date), state)) {
+            closed.put(branch.getId(), branch);
+        }
+        for (Branch branch : withRules) {
+            if (!closed.containsKey(branch.getId()) && isClosedByRule(branch, date)) {
+                closed.put(branch.getId(), branch);
+            }
+        }
+        return new ArrayList<>(closed.values());
+    }
+
+    private static boolean isClosedByRule(Branch branch, LocalDate date) {
         return branch.getBranchHolidays().stream()
-                .anyMatch(holiday -> holiday.getDate().equals(date));
+                .anyMatch(holiday -> holiday.getRule() != null
+                        && date.equals(HolidayRules.resolve(holiday.getRule(), date.getYear())));
+    }
+
+    public boolean isHoliday(String id, LocalDate date) {
+        return calendarOf(id).contains(date);
     }
 
     public void verifyHoliday(String id, LocalDate date) {
-        Branch branch = findById(id);
-        boolean isHoliday = branch.getBranchHolidays().stream()
-                .anyMatch(holiday -> holiday.getDate().equals(date));
-        if (!isHoliday) {
+        if (!calendarOf(id).contains(date)) {
             throw new HolidayOperationException("verificar", id, "No existe un feriado para la fecha: " + date);
         }
     }
+
+    public Map<String, Map<LocalDate, Boolean>> checkHolidays(Map<String, ? extends Collection<LocalDate>> datesByBranch) {
+        List<String> missing = datesByBranch.keySet().stream()
+                .filter(id -> !holidayCalendarIndex.contains(id))
+                .collect(Collectors.toList());
+        if (!missing.isEmpty()) {
+            for (Branch branch : branchStore.findHolidaysByIds(missing)) {
+                branchMetrics.recordLoaded(branch);
+                holidayCalendarIndex.put(branch);
+            }
+        }
+
+        Map<String, Map<LocalDate, Boolean>> result = new LinkedHashMap<>();
+        datesByBranch.forEach((id, dates) -> {
+            BranchCalendar calendar = holidayCalendarIndex.get(id);
+            if (calendar == null) {
+                return;
+            }
+            Map<LocalDate, Boolean> checks = new LinkedHashMap<>();
+            for (LocalDate date : dates) {
+                checks.put(date, calendar.contains(date));
+            }
+            result.put(id, checks);
+        });
+        return result;
+    }
+
+    public BranchCalendar getCalendar(String id) {
+        return calendarOf(id);
+    }
+
+    private void requireCalendars(List<String> calendarIds) {
+        if (calendarIds == null) {
+            return;
+        }
+        for (String calendarId : calendarIds) {
+            if (calendarId == null || holidayCalendarIndex.getShared(calendarId) == null) {
+                throw new InvalidBranchDataException("calendarIds", calendarId);
+            }
+        }
+    }
+
+    private BranchCalendar calendarOf(String id) {
+        BranchCalendar calendar = holidayCalendarIndex.get(id);
+        if (calendar == null) {
+            calendar = holidayCalendarIndex.put(findById(id));
+        }
+        return calendar;
+    }
 } 
@@ -0,0 +1,101 @@
+package com.banquito.core.examen2p.service;
+
+import com.banquito.core.examen2p.controller.dto.BranchChangeDTO;
+import com.banquito.core.examen2p.controller.dto.BranchChangeFeedDTO;
+import com.banquito.core.examen2p.controller.mapper.BranchMapper;
+import com.banquito.core.examen2p.exception.InvalidBranchDataException;
+import com.banquito.core.examen2p.model.Branch;
+import com.banquito.core.examen2p.model.BranchTombstone;
+import com.banquito.core.examen2p.repository.BranchStore;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeParseException;
+import java.util.ArrayList;
+import java.util.Base64;
+import java.util.Comparator;
+import java.util.List;
+
+@Service
+public class BranchSyncService {
+    private static final LocalDateTime FEED_START = LocalDateTime.of(1970, 1, 1, 0, 0);
+
+    private final BranchStore branchStore;
+    private final BranchMapper branchMapper;
+    private final Duration settleTime;
+
+    public BranchSyncService(BranchStore branchStore, BranchMapper branchMapper,
+                             @Value("${banquito.sync.settle-millis:2000}") long settleMillis) {
+        this.branchStore = branchStore;
+        this.branchMapper = branchMapper;
+        this.settleTime = Duration.ofMillis(settleMillis);
+    }
+
+    public BranchChangeFeedDTO findChanges(LocalDateTime modifiedSince, String cursor, int limit) {
+        LocalDateTime now = LocalDateTime.now();
+        Position from;
+        if (cursor != null) {
+            from = Position.decode(cursor);
+        } else {
+            from = new Position(modifiedSince == null ? FEED_START : modifiedSince, null);
+        }
+        if ((cursor != null || modifiedSince != null) && from.modifiedAt().isBefore(now.minus(BranchTombstone.RETENTION))) {
+            throw new InvalidBranchDataException(cursor != null ? "cursor" : "modifiedSince", from.modifiedAt().toString());
+        }
+        LocalDateTime until = now.minus(settleTime);
+
+        List<BranchChangeDTO> candidates = new ArrayList<>();
+        for (Branch branch : branchStore.findModifiedSince(from.modifiedAt(), from.id(), until, limit + 1)) {
+            candidates.add(BranchChangeDTO.builder()
+                    .id(branch.getId())
+                    .type(BranchChangeDTO.UPSERT)
+                    .modifiedAt(branch.getLastModifiedDate())
+                    .branch(branchMapper.toDto(branch))
+                    .build());
+        }
+        for (BranchTombstone tombstone : branchStore.findDeletedSince(from.modifiedAt(), from.id(), until, limit + 1)) {
+            candidates.add(BranchChangeDTO.builder()
+                    .id(tombstone.getId())
+                    .type(BranchChangeDTO.DELETE)
+                    .modifiedAt(tombstone.getDeletedAt())
+                    .build());
+        }
+        candidates.sort(Comparator.comparing(BranchChangeDTO::getModifiedAt).thenComparing(BranchChangeDTO::getId));
+
+        List<BranchChangeDTO> changes = candidates.size() > limit ? candidates.subList(0, limit) : candidates;
+        Position next = changes.isEmpty()
+                ? from
+                : new Position(changes.get(changes.size() - 1).getModifiedAt(), changes.get(changes.size() - 1).getId());
+        return BranchChangeFeedDTO.builder()
+                .changes(new ArrayList<>(changes))
+                .cursor(next.encode())
+                .hasMore(candidates.size() > limit)
+                .build();
+    }
+
+    record Position(LocalDateTime modifiedAt, String id) {
+        private static final char SEPARATOR = '|';
+
+        String encode() {
+            String value = modifiedAt.toString() + SEPARATOR + (id == null ? "" : id);
+            return Base64.getUrlEncoder().withoutPadding().encodeToString(value.getBytes(StandardCharsets.UTF_8));
+        }
+
+        static Position decode(String cursor) {
+            try {
+                String value = new String(Base64.getUrlDecoder().decode(cursor), StandardCharsets.UTF_8);
+                int separator = value.indexOf(SEPARATOR);
+                if (separator < 0) {
+                    throw new InvalidBranchDataException("cursor", cursor);
+                }
+                String id = value.substring(separator + 1);
+                return new Position(LocalDateTime.parse(value.substring(0, separator)), id.isEmpty() ? null : id);
+            } catch (IllegalArgumentException | DateTimeParseException e) {
+                throw new InvalidBranchDataException("cursor", cursor);
+            }
+        }
+    }
+}
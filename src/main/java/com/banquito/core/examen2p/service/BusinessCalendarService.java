@@ -0,0 +1,116 @@
+package com.banquito.core.examen2p.service;
+
+import com.banquito.core.examen2p.exception.InvalidBranchDataException;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import java.time.DayOfWeek;
+import java.time.LocalDate;
+import java.util.Set;
+
+@Service
+public class BusinessCalendarService {
+    private static final int MAX_RANGE_YEARS = 100;
+    private static final int MAX_BUSINESS_DAYS = MAX_RANGE_YEARS * 366;
+    private static final long LAST_EPOCH_DAY = LocalDate.MAX.toEpochDay();
+
+    private final BranchService branchService;
+    private final boolean[] weekend = new boolean[7];
+    private final int businessDaysPerWeek;
+
+    public BusinessCalendarService(BranchService branchService,
+                                   @Value("${banquito.business-calendar.weekend-days:SATURDAY,SUNDAY}") Set<DayOfWeek> weekendDays) {
+        this.branchService = branchService;
+        for (DayOfWeek day : weekendDays) {
+            weekend[day.getValue() - 1] = true;
+        }
+        this.businessDaysPerWeek = 7 - weekendDays.size();
+        if (businessDaysPerWeek == 0) {
+            throw new IllegalStateException("La configuración de fin de semana no deja días hábiles");
+        }
+    }
+
+    public boolean isBusinessDay(String id, LocalDate date) {
+        return isBusinessDay(branchService.getCalendar(id), date.toEpochDay());
+    }
+
+    public LocalDate nextBusinessDay(String id, LocalDate date) {
+        BranchCalendar calendar = branchService.getCalendar(id);
+        long day = date.toEpochDay() + 1;
+        while (day <= LAST_EPOCH_DAY && !isBusinessDay(calendar, day)) {
+            day++;
+        }
+        if (day > LAST_EPOCH_DAY) {
+            throw new InvalidBranchDataException("date", date.toString());
+        }
+        return LocalDate.ofEpochDay(day);
+    }
+
+    public LocalDate addBusinessDays(String id, LocalDate date, int days) {
+        if (days < 0 || days > MAX_BUSINESS_DAYS) {
+            throw new InvalidBranchDataException("days", String.valueOf(days));
+        }
+        BranchCalendar calendar = branchService.getCalendar(id);
+        long cursor = date.toEpochDay();
+        long remaining = days;
+        while (remaining > 0) {
+            long candidate = addWeekdays(cursor, remaining);
+            if (candidate > LAST_EPOCH_DAY) {
+                throw new InvalidBranchDataException("days", String.valueOf(days));
+            }
+            remaining = countHolidaysOnWeekdays(calendar, cursor + 1, candidate + 1);
+            cursor = candidate;
+        }
+        return LocalDate.ofEpochDay(cursor);
+    }
+
+    public long businessDaysBetween(String id, LocalDate from, LocalDate to) {
+        if (to.isBefore(from)) {
+            return -businessDaysBetween(id, to, from);
+        }
+        if (to.getYear() - from.getYear() >= MAX_RANGE_YEARS) {
+            throw new InvalidBranchDataException("to", to.toString());
+        }
+        BranchCalendar calendar = branchService.getCalendar(id);
+        long start = from.toEpochDay();
+        long end = to.toEpochDay();
+        return countWeekdays(start, end) - countHolidaysOnWeekdays(calendar, start, end);
+    }
+
+    private boolean isBusinessDay(BranchCalendar calendar, long epochDay) {
+        return !isWeekend(epochDay) && !calendar.contains(epochDay);
+    }
+
+    private boolean isWeekend(long epochDay) {
+        return weekend[(int) Math.floorMod(epochDay + 3, 7L)];
+    }
+
+    private long countWeekdays(long fromInclusive, long toExclusive) {
+        long span = toExclusive - fromInclusive;
+        long fullWeeks = span / 7;
+        long count = fullWeeks * businessDaysPerWeek;
+        for (long day = fromInclusive + fullWeeks * 7; day < toExclusive; day++) {
+            if (!isWeekend(day)) {
+                count++;
+            }
+        }
+        return count;
+    }
+
+    private long addWeekdays(long fromExclusive, long weekdays) {
+        long fullWeeks = (weekdays - 1) / businessDaysPerWeek;
+        long remaining = weekdays - fullWeeks * businessDaysPerWeek;
+        long day = fromExclusive + fullWeeks * 7;
+        while (remaining > 0) {
+            day++;
+            if (!isWeekend(day)) {
+                remaining--;
+            }
+        }
+        return day;
+    }
+
+    private long countHolidaysOnWeekdays(BranchCalendar calendar, long fromInclusive, long toExclusive) {
+        return calendar.countHolidays(fromInclusive, toExclusive, day -> !isWeekend(day));
+    }
+}
@@ -0,0 +1,378 @@
+package com.banquito.core.examen2p.service;
+
+import com.banquito.core.examen2p.model.Branch;
+import com.banquito.core.examen2p.model.BranchHoliday;
+import com.banquito.core.examen2p.model.BranchTombstone;
+import com.banquito.core.examen2p.model.HolidayCalendar;
+import com.banquito.core.examen2p.repository.BranchStore;
+import com.banquito.core.examen2p.repository.HolidayCalendarStore;
+import com.banquito.core.examen2p.repository.SortedHolidays;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.SortedMap;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class HolidayCalendarIndex {
+    private static final long FROM_SNAPSHOT = -1;
+    private static final Duration RECONCILE_OVERLAP = Duration.ofMinutes(5);
+    private static final int RECONCILE_BATCH_SIZE = 500;
+
+    private final BranchStore branchStore;
+    private final HolidayCalendarStore holidayCalendarStore;
+    private final Map<String, Entry> calendars = new ConcurrentHashMap<>();
+    private final Map<String, HolidayCalendar> sharedCalendars = new ConcurrentHashMap<>();
+    private final Map<List<String>, Resolved> resolvedShared = new ConcurrentHashMap<>();
+    private final AtomicLong sharedGeneration = new AtomicLong();
+    private volatile HolidaySnapshot snapshot;
+    private volatile boolean loaded;
+    private volatile boolean sharedLoaded;
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void load() {
+        try {
+            log.info("Cargando el índice de feriados de las sucursales");
+            holidayCalendarStore.findAll().forEach(calendar -> sharedCalendars.put(calendar.getId(), calendar));
+            sharedLoaded = true;
+            if (snapshot != null && reconcile(snapshot)) {
+                loaded = true;
+                return;
+            }
+            branchStore.findAll().forEach(this::putUnlessStale);
+            loaded = true;
+            log.info("Índice de feriados cargado con {} sucursales y {} calendarios compartidos",
+                    calendars.size(), sharedCalendars.size());
+        } catch (Exception e) {
+            detach();
+            log.warn("No se pudo precargar el índice de feriados, se completará bajo demanda: {}", e.getMessage());
+        }
+    }
+
+    public void attach(HolidaySnapshot snapshot) {
+        this.snapshot = snapshot;
+        log.info("Instantánea de feriados del {} disponible con {} sucursales", snapshot.createdAt(), snapshot.size());
+    }
+
+    public boolean isLoaded() {
+        return loaded;
+    }
+
+    public SortedMap<String, HolidaySnapshot.Entry> snapshotEntries() {
+        Set<String> ids = new HashSet<>(calendars.keySet());
+        HolidaySnapshot current = snapshot;
+        if (current != null) {
+            ids.addAll(current.ids());
+        }
+        SortedMap<String, HolidaySnapshot.Entry> entries = new TreeMap<>();
+        for (String id : ids) {
+            BranchCalendar calendar = get(id);
+            Entry entry = calendars.get(id);
+            if (calendar == null || entry == null || calendar.hasRules()) {
+                continue;
+            }
+            boolean usesShared = entry.generation() == FROM_SNAPSHOT
+                    ? current != null && current.usesShared(id)
+                    : !entry.calendarIds().isEmpty();
+            entries.put(id, new HolidaySnapshot.Entry(calendar, usesShared));
+        }
+        return entries;
+    }
+
+    public BranchCalendar put(Branch branch) {
+        Entry entry = entryOf(branch);
+        calendars.put(branch.getId(), entry);
+        return entry.calendar();
+    }
+
+    public void remove(String id) {
+        calendars.remove(id);
+        HolidaySnapshot current = snapshot;
+        if (current != null) {
+            current.discard(id);
+        }
+    }
+
+    public BranchCalendar get(String id) {
+        Entry entry = calendars.get(id);
+        if (entry == null) {
+            return fromSnapshot(id);
+        }
+        if (entry.calendarIds().isEmpty() || entry.generation() == sharedGeneration.get()) {
+            return entry.calendar();
+        }
+        Entry resolved = resolve(entry.calendarIds(), entry.holidays(), entry.excluded(), entry.modifiedAt());
+        calendars.replace(id, entry, resolved);
+        return resolved.calendar();
+    }
+
+    public boolean contains(String id) {
+        HolidaySnapshot current = snapshot;
+        return calendars.containsKey(id) || (current != null && current.contains(id));
+    }
+
+    public boolean isHoliday(String id, LocalDate date) {
+        BranchCalendar calendar = get(id);
+        return calendar != null && calendar.contains(date);
+    }
+
+    public int size() {
+        return calendars.size();
+    }
+
+    public void putShared(HolidayCalendar calendar) {
+        sharedCalendars.put(calendar.getId(), calendar);
+        sharedGeneration.incrementAndGet();
+        evictSharedFromSnapshot();
+    }
+
+    public void removeShared(String calendarId) {
+        sharedCalendars.remove(calendarId);
+        sharedGeneration.incrementAndGet();
+        evictSharedFromSnapshot();
+    }
+
+    public boolean isSharedLoaded() {
+        return sharedLoaded;
+    }
+
+    public void refreshShared() {
+        LocalDateTime started = LocalDateTime.now();
+        Map<String, HolidayCalendar> current = new HashMap<>();
+        holidayCalendarStore.findAll().forEach(calendar -> current.put(calendar.getId(), calendar));
+        int changed = 0;
+        for (HolidayCalendar calendar : current.values()) {
+            HolidayCalendar known = sharedCalendars.get(calendar.getId());
+            if (known == null || isNewer(calendar.getLastModifiedDate(), known.getLastModifiedDate())) {
+                sharedCalendars.put(calendar.getId(), calendar);
+                changed++;
+            }
+        }
+        for (HolidayCalendar known : List.copyOf(sharedCalendars.values())) {
+            if (!current.containsKey(known.getId()) && known.getLastModifiedDate() != null
+                    && known.getLastModifiedDate().isBefore(started)) {
+                sharedCalendars.remove(known.getId(), known);
+                changed++;
+            }
+        }
+        sharedLoaded = true;
+        if (changed > 0) {
+            sharedGeneration.incrementAndGet();
+            evictSharedFromSnapshot();
+            log.info("Se actualizaron {} calendarios compartidos modificados en otra instancia", changed);
+        }
+    }
+
+    public HolidayCalendar getShared(String calendarId) {
+        HolidayCalendar calendar = sharedCalendars.get(calendarId);
+        if (calendar != null || sharedLoaded) {
+            return calendar;
+        }
+        return sharedCalendars.computeIfAbsent(calendarId,
+                id -> holidayCalendarStore.findById(id).orElse(null));
+    }
+
+    public List<String> sharedCalendarsClosedOn(LocalDate date) {
+        List<String> closed = new ArrayList<>();
+        for (String calendarId : sharedCalendars.keySet()) {
+            if (resolveShared(List.of(calendarId), sharedGeneration.get()).contains(date)) {
+                closed.add(calendarId);
+            }
+        }
+        return closed;
+    }
+
+    public List<BranchHoliday> holidaysOf(Branch branch) {
+        List<BranchHoliday> holidays = new ArrayList<>(sharedHolidays(orEmpty(branch.getCalendarIds())));
+        List<LocalDate> excluded = orEmpty(branch.getExcludedHolidays());
+        if (!excluded.isEmpty()) {
+            Set<LocalDate> excludedDates = new HashSet<>(excluded);
+            holidays.removeIf(holiday -> holiday.getRule() == null && excludedDates.contains(holiday.getDate()));
+        }
+        holidays.addAll(orEmpty(branch.getBranchHolidays()));
+        holidays.sort(SortedHolidays.ORDER);
+        return holidays;
+    }
+
+    public LocalDateTime lastModifiedOf(Branch branch) {
+        LocalDateTime lastModified = branch.getLastModifiedDate();
+        for (String calendarId : orEmpty(branch.getCalendarIds())) {
+            HolidayCalendar calendar = getShared(calendarId);
+            if (calendar != null && calendar.getLastModifiedDate() != null
+                    && (lastModified == null || calendar.getLastModifiedDate().isAfter(lastModified))) {
+                lastModified = calendar.getLastModifiedDate();
+            }
+        }
+        return lastModified;
+    }
+
+    private BranchCalendar fromSnapshot(String id) {
+        HolidaySnapshot current = snapshot;
+        if (current == null) {
+            return null;
+        }
+        BranchCalendar calendar = current.calendar(id);
+        if (calendar == null) {
+            return null;
+        }
+        Entry entry = new Entry(List.of(), List.of(), List.of(), FROM_SNAPSHOT, null, calendar);
+        Entry existing = calendars.putIfAbsent(id, entry);
+        return existing == null ? calendar : get(id);
+    }
+
+    private boolean reconcile(HolidaySnapshot current) {
+        LocalDateTime now = LocalDateTime.now();
+        LocalDateTime since = current.createdAt().minus(RECONCILE_OVERLAP);
+        if (since.isBefore(now.minus(BranchTombstone.RETENTION))) {
+            log.info("La instantánea de feriados del {} es más antigua que la retención de eliminaciones, "
+                    + "se cargará el índice completo", current.createdAt());
+            detach();
+            return false;
+        }
+        boolean sharedChanged = sharedCalendars.values().stream()
+                .anyMatch(calendar -> calendar.getLastModifiedDate() == null
+                        || !calendar.getLastModifiedDate().isBefore(since));
+        if (sharedChanged) {
+            log.info("Los calendarios compartidos cambiaron después de la instantánea, "
+                    + "sus sucursales se cargarán bajo demanda");
+            evictSharedFromSnapshot();
+        }
+
+        int modified = 0;
+        String afterId = null;
+        LocalDateTime from = since;
+        List<Branch> branches;
+        do {
+            branches = branchStore.findModifiedSince(from, afterId, now, RECONCILE_BATCH_SIZE);
+            for (Branch branch : branches) {
+                if (putUnlessStale(branch)) {
+                    modified++;
+                }
+            }
+            if (!branches.isEmpty()) {
+                Branch last = branches.get(branches.size() - 1);
+                from = last.getLastModifiedDate();
+                afterId = last.getId();
+            }
+        } while (branches.size() == RECONCILE_BATCH_SIZE);
+
+        int deleted = 0;
+        afterId = null;
+        from = since;
+        List<BranchTombstone> tombstones;
+        do {
+            tombstones = branchStore.findDeletedSince(from, afterId, now, RECONCILE_BATCH_SIZE);
+            for (BranchTombstone tombstone : tombstones) {
+                remove(tombstone.getId());
+                deleted++;
+            }
+            if (!tombstones.isEmpty()) {
+                BranchTombstone last = tombstones.get(tombstones.size() - 1);
+                from = last.getDeletedAt();
+                afterId = last.getId();
+            }
+        } while (tombstones.size() == RECONCILE_BATCH_SIZE);
+
+        log.info("Índice de feriados conciliado con la instantánea del {}: {} sucursales modificadas y {} eliminadas",
+                current.createdAt(), modified, deleted);
+        return true;
+    }
+
+    private boolean putUnlessStale(Branch branch) {
+        Entry entry = entryOf(branch);
+        Entry kept = calendars.merge(branch.getId(), entry, (existing, candidate) ->
+                isNewer(existing.modifiedAt(), candidate.modifiedAt()) ? existing : candidate);
+        return kept == entry;
+    }
+
+    private void evictSharedFromSnapshot() {
+        HolidaySnapshot current = snapshot;
+        if (current == null) {
+            return;
+        }
+        for (String id : current.discardShared()) {
+            calendars.computeIfPresent(id, (key, entry) -> entry.generation() == FROM_SNAPSHOT ? null : entry);
+        }
+    }
+
+    private void detach() {
+        HolidaySnapshot current = snapshot;
+        if (current == null) {
+            return;
+        }
+        snapshot = null;
+        calendars.values().removeIf(entry -> entry.generation() == FROM_SNAPSHOT);
+    }
+
+    private Entry entryOf(Branch branch) {
+        List<String> calendarIds = orEmpty(branch.getCalendarIds());
+        if (calendarIds.isEmpty()) {
+            return new Entry(List.of(), List.of(), List.of(), 0, branch.getLastModifiedDate(),
+                    BranchCalendar.of(branch.getBranchHolidays()));
+        }
+        return resolve(List.copyOf(calendarIds), orEmpty(branch.getBranchHolidays()),
+                orEmpty(branch.getExcludedHolidays()), branch.getLastModifiedDate());
+    }
+
+    private Entry resolve(List<String> calendarIds, List<BranchHoliday> holidays, List<LocalDate> excluded,
+                          LocalDateTime modifiedAt) {
+        long generation = sharedGeneration.get();
+        if (holidays.isEmpty() && excluded.isEmpty()) {
+            return new Entry(calendarIds, holidays, excluded, generation, modifiedAt,
+                    resolveShared(calendarIds, generation));
+        }
+        return new Entry(calendarIds, holidays, excluded, generation, modifiedAt,
+                BranchCalendar.of(sharedHolidays(calendarIds), excluded, holidays));
+    }
+
+    private BranchCalendar resolveShared(List<String> calendarIds, long generation) {
+        Resolved shared = resolvedShared.get(calendarIds);
+        if (shared == null || shared.generation() != generation) {
+            shared = new Resolved(generation, BranchCalendar.of(sharedHolidays(calendarIds)));
+            resolvedShared.put(calendarIds, shared);
+        }
+        return shared.calendar();
+    }
+
+    private List<BranchHoliday> sharedHolidays(List<String> calendarIds) {
+        List<BranchHoliday> holidays = new ArrayList<>();
+        for (String calendarId : calendarIds) {
+            HolidayCalendar calendar = getShared(calendarId);
+            if (calendar != null && calendar.getHolidays() != null) {
+                holidays.addAll(calendar.getHolidays());
+            }
+        }
+        return holidays;
+    }
+
+    private static boolean isNewer(LocalDateTime candidate, LocalDateTime known) {
+        return candidate != null && (known == null || candidate.isAfter(known));
+    }
+
+    private static <T> List<T> orEmpty(List<T> values) {
+        return values == null ? List.of() : values;
+    }
+
+    private record Entry(List<String> calendarIds, List<BranchHoliday> holidays, List<LocalDate> excluded,
+                         long generation, LocalDateTime modifiedAt, BranchCalendar calendar) {
+    }
+
+    private record Resolved(long generation, BranchCalendar calendar) {
+    }
+}
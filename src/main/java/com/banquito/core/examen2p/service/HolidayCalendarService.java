@@ -0,0 +1,102 @@
+package com.banquito.core.examen2p.service;
+
+import com.banquito.core.examen2p.exception.HolidayCalendarNotFoundException;
+import com.banquito.core.examen2p.exception.HolidayCalendarOperationException;
+import com.banquito.core.examen2p.exception.InvalidBranchDataException;
+import com.banquito.core.examen2p.model.BranchHoliday;
+import com.banquito.core.examen2p.model.HolidayCalendar;
+import com.banquito.core.examen2p.repository.BranchStore;
+import com.banquito.core.examen2p.repository.HolidayCalendarStore;
+import com.banquito.core.examen2p.repository.SortedHolidays;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Service;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
+@Service
+@RequiredArgsConstructor
+public class HolidayCalendarService {
+    private final HolidayCalendarStore holidayCalendarStore;
+    private final BranchStore branchStore;
+    private final HolidayCalendarIndex holidayCalendarIndex;
+
+    public List<HolidayCalendar> findAll() {
+        return holidayCalendarStore.findAll();
+    }
+
+    public HolidayCalendar findById(String id) {
+        return holidayCalendarStore.findById(id)
+                .orElseThrow(() -> new HolidayCalendarNotFoundException(id));
+    }
+
+    public HolidayCalendar create(HolidayCalendar calendar) {
+        if (calendar.getHolidays() == null) {
+            calendar.setHolidays(new ArrayList<>());
+        }
+        List<BranchHoliday> sorted = new ArrayList<>(calendar.getHolidays().size());
+        for (BranchHoliday holiday : calendar.getHolidays()) {
+            if (holiday.getRule() != null) {
+                HolidayRules.validate(holiday.getRule());
+            }
+            if (!SortedHolidays.insert(sorted, holiday)) {
+                throw new InvalidBranchDataException("holidays", holiday.getRule() == null
+                        ? String.valueOf(holiday.getDate())
+                        : holiday.getName());
+            }
+        }
+        calendar.setHolidays(sorted);
+        calendar.setCreationDate(LocalDateTime.now());
+        calendar.setLastModifiedDate(LocalDateTime.now());
+        HolidayCalendar saved = holidayCalendarStore.save(calendar);
+        holidayCalendarIndex.putShared(saved);
+        return saved;
+    }
+
+    public HolidayCalendar addHoliday(String id, BranchHoliday holiday) {
+        if (holiday.getRule() != null) {
+            HolidayRules.validate(holiday.getRule());
+        }
+        HolidayCalendar updated = holidayCalendarStore.pushHoliday(id, holiday, LocalDateTime.now()).orElse(null);
+        if (updated == null) {
+            findById(id);
+            throw new HolidayCalendarOperationException("agregar", id, holiday.getRule() == null
+                    ? "Ya existe un feriado para la fecha: " + holiday.getDate()
+                    : "Ya existe una regla de feriado con el nombre: " + holiday.getName());
+        }
+        holidayCalendarIndex.putShared(updated);
+        return updated;
+    }
+
+    public HolidayCalendar deleteHoliday(String id, LocalDate date) {
+        HolidayCalendar updated = holidayCalendarStore.pullHoliday(id, date, LocalDateTime.now()).orElse(null);
+        if (updated == null) {
+            findById(id);
+            throw new HolidayCalendarOperationException("eliminar", id, "No se encontró un feriado para la fecha: " + date);
+        }
+        holidayCalendarIndex.putShared(updated);
+        return updated;
+    }
+
+    public HolidayCalendar deleteHolidayRule(String id, String name) {
+        HolidayCalendar updated = holidayCalendarStore.pullHolidayRule(id, name, LocalDateTime.now()).orElse(null);
+        if (updated == null) {
+            findById(id);
+            throw new HolidayCalendarOperationException("eliminar", id, "No se encontró una regla de feriado con el nombre: " + name);
+        }
+        holidayCalendarIndex.putShared(updated);
+        return updated;
+    }
+
+    public void delete(String id) {
+        if (branchStore.isCalendarReferenced(id)) {
+            throw new HolidayCalendarOperationException("borrar", id, "El calendario está asignado a una o más sucursales");
+        }
+        if (!holidayCalendarStore.deleteById(id)) {
+            throw new HolidayCalendarNotFoundException(id);
+        }
+        holidayCalendarIndex.removeShared(id);
+    }
+}
@@ -0,0 +1,98 @@
+package com.banquito.core.examen2p.service;
+
+import com.banquito.core.examen2p.exception.InvalidBranchDataException;
+import com.banquito.core.examen2p.model.HolidayRule;
+
+import java.time.LocalDate;
+import java.time.Month;
+import java.time.YearMonth;
+import java.time.temporal.TemporalAdjusters;
+
+public final class HolidayRules {
+    static final int MIN_EASTER_OFFSET = -80;
+    static final int MAX_EASTER_OFFSET = 249;
+
+    private HolidayRules() {
+    }
+
+    public static LocalDate resolve(HolidayRule rule, int year) {
+        if ((rule.getFromYear() != null && year < rule.getFromYear())
+                || (rule.getToYear() != null && year > rule.getToYear())) {
+            return null;
+        }
+        switch (rule.getType()) {
+            case FIXED_DATE:
+                if (rule.getDayOfMonth() > YearMonth.of(year, rule.getMonth()).lengthOfMonth()) {
+                    return null;
+                }
+                return LocalDate.of(year, rule.getMonth(), rule.getDayOfMonth());
+            case NTH_WEEKDAY:
+                LocalDate date = LocalDate.of(year, rule.getMonth(), 1)
+                        .with(TemporalAdjusters.dayOfWeekInMonth(rule.getOrdinal(), rule.getDayOfWeek()));
+                return date.getMonthValue() == rule.getMonth() ? date : null;
+            case EASTER_OFFSET:
+                return easterSunday(year).plusDays(rule.getOffsetDays());
+            default:
+                return null;
+        }
+    }
+
+    public static void validate(HolidayRule rule) {
+        if (rule.getType() == null) {
+            throw new InvalidBranchDataException("rule.type", null);
+        }
+        switch (rule.getType()) {
+            case FIXED_DATE:
+                requireMonth(rule);
+                if (rule.getDayOfMonth() == null || rule.getDayOfMonth() < 1
+                        || rule.getDayOfMonth() > Month.of(rule.getMonth()).maxLength()) {
+                    throw new InvalidBranchDataException("rule.dayOfMonth", String.valueOf(rule.getDayOfMonth()));
+                }
+                break;
+            case NTH_WEEKDAY:
+                requireMonth(rule);
+                if (rule.getDayOfWeek() == null) {
+                    throw new InvalidBranchDataException("rule.dayOfWeek", null);
+                }
+                if (rule.getOrdinal() == null || rule.getOrdinal() == 0 || rule.getOrdinal() < -1 || rule.getOrdinal() > 5) {
+                    throw new InvalidBranchDataException("rule.ordinal", String.valueOf(rule.getOrdinal()));
+                }
+                break;
+            case EASTER_OFFSET:
+                if (rule.getOffsetDays() == null || rule.getOffsetDays() < MIN_EASTER_OFFSET
+                        || rule.getOffsetDays() > MAX_EASTER_OFFSET) {
+                    throw new InvalidBranchDataException("rule.offsetDays", String.valueOf(rule.getOffsetDays()));
+                }
+                break;
+            default:
+                break;
+        }
+        if (rule.getFromYear() != null && rule.getToYear() != null && rule.getFromYear() > rule.getToYear()) {
+            throw new InvalidBranchDataException("rule.toYear", String.valueOf(rule.getToYear()));
+        }
+    }
+
+    static LocalDate easterSunday(int year) {
+        int a = year % 19;
+        int b = year / 100;
+        int c = year % 100;
+        int d = b / 4;
+        int e = b % 4;
+        int f = (b + 8) / 25;
+        int g = (b - f + 1) / 3;
+        int h = (19 * a + b - d - g + 15) % 30;
+        int i = c / 4;
+        int k = c % 4;
+        int l = (32 + 2 * e + 2 * i - h - k) % 7;
+        int m = (a + 11 * h + 22 * l) / 451;
+        int month = (h + l - 7 * m + 114) / 31;
+        int day = (h + l - 7 * m + 114) % 31 + 1;
+        return LocalDate.of(year, month, day);
+    }
+
+    private static void requireMonth(HolidayRule rule) {
+        if (rule.getMonth() == null || rule.getMonth() < 1 || rule.getMonth() > 12) {
+            throw new InvalidBranchDataException("rule.month", String.valueOf(rule.getMonth()));
+        }
+    }
+}
@@ -0,0 +1,242 @@
+package com.banquito.core.examen2p.service;
+
+import lombok.extern.slf4j.Slf4j;
+
+import java.io.ByteArrayOutputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.SortedMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.zip.CRC32;
+
+@Slf4j
+public final class HolidaySnapshot {
+    private static final int MAGIC = 0x48534E50;
+    private static final int VERSION = 1;
+    private static final int HEADER_BYTES = 24;
+    private static final int CHECKSUM_BYTES = 8;
+    private static final byte USES_SHARED = 1;
+
+    private final ByteBuffer buffer;
+    private final LocalDateTime createdAt;
+    private final int count;
+    private final Set<String> discarded = ConcurrentHashMap.newKeySet();
+
+    private HolidaySnapshot(ByteBuffer buffer, LocalDateTime createdAt, int count) {
+        this.buffer = buffer;
+        this.createdAt = createdAt;
+        this.count = count;
+    }
+
+    public static HolidaySnapshot open(Path path) {
+        if (!Files.isRegularFile(path)) {
+            return null;
+        }
+        try (FileChannel channel = FileChannel.open(path, StandardOpenOption.READ)) {
+            ByteBuffer buffer = channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size());
+            return read(buffer);
+        } catch (IOException | RuntimeException e) {
+            log.warn("No se pudo abrir la instantánea de feriados {}: {}", path, e.getMessage());
+            return null;
+        }
+    }
+
+    public static void write(Path path, LocalDateTime createdAt, SortedMap<String, Entry> entries) throws IOException {
+        ByteArrayOutputStream records = new ByteArrayOutputStream();
+        DataOutputStream recordsOut = new DataOutputStream(records);
+        int[] offsets = new int[entries.size()];
+        int directoryEnd = HEADER_BYTES + 4 * entries.size();
+        int index = 0;
+        for (Map.Entry<String, Entry> entry : entries.entrySet()) {
+            offsets[index++] = directoryEnd + recordsOut.size();
+            BranchCalendar calendar = entry.getValue().calendar();
+            writeString(recordsOut, entry.getKey());
+            recordsOut.writeByte(entry.getValue().usesShared() ? USES_SHARED : 0);
+            int[] days = calendar.epochDays();
+            recordsOut.writeInt(days.length);
+            for (int day : days) {
+                recordsOut.writeInt(day);
+            }
+            for (int i = 0; i < days.length; i++) {
+                writeString(recordsOut, calendar.nameAt(i));
+            }
+        }
+
+        ByteArrayOutputStream content = new ByteArrayOutputStream(directoryEnd + records.size() + CHECKSUM_BYTES);
+        DataOutputStream out = new DataOutputStream(content);
+        out.writeInt(MAGIC);
+        out.writeInt(VERSION);
+        out.writeLong(createdAt.toEpochSecond(ZoneOffset.UTC));
+        out.writeInt(createdAt.getNano());
+        out.writeInt(entries.size());
+        for (int offset : offsets) {
+            out.writeInt(offset);
+        }
+        records.writeTo(out);
+        CRC32 checksum = new CRC32();
+        checksum.update(content.toByteArray());
+        out.writeLong(checksum.getValue());
+
+        if (path.getParent() != null) {
+            Files.createDirectories(path.getParent());
+        }
+        Path temporary = path.resolveSibling(path.getFileName() + ".tmp");
+        try (FileChannel channel = FileChannel.open(temporary, StandardOpenOption.CREATE,
+                StandardOpenOption.TRUNCATE_EXISTING, StandardOpenOption.WRITE)) {
+            ByteBuffer bytes = ByteBuffer.wrap(content.toByteArray());
+            while (bytes.hasRemaining()) {
+                channel.write(bytes);
+            }
+            channel.force(true);
+        }
+        Files.move(temporary, path, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+    }
+
+    public LocalDateTime createdAt() {
+        return createdAt;
+    }
+
+    public int size() {
+        return count;
+    }
+
+    public boolean contains(String id) {
+        return !discarded.contains(id) && offsetOf(id) >= 0;
+    }
+
+    public BranchCalendar calendar(String id) {
+        if (discarded.contains(id)) {
+            return null;
+        }
+        int offset = offsetOf(id);
+        if (offset < 0) {
+            return null;
+        }
+        int position = offset + 2 + buffer.getShort(offset) + 1;
+        int dayCount = buffer.getInt(position);
+        position += 4;
+        int[] days = new int[dayCount];
+        for (int i = 0; i < dayCount; i++) {
+            days[i] = buffer.getInt(position);
+            position += 4;
+        }
+        String[] names = new String[dayCount];
+        for (int i = 0; i < dayCount; i++) {
+            short length = buffer.getShort(position);
+            names[i] = readString(position);
+            position += 2 + Math.max(length, 0);
+        }
+        return BranchCalendar.ofEpochDays(days, names);
+    }
+
+    public boolean usesShared(String id) {
+        int offset = offsetOf(id);
+        return offset >= 0 && buffer.get(offset + 2 + buffer.getShort(offset)) == USES_SHARED;
+    }
+
+    public void discard(String id) {
+        discarded.add(id);
+    }
+
+    public List<String> discardShared() {
+        List<String> shared = new ArrayList<>();
+        for (int i = 0; i < count; i++) {
+            int offset = buffer.getInt(HEADER_BYTES + 4 * i);
+            if (buffer.get(offset + 2 + buffer.getShort(offset)) == USES_SHARED) {
+                String id = readString(offset);
+                discarded.add(id);
+                shared.add(id);
+            }
+        }
+        return shared;
+    }
+
+    public List<String> ids() {
+        List<String> ids = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            String id = readString(buffer.getInt(HEADER_BYTES + 4 * i));
+            if (!discarded.contains(id)) {
+                ids.add(id);
+            }
+        }
+        return ids;
+    }
+
+    private int offsetOf(String id) {
+        int low = 0;
+        int high = count - 1;
+        while (low <= high) {
+            int mid = (low + high) >>> 1;
+            int offset = buffer.getInt(HEADER_BYTES + 4 * mid);
+            int comparison = readString(offset).compareTo(id);
+            if (comparison < 0) {
+                low = mid + 1;
+            } else if (comparison > 0) {
+                high = mid - 1;
+            } else {
+                return offset;
+            }
+        }
+        return -1;
+    }
+
+    private String readString(int position) {
+        short length = buffer.getShort(position);
+        if (length < 0) {
+            return null;
+        }
+        byte[] bytes = new byte[length];
+        buffer.get(position + 2, bytes);
+        return new String(bytes, StandardCharsets.UTF_8);
+    }
+
+    private static void writeString(DataOutputStream out, String value) throws IOException {
+        if (value == null) {
+            out.writeShort(-1);
+            return;
+        }
+        byte[] bytes = value.getBytes(StandardCharsets.UTF_8);
+        if (bytes.length > Short.MAX_VALUE) {
+            throw new IOException("Texto demasiado largo para la instantánea de feriados: " + bytes.length + " bytes");
+        }
+        out.writeShort(bytes.length);
+        out.write(bytes);
+    }
+
+    private static HolidaySnapshot read(ByteBuffer buffer) {
+        int size = buffer.capacity();
+        if (size < HEADER_BYTES + CHECKSUM_BYTES || buffer.getInt(0) != MAGIC) {
+            throw new IllegalStateException("el archivo no es una instantánea de feriados");
+        }
+        if (buffer.getInt(4) != VERSION) {
+            throw new IllegalStateException("versión no soportada " + buffer.getInt(4));
+        }
+        CRC32 checksum = new CRC32();
+        checksum.update(buffer.slice(0, size - CHECKSUM_BYTES));
+        if (checksum.getValue() != buffer.getLong(size - CHECKSUM_BYTES)) {
+            throw new IllegalStateException("la suma de verificación no coincide");
+        }
+        int count = buffer.getInt(20);
+        if (count < 0 || HEADER_BYTES + 4L * count > size - CHECKSUM_BYTES) {
+            throw new IllegalStateException("directorio inválido con " + count + " sucursales");
+        }
+        LocalDateTime createdAt = LocalDateTime.ofEpochSecond(buffer.getLong(8), buffer.getInt(16), ZoneOffset.UTC);
+        return new HolidaySnapshot(buffer, createdAt, count);
+    }
+
+    public record Entry(BranchCalendar calendar, boolean usesShared) {
+    }
+}
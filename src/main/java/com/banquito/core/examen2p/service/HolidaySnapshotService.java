@@ -0,0 +1,69 @@
+package com.banquito.core.examen2p.service;
+
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.nio.file.Path;
+import java.time.LocalDateTime;
+import java.util.SortedMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+@Slf4j
+@Component
+@ConditionalOnProperty(name = "banquito.snapshot.enabled", havingValue = "true")
+public class HolidaySnapshotService {
+    private final HolidayCalendarIndex holidayCalendarIndex;
+    private final Path path;
+    private final ScheduledExecutorService scheduler;
+
+    public HolidaySnapshotService(HolidayCalendarIndex holidayCalendarIndex,
+                                  @Value("${banquito.snapshot.path:data/holiday-snapshot.bin}") Path path,
+                                  @Value("${banquito.snapshot.interval-seconds:300}") long intervalSeconds) {
+        this.holidayCalendarIndex = holidayCalendarIndex;
+        this.path = path;
+        HolidaySnapshot snapshot = HolidaySnapshot.open(path);
+        if (snapshot != null) {
+            holidayCalendarIndex.attach(snapshot);
+        }
+
+        if (intervalSeconds > 0) {
+            scheduler = Executors.newSingleThreadScheduledExecutor(runnable -> {
+                Thread thread = new Thread(runnable, "holiday-snapshot");
+                thread.setDaemon(true);
+                return thread;
+            });
+            scheduler.scheduleWithFixedDelay(this::write, intervalSeconds, intervalSeconds, TimeUnit.SECONDS);
+        } else {
+            scheduler = null;
+        }
+    }
+
+    public synchronized void write() {
+        if (!holidayCalendarIndex.isLoaded()) {
+            log.info("El índice de feriados aún no está cargado, no se escribe la instantánea");
+            return;
+        }
+        try {
+            LocalDateTime createdAt = LocalDateTime.now();
+            SortedMap<String, HolidaySnapshot.Entry> entries = holidayCalendarIndex.snapshotEntries();
+            HolidaySnapshot.write(path, createdAt, entries);
+            log.info("Instantánea de feriados escrita en {} con {} sucursales", path, entries.size());
+        } catch (IOException | RuntimeException e) {
+            log.error("No se pudo escribir la instantánea de feriados en {}", path, e);
+        }
+    }
+
+    @PreDestroy
+    public void close() {
+        if (scheduler != null) {
+            scheduler.shutdownNow();
+        }
+        write();
+    }
+}
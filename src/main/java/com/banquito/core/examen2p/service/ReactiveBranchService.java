@@ -0,0 +1,242 @@
+package com.banquito.core.examen2p.service;
+
+import com.banquito.core.examen2p.exception.BranchNotFoundException;
+import com.banquito.core.examen2p.exception.HolidayOperationException;
+import com.banquito.core.examen2p.exception.InvalidBranchDataException;
+import com.banquito.core.examen2p.model.Branch;
+import com.banquito.core.examen2p.model.BranchHoliday;
+import com.banquito.core.examen2p.repository.CompactHolidays;
+import com.banquito.core.examen2p.repository.ReactiveBranchRepository;
+import lombok.RequiredArgsConstructor;
+import org.bson.Document;
+import org.springframework.context.annotation.Profile;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.mongodb.core.FindAndModifyOptions;
+import org.springframework.data.mongodb.core.ReactiveMongoTemplate;
+import org.springframework.data.mongodb.core.query.Criteria;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.data.mongodb.core.query.Update;
+import org.springframework.stereotype.Service;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import reactor.core.scheduler.Schedulers;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.Collectors;
+
+@Service
+@Profile("reactive")
+@RequiredArgsConstructor
+public class ReactiveBranchService {
+    private final ReactiveBranchRepository reactiveBranchRepository;
+    private final ReactiveMongoTemplate reactiveMongoTemplate;
+    private final HolidayCalendarIndex holidayCalendarIndex;
+    private final BranchCache branchCache;
+    private final BranchMetrics branchMetrics;
+    private final BranchNameIndex branchNameIndex;
+
+    public Flux<Branch> findAll() {
+        return reactiveBranchRepository.findAll()
+                .doOnNext(branchMetrics::recordLoaded);
+    }
+
+    public Flux<Branch> streamAll() {
+        return reactiveMongoTemplate.find(new Query().with(Sort.by(Sort.Direction.ASC, "id")), Branch.class);
+    }
+
+    public Mono<Branch> findById(String id) {
+        return Mono.defer(() -> {
+            Branch cached = branchCache.get(id);
+            if (cached != null) {
+                return Mono.just(cached);
+            }
+            long version = branchCache.version(id);
+            return reactiveBranchRepository.findById(id)
+                    .switchIfEmpty(Mono.error(() -> new BranchNotFoundException(id)))
+                    .doOnNext(branch -> {
+                        branchMetrics.recordLoaded(branch);
+                        branchCache.put(branch, version);
+                    });
+        });
+    }
+
+    public Mono<Branch> create(Branch branch) {
+        return withSharedCalendars(Mono.defer(() -> {
+            branch.setCreationDate(LocalDateTime.now());
+            branch.setLastModifiedDate(LocalDateTime.now());
+            branch.setBranchHolidays(new ArrayList<>());
+            return reactiveBranchRepository.save(branch);
+        }).doOnNext(saved -> {
+            branchCache.invalidate(saved.getId());
+            holidayCalendarIndex.put(saved);
+            branchNameIndex.put(saved);
+        }));
+    }
+
+    public Mono<List<Branch>> search(String query, String state, int limit) {
+        return Mono.fromSupplier(() -> {
+            if (query == null || BranchNameIndex.fold(query).isEmpty()) {
+                throw new InvalidBranchDataException("q", query);
+            }
+            return branchNameIndex.search(query, state, limit);
+        });
+    }
+
+    public Mono<Branch> updatePhoneNumber(String id, String phoneNumber) {
+        return Mono.defer(() -> findAndModify(Criteria.where("id").is(id), new Update()
+                        .set("phoneNumber", phoneNumber)
+                        .set("lastModifiedDate", LocalDateTime.now())))
+                .switchIfEmpty(Mono.error(() -> new BranchNotFoundException(id)))
+                .doOnNext(updated -> branchCache.invalidate(id));
+    }
+
+    public Mono<Branch> addHoliday(String id, BranchHoliday holiday) {
+        return withSharedCalendars(Mono.defer(() -> {
+            if (holiday.getRule() != null) {
+                HolidayRules.validate(holiday.getRule());
+            }
+            LocalDateTime now = LocalDateTime.now();
+            return findAndModify(
+                    Criteria.where("id").is(id).and("branchHolidays").ne(null).andOperator(notDuplicated(holiday)),
+                    new Update()
+                            .push("branchHolidays").sort(Sort.by("date")).each(holiday)
+                            .set("lastModifiedDate", now))
+                    .switchIfEmpty(Mono.defer(() -> findAndModify(
+                            Criteria.where("id").is(id).and("branchHolidays").is(null)
+                                    .andOperator(notDuplicated(holiday)),
+                            new Update().set("branchHolidays", List.of(holiday)).set("lastModifiedDate", now))));
+        }).switchIfEmpty(Mono.defer(() -> reactiveBranchRepository.findHolidaysById(id)
+                        .switchIfEmpty(Mono.error(() -> new BranchNotFoundException(id)))
+                        .flatMap(branch -> Mono.<Branch>error(new HolidayOperationException("agregar", id,
+                                holiday.getRule() == null
+                                        ? "Ya existe un feriado para la fecha: " + holiday.getDate()
+                                        : "Ya existe una regla de feriado con el nombre: " + holiday.getName())))))
+                .doOnNext(updated -> {
+                    branchCache.invalidate(id);
+                    holidayCalendarIndex.put(updated);
+                }));
+    }
+
+    public Mono<Branch> deleteHoliday(String id, LocalDate date) {
+        return withSharedCalendars(Mono.defer(() -> findAndModify(
+                        Criteria.where("id").is(id).orOperator(
+                                CompactHolidays.hasCodeOn(date),
+                                Criteria.where("branchHolidays.date").is(date)),
+                        new Update()
+                                .pull(CompactHolidays.CODES_FIELD, CompactHolidays.codeRange(date))
+                                .pull("branchHolidays", new Document("date", date))
+                                .set("lastModifiedDate", LocalDateTime.now())))
+                .switchIfEmpty(Mono.defer(() -> reactiveBranchRepository.findHolidaysById(id)
+                        .switchIfEmpty(Mono.error(() -> new BranchNotFoundException(id)))
+                        .flatMap(branch -> {
+                            if (branch.getBranchHolidays() == null || branch.getBranchHolidays().isEmpty()) {
+                                return Mono.<Branch>error(new HolidayOperationException("eliminar", id, "La sucursal no tiene feriados"));
+                            }
+                            return Mono.<Branch>error(new HolidayOperationException("eliminar", id, "No se encontró un feriado para la fecha: " + date));
+                        })))
+                .doOnNext(updated -> {
+                    branchCache.invalidate(id);
+                    holidayCalendarIndex.put(updated);
+                }));
+    }
+
+    public Mono<Branch> findHolidaysById(String id) {
+        return Mono.defer(() -> {
+            Branch cached = branchCache.get(id);
+            if (cached != null) {
+                return Mono.just(cached);
+            }
+            return reactiveBranchRepository.findHolidaysById(id)
+                    .switchIfEmpty(Mono.error(() -> new BranchNotFoundException(id)))
+                    .doOnNext(branchMetrics::recordLoaded);
+        });
+    }
+
+    public Mono<List<BranchHoliday>> getHolidays(String id) {
+        return withSharedCalendars(findHolidaysById(id)
+                .map(holidayCalendarIndex::holidaysOf));
+    }
+
+    public Mono<Boolean> isHoliday(String id, LocalDate date) {
+        return calendarOf(id).map(calendar -> calendar.contains(date));
+    }
+
+    public Mono<Void> verifyHoliday(String id, LocalDate date) {
+        return calendarOf(id)
+                .flatMap(calendar -> calendar.contains(date)
+                        ? Mono.<Void>empty()
+                        : Mono.<Void>error(new HolidayOperationException("verificar", id, "No existe un feriado para la fecha: " + date)));
+    }
+
+    public Mono<Map<String, Map<LocalDate, Boolean>>> checkHolidays(Map<String, ? extends Collection<LocalDate>> datesByBranch) {
+        List<String> missing = datesByBranch.keySet().stream()
+                .filter(id -> !holidayCalendarIndex.contains(id))
+                .collect(Collectors.toList());
+        Mono<Void> load = Mono.empty();
+        if (!missing.isEmpty()) {
+            Query query = Query.query(Criteria.where("id").in(missing));
+            query.fields().include(CompactHolidays.LEGACY_FIELD, CompactHolidays.CODES_FIELD, CompactHolidays.NAMES_FIELD,
+                    "calendarIds", "excludedHolidays");
+            load = reactiveMongoTemplate.find(query, Branch.class)
+                    .doOnNext(branch -> {
+                        branchMetrics.recordLoaded(branch);
+                        holidayCalendarIndex.put(branch);
+                    })
+                    .then();
+        }
+        return withSharedCalendars(load).then(Mono.fromSupplier(() -> {
+            Map<String, Map<LocalDate, Boolean>> result = new LinkedHashMap<>();
+            datesByBranch.forEach((id, dates) -> {
+                BranchCalendar calendar = holidayCalendarIndex.get(id);
+                if (calendar == null) {
+                    return;
+                }
+                Map<LocalDate, Boolean> checks = new LinkedHashMap<>();
+                for (LocalDate date : dates) {
+                    checks.put(date, calendar.contains(date));
+                }
+                result.put(id, checks);
+            });
+            return result;
+        }));
+    }
+
+    private static Criteria notDuplicated(BranchHoliday holiday) {
+        if (holiday.getRule() == null) {
+            return Criteria.where("branchHolidays.date").ne(holiday.getDate())
+                    .andOperator(CompactHolidays.hasNoCodeOn(holiday.getDate()));
+        }
+        return Criteria.where("branchHolidays").not().elemMatch(
+                Criteria.where("name").is(holiday.getName()).and("rule").exists(true));
+    }
+
+    private Mono<Branch> findAndModify(Criteria criteria, Update update) {
+        return reactiveMongoTemplate.findAndModify(Query.query(criteria), update,
+                FindAndModifyOptions.options().returnNew(true), Branch.class);
+    }
+
+    private <T> Mono<T> withSharedCalendars(Mono<T> source) {
+        if (holidayCalendarIndex.isSharedLoaded()) {
+            return source;
+        }
+        return Mono.fromRunnable(holidayCalendarIndex::refreshShared)
+                .subscribeOn(Schedulers.boundedElastic())
+                .then(source);
+    }
+
+    private Mono<BranchCalendar> calendarOf(String id) {
+        return withSharedCalendars(Mono.defer(() -> {
+            BranchCalendar calendar = holidayCalendarIndex.get(id);
+            if (calendar != null) {
+                return Mono.just(calendar);
+            }
+            return findById(id).map(holidayCalendarIndex::put);
+        }));
+    }
+}
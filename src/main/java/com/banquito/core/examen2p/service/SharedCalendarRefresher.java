@@ -0,0 +1,47 @@
+package com.banquito.core.examen2p.service;
+
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+@Slf4j
+@Component
+public class SharedCalendarRefresher {
+    private final HolidayCalendarIndex holidayCalendarIndex;
+    private final ScheduledExecutorService scheduler;
+
+    public SharedCalendarRefresher(HolidayCalendarIndex holidayCalendarIndex,
+                                   @Value("${banquito.calendars.refresh-interval-seconds:60}") long intervalSeconds) {
+        this.holidayCalendarIndex = holidayCalendarIndex;
+        if (intervalSeconds > 0) {
+            scheduler = Executors.newSingleThreadScheduledExecutor(runnable -> {
+                Thread thread = new Thread(runnable, "shared-calendar-refresh");
+                thread.setDaemon(true);
+                return thread;
+            });
+            scheduler.scheduleWithFixedDelay(this::refresh, intervalSeconds, intervalSeconds, TimeUnit.SECONDS);
+        } else {
+            scheduler = null;
+        }
+    }
+
+    public void refresh() {
+        try {
+            holidayCalendarIndex.refreshShared();
+        } catch (RuntimeException e) {
+            log.warn("No se pudieron actualizar los calendarios compartidos: {}", e.getMessage());
+        }
+    }
+
+    @PreDestroy
+    public void close() {
+        if (scheduler != null) {
+            scheduler.shutdownNow();
+        }
+    }
+}
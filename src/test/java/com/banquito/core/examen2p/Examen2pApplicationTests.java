@@ -2,8 +2,14 @@ package com.banquito.core.examen2p;
 
 import org.junit.jupiter.api.Test;
 import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
 
-@SpringBootTest
+@SpringBootTest(properties = {
+        "banquito.storage.local.path=target/test-data/branches.log",
+        "banquito.storage.local.calendars-path=target/test-data/holiday-calendars.json",
+        "banquito.snapshot.path=target/test-data/holiday-snapshot.bin"
+})
+@ActiveProfiles("local-store")
 class Examen2pApplicationTests {
 
     @Test
@@ -0,0 +1,67 @@
+package com.banquito.core.examen2p.benchmark;
+
+import com.banquito.core.examen2p.controller.mapper.BranchHolidayJsonSerializer;
+import com.banquito.core.examen2p.controller.mapper.BranchJsonSerializer;
+import com.banquito.core.examen2p.model.Branch;
+import com.banquito.core.examen2p.model.BranchHoliday;
+import com.fasterxml.jackson.core.JsonFactory;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.fasterxml.jackson.databind.ser.impl.SimpleBeanPropertyFilter;
+import com.fasterxml.jackson.databind.ser.impl.SimpleFilterProvider;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
+final class BenchmarkData {
+    static final LocalDate FIRST_HOLIDAY = LocalDate.of(2020, 1, 1);
+
+    private BenchmarkData() {
+    }
+
+    static Branch branch(String id, int holidays) {
+        Branch branch = new Branch();
+        branch.setId(id);
+        branch.setEmailAddress("sucursal" + id + "@banquito.com");
+        branch.setName("Sucursal " + id);
+        branch.setPhoneNumber("+593987654321");
+        branch.setState("ACTIVE");
+        branch.setCreationDate(LocalDateTime.of(2024, 1, 15, 9, 30));
+        branch.setLastModifiedDate(LocalDateTime.of(2025, 3, 2, 17, 45));
+        List<BranchHoliday> list = new ArrayList<>(holidays);
+        for (int i = 0; i < holidays; i++) {
+            BranchHoliday holiday = new BranchHoliday();
+            holiday.setDate(FIRST_HOLIDAY.plusDays(i * 3L));
+            holiday.setName("Feriado nacional " + (i % 12));
+            list.add(holiday);
+        }
+        branch.setBranchHolidays(list);
+        return branch;
+    }
+
+    static List<Branch> branches(int count, int holidays) {
+        List<Branch> branches = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            branches.add(branch(String.format("%024x", i), holidays));
+        }
+        return branches;
+    }
+
+    static ObjectMapper objectMapper() {
+        return objectMapper(new JsonFactory());
+    }
+
+    static ObjectMapper objectMapper(JsonFactory factory) {
+        return Jackson2ObjectMapperBuilder.json()
+                .factory(factory)
+                .featuresToDisable(SerializationFeature.WRITE_DATES_AS_TIMESTAMPS)
+                .serializers(new BranchJsonSerializer(), new BranchHolidayJsonSerializer())
+                .filters(new SimpleFilterProvider()
+                        .setDefaultFilter(SimpleBeanPropertyFilter.serializeAll())
+                        .setFailOnUnknownId(false))
+                .build();
+    }
+}
@@ -0,0 +1,50 @@
+package com.banquito.core.examen2p.benchmark;
+
+import com.banquito.core.examen2p.controller.dto.BranchDTO;
+import com.banquito.core.examen2p.controller.mapper.BranchMapper;
+import com.banquito.core.examen2p.model.Branch;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.concurrent.TimeUnit;
+
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class BranchMapperBenchmark {
+
+    @Param({"0", "10", "1000"})
+    public int holidays;
+
+    private final BranchMapper branchMapper = new BranchMapper();
+    private Branch branch;
+    private BranchDTO dto;
+
+    @Setup
+    public void setUp() {
+        branch = BenchmarkData.branch("65f0c0ffee0000000000beef", holidays);
+        dto = branchMapper.toDto(branch);
+    }
+
+    @Benchmark
+    public BranchDTO toDto() {
+        return branchMapper.toDto(branch);
+    }
+
+    @Benchmark
+    public Branch toEntity() {
+        return branchMapper.toEntity(dto);
+    }
+}
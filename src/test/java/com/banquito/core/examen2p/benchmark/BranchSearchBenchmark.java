@@ -0,0 +1,66 @@
+package com.banquito.core.examen2p.benchmark;
+
+import com.banquito.core.examen2p.model.Branch;
+import com.banquito.core.examen2p.repository.BranchStore;
+import com.banquito.core.examen2p.service.BranchNameIndex;
+import org.mockito.Mockito;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class BranchSearchBenchmark {
+    private static final String[] CITIES = {"Quito", "Guayaquil", "Cuenca", "Ambato", "Manta", "Loja", "Ibarra", "Machala"};
+    private static final String[] ZONES = {"Norte", "Sur", "Centro", "Valle", "Aeropuerto", "Mall"};
+
+    @Param({"1000", "20000"})
+    public int branches;
+
+    private BranchNameIndex index;
+    private List<Branch> all;
+
+    @Setup
+    public void setUp() {
+        index = new BranchNameIndex(Mockito.mock(BranchStore.class));
+        all = BenchmarkData.branches(branches, 0);
+        for (int i = 0; i < all.size(); i++) {
+            Branch branch = all.get(i);
+            branch.setName("Sucursal " + CITIES[i % CITIES.length] + " " + ZONES[(i / CITIES.length) % ZONES.length] + " " + i);
+            index.put(branch);
+        }
+    }
+
+    @Benchmark
+    public List<Branch> singleLetterPrefix() {
+        return index.search("g", null, 10);
+    }
+
+    @Benchmark
+    public List<Branch> wordPrefix() {
+        return index.search("cuenca va", "ACTIVE", 10);
+    }
+
+    @Benchmark
+    public List<Branch> linearScanBaseline() {
+        return all.stream()
+                .filter(branch -> branch.getName().toLowerCase().contains("cuenca va"))
+                .limit(10)
+                .toList();
+    }
+}
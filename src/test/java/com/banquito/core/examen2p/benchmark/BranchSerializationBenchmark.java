@@ -0,0 +1,67 @@
+package com.banquito.core.examen2p.benchmark;
+
+import com.banquito.core.examen2p.controller.dto.BranchDTO;
+import com.banquito.core.examen2p.controller.mapper.BranchMapper;
+import com.banquito.core.examen2p.model.Branch;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
+
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class BranchSerializationBenchmark {
+
+    @Param({"10", "100"})
+    public int branches;
+
+    @Param({"0", "10", "1000"})
+    public int holidays;
+
+    private final ObjectMapper objectMapper = BenchmarkData.objectMapper();
+    private final BranchMapper branchMapper = new BranchMapper();
+    private List<Branch> entities;
+    private List<BranchDTO> dtos;
+
+    @Setup
+    public void setUp() {
+        entities = BenchmarkData.branches(branches, holidays);
+        dtos = entities.stream()
+                .map(branchMapper::toDto)
+                .collect(Collectors.toList());
+    }
+
+    @Benchmark
+    public byte[] serializeList() throws JsonProcessingException {
+        return objectMapper.writeValueAsBytes(dtos);
+    }
+
+    @Benchmark
+    public byte[] mapAndSerializeDtos() throws JsonProcessingException {
+        return objectMapper.writeValueAsBytes(entities.stream()
+                .map(branchMapper::toDto)
+                .collect(Collectors.toList()));
+    }
+
+    @Benchmark
+    public byte[] serializeEntitiesDirectly() throws JsonProcessingException {
+        return objectMapper.writeValueAsBytes(entities);
+    }
+}
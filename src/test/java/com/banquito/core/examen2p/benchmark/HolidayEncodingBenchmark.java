@@ -0,0 +1,90 @@
+package com.banquito.core.examen2p.benchmark;
+
+import com.banquito.core.examen2p.model.Branch;
+import com.banquito.core.examen2p.repository.CompactHolidayCallbacks;
+import com.banquito.core.examen2p.repository.CompactHolidays;
+import org.bson.Document;
+import org.bson.RawBsonDocument;
+import org.bson.codecs.DocumentCodec;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.data.mongodb.core.convert.MappingMongoConverter;
+import org.springframework.data.mongodb.core.convert.NoOpDbRefResolver;
+import org.springframework.data.mongodb.core.mapping.MongoMappingContext;
+
+import java.util.concurrent.TimeUnit;
+
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class HolidayEncodingBenchmark {
+
+    @Param({"10", "1000", "5000"})
+    public int holidays;
+
+    private final DocumentCodec codec = new DocumentCodec();
+    private final CompactHolidayCallbacks callbacks = new CompactHolidayCallbacks();
+    private MappingMongoConverter converter;
+    private Branch branch;
+    private byte[] documentsBson;
+    private byte[] compactBson;
+
+    @Setup
+    public void setUp() {
+        converter = new MappingMongoConverter(NoOpDbRefResolver.INSTANCE, new MongoMappingContext());
+        converter.afterPropertiesSet();
+        branch = BenchmarkData.branch(String.format("%024x", 1), holidays);
+
+        Document documents = new Document();
+        converter.write(branch, documents);
+        Document compact = new Document(documents);
+        CompactHolidays.encode(branch.getBranchHolidays(), compact);
+        documentsBson = bytes(documents);
+        compactBson = bytes(compact);
+    }
+
+    @Benchmark
+    public Branch decodeDocuments() {
+        return converter.read(Branch.class, new RawBsonDocument(documentsBson).decode(codec));
+    }
+
+    @Benchmark
+    public Branch decodeCompact() {
+        Document document = new RawBsonDocument(compactBson).decode(codec);
+        return callbacks.onAfterConvert(converter.read(Branch.class, document), document, "branches");
+    }
+
+    @Benchmark
+    public byte[] encodeDocuments(PayloadSize size) {
+        Document document = new Document();
+        converter.write(branch, document);
+        return size.record(bytes(document));
+    }
+
+    @Benchmark
+    public byte[] encodeCompact(PayloadSize size) {
+        Document document = new Document();
+        converter.write(branch, document);
+        callbacks.onBeforeSave(branch, document, "branches");
+        return size.record(bytes(document));
+    }
+
+    private byte[] bytes(Document document) {
+        RawBsonDocument raw = new RawBsonDocument(document, codec);
+        byte[] bytes = new byte[raw.getByteBuffer().remaining()];
+        raw.getByteBuffer().get(bytes);
+        return bytes;
+    }
+}
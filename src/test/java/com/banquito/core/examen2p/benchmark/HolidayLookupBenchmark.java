@@ -0,0 +1,91 @@
+package com.banquito.core.examen2p.benchmark;
+
+import com.banquito.core.examen2p.model.Branch;
+import com.banquito.core.examen2p.repository.LocalBranchStore;
+import com.banquito.core.examen2p.repository.LocalHolidayCalendarStore;
+import com.banquito.core.examen2p.service.BranchCache;
+import com.banquito.core.examen2p.service.BranchMetrics;
+import com.banquito.core.examen2p.service.BranchNameIndex;
+import com.banquito.core.examen2p.service.BranchService;
+import com.banquito.core.examen2p.service.HolidayCalendarIndex;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.LocalDate;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class HolidayLookupBenchmark {
+
+    @Param({"0", "10", "1000"})
+    public int holidays;
+
+    private Path storeFile;
+    private Path calendarsFile;
+    private LocalBranchStore branchStore;
+    private BranchService branchService;
+    private String branchId;
+    private LocalDate hit;
+    private LocalDate miss;
+
+    @Setup
+    public void setUp() throws IOException {
+        List<Branch> branches = BenchmarkData.branches(100, holidays);
+        storeFile = Files.createTempFile("branches", ".log");
+        branchStore = new LocalBranchStore(storeFile, 0);
+        branchStore.insertAll(branches);
+        calendarsFile = Files.createTempFile("holiday-calendars", ".json");
+        Files.delete(calendarsFile);
+        HolidayCalendarIndex index = new HolidayCalendarIndex(branchStore,
+                new LocalHolidayCalendarStore(calendarsFile));
+        index.load();
+        branchService = new BranchService(branchStore, index, new BranchCache(1000),
+                new BranchMetrics(new SimpleMeterRegistry()), new BranchNameIndex(branchStore));
+        branchId = branches.get(branches.size() / 2).getId();
+        hit = BenchmarkData.FIRST_HOLIDAY.plusDays(Math.max(holidays - 1, 0) * 3L);
+        miss = BenchmarkData.FIRST_HOLIDAY.plusDays(1);
+    }
+
+    @TearDown
+    public void tearDown() throws IOException {
+        branchStore.close();
+        Files.deleteIfExists(storeFile);
+        Files.deleteIfExists(calendarsFile);
+    }
+
+    @Benchmark
+    public boolean isHolidayHit() {
+        return branchService.isHoliday(branchId, hit);
+    }
+
+    @Benchmark
+    public boolean isHolidayMiss() {
+        return branchService.isHoliday(branchId, miss);
+    }
+
+    @Benchmark
+    public boolean linearScanBaseline() {
+        return branchStore.findById(branchId).orElseThrow().getBranchHolidays().stream()
+                .anyMatch(holiday -> holiday.getDate().equals(hit));
+    }
+}
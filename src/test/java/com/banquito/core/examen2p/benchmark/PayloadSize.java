@@ -0,0 +1,16 @@
+package com.banquito.core.examen2p.benchmark;
+
+import org.openjdk.jmh.annotations.AuxCounters;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.State;
+
+@State(Scope.Thread)
+@AuxCounters(AuxCounters.Type.EVENTS)
+public class PayloadSize {
+    public long bytes;
+
+    byte[] record(byte[] payload) {
+        bytes = payload.length;
+        return payload;
+    }
+}
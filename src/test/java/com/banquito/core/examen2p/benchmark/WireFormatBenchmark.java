@@ -0,0 +1,90 @@
+package com.banquito.core.examen2p.benchmark;
+
+import com.banquito.core.examen2p.controller.dto.BranchDTO;
+import com.banquito.core.examen2p.controller.mapper.BranchMapper;
+import com.fasterxml.jackson.core.JsonFactory;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.dataformat.cbor.CBORFactory;
+import com.fasterxml.jackson.dataformat.smile.SmileFactory;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
+import java.util.zip.GZIPOutputStream;
+
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class WireFormatBenchmark {
+
+    @Param({"json", "smile", "cbor"})
+    public String format;
+
+    @Param({"100", "1000"})
+    public int branches;
+
+    @Param({"0", "10"})
+    public int holidays;
+
+    private ObjectMapper objectMapper;
+    private List<BranchDTO> dtos;
+    private byte[] payload;
+
+    @Setup
+    public void setUp() throws IOException {
+        objectMapper = BenchmarkData.objectMapper(factory(format));
+        BranchMapper branchMapper = new BranchMapper();
+        dtos = BenchmarkData.branches(branches, holidays).stream()
+                .map(branchMapper::toDto)
+                .collect(Collectors.toList());
+        payload = objectMapper.writeValueAsBytes(dtos);
+    }
+
+    @Benchmark
+    public byte[] serialize(PayloadSize size) throws IOException {
+        return size.record(objectMapper.writeValueAsBytes(dtos));
+    }
+
+    @Benchmark
+    public byte[] serializeAndGzip(PayloadSize size) throws IOException {
+        return size.record(gzip(objectMapper.writeValueAsBytes(dtos)));
+    }
+
+    @Benchmark
+    public List<BranchDTO> deserialize() throws IOException {
+        return objectMapper.readValue(payload,
+                objectMapper.getTypeFactory().constructCollectionType(List.class, BranchDTO.class));
+    }
+
+    private static JsonFactory factory(String format) {
+        return switch (format) {
+            case "smile" -> new SmileFactory();
+            case "cbor" -> new CBORFactory();
+            default -> new JsonFactory();
+        };
+    }
+
+    private static byte[] gzip(byte[] bytes) throws IOException {
+        ByteArrayOutputStream output = new ByteArrayOutputStream(bytes.length / 4);
+        try (GZIPOutputStream gzip = new GZIPOutputStream(output)) {
+            gzip.write(bytes);
+        }
+        return output.toByteArray();
+    }
+}
@@ -0,0 +1,140 @@
+package com.banquito.core.examen2p.config;
+
+import com.banquito.core.examen2p.config.AdmissionControlFilter.Priority;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpHeaders;
+import org.springframework.mock.web.MockFilterChain;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class AdmissionControlFilterTest {
+
+    private SimpleMeterRegistry registry;
+    private AdaptiveLimiter checks;
+    private AdaptiveLimiter listings;
+    private AdmissionControlFilter filter;
+
+    @BeforeEach
+    void setUp() {
+        registry = new SimpleMeterRegistry();
+        checks = new AdaptiveLimiter(2, 1, 10, 2.0);
+        listings = new AdaptiveLimiter(1, 1, 10, 2.0);
+        filter = new AdmissionControlFilter(new ObjectMapper(), registry, Map.of(
+                Priority.CHECK, checks,
+                Priority.LISTING, listings,
+                Priority.WRITE, new AdaptiveLimiter(5, 1, 10, 2.0)));
+    }
+
+    @Test
+    void classifiesBranchEndpointsByPriority() {
+        assertEquals(Priority.CHECK, Priority.classify("GET", "/v1/branches/b1/holidays/check"));
+        assertEquals(Priority.CHECK, Priority.classify("GET", "/v1/branches/b1"));
+        assertEquals(Priority.CHECK, Priority.classify("POST", "/v1/branches/holidays/check"));
+        assertEquals(Priority.LISTING, Priority.classify("GET", "/v1/branches"));
+        assertEquals(Priority.LISTING, Priority.classify("GET", "/v1/branches/closed/range"));
+        assertEquals(Priority.WRITE, Priority.classify("POST", "/v1/branches"));
+        assertEquals(Priority.WRITE, Priority.classify("DELETE", "/v1/branches/b1"));
+    }
+
+    @Test
+    void admitsRequestsAndReleasesThePermit() throws Exception {
+        MockHttpServletResponse response = new MockHttpServletResponse();
+        MockFilterChain chain = new MockFilterChain();
+
+        filter.doFilter(request("GET", "/v1/branches/b1/holidays/check"), response, chain);
+
+        assertEquals(200, response.getStatus());
+        assertNotNull(chain.getRequest());
+        assertEquals(0, checks.inFlight());
+    }
+
+    @Test
+    void rejectsWithTooManyRequestsWhenTheLimitIsReached() throws Exception {
+        assertTrue(checks.tryAcquire());
+        assertTrue(checks.tryAcquire());
+        MockHttpServletResponse response = new MockHttpServletResponse();
+
+        filter.doFilter(request("GET", "/v1/branches/b1/holidays/check"), response, new MockFilterChain());
+
+        assertEquals(429, response.getStatus());
+        assertEquals("1", response.getHeader(HttpHeaders.RETRY_AFTER));
+        assertTrue(response.getContentAsString().contains("TOO_MANY_REQUESTS"));
+        assertEquals(1, registry.get("banquito.admission.rejected")
+                .tags("priority", "check", "status", "429").counter().count());
+    }
+
+    @Test
+    void shedsWithServiceUnavailableWhenTheLimitHasCollapsed() throws Exception {
+        assertTrue(listings.tryAcquire());
+        MockHttpServletResponse response = new MockHttpServletResponse();
+
+        filter.doFilter(request("GET", "/v1/branches"), response, new MockFilterChain());
+
+        assertEquals(503, response.getStatus());
+        assertTrue(response.getContentAsString().contains("SERVICE_UNAVAILABLE"));
+        assertEquals(1, listings.inFlight());
+        assertEquals(1, registry.get("banquito.admission.rejected")
+                .tags("priority", "listing", "status", "503").counter().count());
+    }
+
+    @Test
+    void exemptsLongRunningRequestsFromLatencySamples() throws Exception {
+        MockHttpServletRequest paged = request("GET", "/v1/branches");
+        paged.setParameter("limit", "20");
+
+        assertTrue(AdmissionControlFilter.isUnbounded(request("GET", "/v1/branches")));
+        assertTrue(AdmissionControlFilter.isUnbounded(request("GET", "/v1/branches/stream")));
+        assertTrue(AdmissionControlFilter.isUnbounded(request("POST", "/v1/branches/import")));
+        assertFalse(AdmissionControlFilter.isUnbounded(paged));
+        assertFalse(AdmissionControlFilter.isUnbounded(request("GET", "/v1/branches/b1")));
+
+        filter.doFilter(request("GET", "/v1/branches"), new MockHttpServletResponse(), new MockFilterChain());
+
+        assertEquals(1, listings.limit());
+        assertEquals(0, listings.inFlight());
+    }
+
+    @Test
+    void growsWhileBusyAndFastAndFollowsTheLatencyGradient() {
+        AdaptiveLimiter limiter = new AdaptiveLimiter(10, 1, 40, 2.0);
+        long fast = TimeUnit.MILLISECONDS.toNanos(5);
+        long slow = TimeUnit.MILLISECONDS.toNanos(3000);
+
+        for (int i = 0; i < 20; i++) {
+            while (limiter.inFlight() < limiter.limit()) {
+                assertTrue(limiter.tryAcquire());
+            }
+            limiter.release(fast, false);
+        }
+        int grown = limiter.limit();
+        assertTrue(grown > 10);
+
+        limiter.release(slow, false);
+        assertTrue(limiter.limit() > 10);
+
+        for (int i = 0; i < 20; i++) {
+            limiter.release(slow, false);
+        }
+        int congested = limiter.limit();
+        assertTrue(congested < grown);
+        assertFalse(limiter.isAtMinimum());
+
+        limiter.release(fast, true);
+        assertTrue(limiter.limit() < congested);
+    }
+
+    private static MockHttpServletRequest request(String method, String uri) {
+        return new MockHttpServletRequest(method, uri);
+    }
+}
@@ -0,0 +1,246 @@
+package com.banquito.core.examen2p.controller;
+
+import com.banquito.core.examen2p.model.Branch;
+import com.banquito.core.examen2p.model.BranchHoliday;
+import com.fasterxml.jackson.core.JsonFactory;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.dataformat.smile.SmileFactory;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.MediaType;
+import org.springframework.test.web.reactive.server.WebTestClient;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+abstract class BranchApiContract {
+
+    static final String BRANCH_ID = "65f0c0ffee0000000000beef";
+    static final String MISSING_ID = "65f0c0ffee0000000000dead";
+    static final LocalDate HOLIDAY = LocalDate.of(2099, 8, 10);
+    static final LocalDate WORKING_DAY = LocalDate.of(2099, 8, 11);
+    static final MediaType SMILE = MediaType.valueOf("application/x-jackson-smile");
+
+    protected WebTestClient client;
+
+    protected abstract WebTestClient createClient();
+
+    protected abstract void givenBranches(List<Branch> branches);
+
+    protected abstract void givenBranch(Branch branch);
+
+    protected abstract void givenMissingBranch(String id);
+
+    protected abstract void givenHolidayCheck(String id, LocalDate date, boolean holiday);
+
+    protected abstract void givenSearch(String query, String state, List<Branch> matches);
+
+    @BeforeEach
+    void setUpClient() {
+        client = createClient();
+    }
+
+    @Test
+    void getsBranchById() {
+        givenBranch(branch());
+
+        client.get().uri("/v1/branches/{id}", BRANCH_ID)
+                .accept(MediaType.APPLICATION_JSON)
+                .exchange()
+                .expectStatus().isOk()
+                .expectBody()
+                .jsonPath("$.id").isEqualTo(BRANCH_ID)
+                .jsonPath("$.name").isEqualTo("Sucursal Centro")
+                .jsonPath("$.state").isEqualTo("ACTIVE")
+                .jsonPath("$.creationDate").isEqualTo("2024-01-15T09:30:00")
+                .jsonPath("$.branchHolidays[0].date").isEqualTo("2099-08-10")
+                .jsonPath("$.branchHolidays[0].name").isEqualTo("Primer Grito de Independencia");
+    }
+
+    @Test
+    void returnsNotFoundForMissingBranch() {
+        givenMissingBranch(MISSING_ID);
+
+        client.get().uri("/v1/branches/{id}", MISSING_ID)
+                .exchange()
+                .expectStatus().isNotFound()
+                .expectBody()
+                .jsonPath("$.code").isEqualTo("NOT_FOUND")
+                .jsonPath("$.message").isEqualTo("No se encontró ninguna sucursal con el ID: " + MISSING_ID);
+    }
+
+    @Test
+    void listsBranches() {
+        givenBranches(List.of(branch()));
+
+        client.get().uri("/v1/branches")
+                .accept(MediaType.APPLICATION_JSON)
+                .exchange()
+                .expectStatus().isOk()
+                .expectBody()
+                .jsonPath("$.length()").isEqualTo(1)
+                .jsonPath("$[0].id").isEqualTo(BRANCH_ID);
+    }
+
+    @Test
+    void listsBranchesAsSmile() {
+        givenBranches(List.of(branch()));
+
+        client.get().uri("/v1/branches")
+                .accept(SMILE)
+                .exchange()
+                .expectStatus().isOk()
+                .expectHeader().contentType(SMILE)
+                .expectBody(byte[].class)
+                .value(body -> {
+                    JsonNode branches = readTree(new SmileFactory(), body);
+                    assertEquals(1, branches.size());
+                    assertEquals(BRANCH_ID, branches.get(0).get("id").asText());
+                });
+    }
+
+    @Test
+    void getsHolidays() {
+        givenBranch(branch());
+
+        client.get().uri("/v1/branches/{id}/holidays", BRANCH_ID)
+                .exchange()
+                .expectStatus().isOk()
+                .expectBody()
+                .jsonPath("$.length()").isEqualTo(1)
+                .jsonPath("$[0].date").isEqualTo("2099-08-10");
+    }
+
+    @Test
+    void confirmsHoliday() {
+        givenHolidayCheck(BRANCH_ID, HOLIDAY, true);
+
+        client.get().uri("/v1/branches/{id}/holidays/check?date={date}", BRANCH_ID, HOLIDAY)
+                .exchange()
+                .expectStatus().isOk();
+    }
+
+    @Test
+    void rejectsWorkingDayAsHoliday() {
+        givenHolidayCheck(BRANCH_ID, WORKING_DAY, false);
+
+        client.get().uri("/v1/branches/{id}/holidays/check?date={date}", BRANCH_ID, WORKING_DAY)
+                .exchange()
+                .expectStatus().isBadRequest()
+                .expectBody()
+                .jsonPath("$.code").isEqualTo("BAD_REQUEST");
+    }
+
+    @Test
+    void reportsHolidayStatus() {
+        givenHolidayCheck(BRANCH_ID, HOLIDAY, true);
+
+        client.get().uri("/v1/branches/{id}/holidays/status?date={date}", BRANCH_ID, HOLIDAY)
+                .exchange()
+                .expectStatus().isOk()
+                .expectBody()
+                .jsonPath("$.branchId").isEqualTo(BRANCH_ID)
+                .jsonPath("$.date").isEqualTo(HOLIDAY.toString())
+                .jsonPath("$.holiday").isEqualTo(true);
+    }
+
+    @Test
+    void reportsWorkingDayStatusWithoutError() {
+        givenHolidayCheck(BRANCH_ID, WORKING_DAY, false);
+
+        client.get().uri("/v1/branches/{id}/holidays/status?date={date}", BRANCH_ID, WORKING_DAY)
+                .exchange()
+                .expectStatus().isOk()
+                .expectBody()
+                .jsonPath("$.holiday").isEqualTo(false);
+    }
+
+    @Test
+    void searchesBranchesByName() {
+        givenSearch("cent", "ACTIVE", List.of(branch()));
+
+        client.get().uri("/v1/branches/search?q={q}&state={state}", "cent", "ACTIVE")
+                .exchange()
+                .expectStatus().isOk()
+                .expectBody()
+                .jsonPath("$[0].id").isEqualTo(BRANCH_ID)
+                .jsonPath("$[0].name").isEqualTo("Sucursal Centro")
+                .jsonPath("$[0].state").isEqualTo("ACTIVE")
+                .jsonPath("$[0].emailAddress").doesNotExist();
+    }
+
+    @Test
+    void rejectsOversizedSearchLimit() {
+        client.get().uri("/v1/branches/search?q={q}&limit={limit}", "cent", 500)
+                .exchange()
+                .expectStatus().isBadRequest();
+    }
+
+    @Test
+    void rejectsHolidayChecksWithoutBranch() {
+        client.post().uri("/v1/branches/holidays/check")
+                .contentType(MediaType.APPLICATION_JSON)
+                .bodyValue("[{\"branchId\":\"" + BRANCH_ID + "\",\"date\":\"2099-08-10\"},{\"date\":\"2099-08-10\"}]")
+                .exchange()
+                .expectStatus().isBadRequest()
+                .expectBody()
+                .jsonPath("$.code").isEqualTo("BAD_REQUEST");
+    }
+
+    @Test
+    void rejectsNullHolidayCheck() {
+        client.post().uri("/v1/branches/holidays/check")
+                .contentType(MediaType.APPLICATION_JSON)
+                .bodyValue("[null]")
+                .exchange()
+                .expectStatus().isBadRequest()
+                .expectBody()
+                .jsonPath("$.code").isEqualTo("BAD_REQUEST");
+    }
+
+    @Test
+    void rejectsOversizedHolidayCheckBatch() {
+        StringBuilder body = new StringBuilder("[");
+        for (int i = 0; i <= HolidayChecks.MAX_CHECKS; i++) {
+            body.append(i == 0 ? "" : ",").append("{\"branchId\":\"").append(BRANCH_ID).append("\",\"date\":\"2099-08-10\"}");
+        }
+        client.post().uri("/v1/branches/holidays/check")
+                .contentType(MediaType.APPLICATION_JSON)
+                .bodyValue(body.append("]").toString())
+                .exchange()
+                .expectStatus().isBadRequest()
+                .expectBody()
+                .jsonPath("$.code").isEqualTo("BAD_REQUEST");
+    }
+
+    static Branch branch() {
+        Branch branch = new Branch();
+        branch.setId(BRANCH_ID);
+        branch.setEmailAddress("centro@banquito.com");
+        branch.setName("Sucursal Centro");
+        branch.setPhoneNumber("+593987654321");
+        branch.setState("ACTIVE");
+        branch.setCreationDate(LocalDateTime.of(2024, 1, 15, 9, 30));
+        branch.setLastModifiedDate(LocalDateTime.of(2025, 3, 2, 17, 45));
+        BranchHoliday holiday = new BranchHoliday();
+        holiday.setDate(HOLIDAY);
+        holiday.setName("Primer Grito de Independencia");
+        branch.setBranchHolidays(new ArrayList<>(List.of(holiday)));
+        return branch;
+    }
+
+    static JsonNode readTree(JsonFactory factory, byte[] body) {
+        try {
+            return new ObjectMapper(factory).readTree(body);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+}
@@ -0,0 +1,253 @@
+package com.banquito.core.examen2p.controller;
+
+import com.banquito.core.examen2p.config.JacksonConfig;
+import com.banquito.core.examen2p.controller.mapper.BranchMapper;
+import com.banquito.core.examen2p.exception.BranchNotFoundException;
+import com.banquito.core.examen2p.exception.HolidayOperationException;
+import com.banquito.core.examen2p.model.Branch;
+import com.banquito.core.examen2p.service.BranchImportService;
+import com.banquito.core.examen2p.service.BranchMetrics;
+import com.banquito.core.examen2p.service.BranchService;
+import com.banquito.core.examen2p.service.BranchSyncService;
+import com.fasterxml.jackson.core.JsonFactory;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.dataformat.cbor.CBORFactory;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.WebMvcTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.test.context.bean.override.mockito.MockitoBean;
+import org.springframework.test.web.reactive.server.WebTestClient;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+import org.springframework.test.web.servlet.client.MockMvcWebTestClient;
+
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDate;
+import java.util.List;
+import java.util.stream.Stream;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.anySet;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.ArgumentMatchers.isNull;
+import static org.mockito.Mockito.doThrow;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.asyncDispatch;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.content;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.request;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@WebMvcTest(BranchController.class)
+@Import({BranchMapper.class, JacksonConfig.class})
+class BranchControllerContractTest extends BranchApiContract {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @MockitoBean
+    private BranchService branchService;
+
+    @MockitoBean
+    private BranchImportService branchImportService;
+
+    @MockitoBean
+    private BranchSyncService branchSyncService;
+
+    @MockitoBean
+    private BranchMetrics branchMetrics;
+
+    @Override
+    protected WebTestClient createClient() {
+        return MockMvcWebTestClient.bindTo(mockMvc).build();
+    }
+
+    @Override
+    protected void givenBranches(List<Branch> branches) {
+        when(branchService.findAll(anySet())).thenReturn(branches);
+    }
+
+    @Override
+    protected void givenBranch(Branch branch) {
+        when(branchService.findById(eq(branch.getId()), anySet())).thenReturn(branch);
+        when(branchService.findHolidaysById(branch.getId())).thenReturn(branch);
+        when(branchService.getHolidays(branch)).thenReturn(branch.getBranchHolidays());
+    }
+
+    @Override
+    protected void givenMissingBranch(String id) {
+        when(branchService.findById(eq(id), anySet())).thenThrow(new BranchNotFoundException(id));
+    }
+
+    @Override
+    protected void givenSearch(String query, String state, List<Branch> matches) {
+        when(branchService.search(query, state, 10)).thenReturn(matches);
+    }
+
+    @Override
+    protected void givenHolidayCheck(String id, LocalDate date, boolean holiday) {
+        when(branchService.isHoliday(id, date)).thenReturn(holiday);
+        if (!holiday) {
+            doThrow(new HolidayOperationException("verificar", id, "No existe un feriado para la fecha: " + date))
+                    .when(branchService).verifyHoliday(id, date);
+        }
+    }
+
+    @Test
+    void returnsTheNextCursorWhenThePageIsFull() {
+        Branch next = branch();
+        next.setId(MISSING_ID);
+        when(branchService.findPage(eq(BRANCH_ID), eq(2), anySet())).thenReturn(List.of(branch(), next));
+
+        client.get().uri("/v1/branches?after={after}&limit={limit}", BRANCH_ID, 2)
+                .accept(MediaType.APPLICATION_JSON)
+                .exchange()
+                .expectStatus().isOk()
+                .expectHeader().valueEquals("X-Next-Cursor", MISSING_ID)
+                .expectBody()
+                .jsonPath("$.length()").isEqualTo(2)
+                .jsonPath("$[1].id").isEqualTo(MISSING_ID);
+    }
+
+    @Test
+    void omitsTheNextCursorOnTheLastPage() {
+        when(branchService.findPage(isNull(), eq(2), anySet())).thenReturn(List.of(branch()));
+
+        client.get().uri("/v1/branches?limit={limit}", 2)
+                .accept(MediaType.APPLICATION_JSON)
+                .exchange()
+                .expectStatus().isOk()
+                .expectHeader().doesNotExist("X-Next-Cursor")
+                .expectBody()
+                .jsonPath("$.length()").isEqualTo(1);
+    }
+
+    @Test
+    void rejectsInvalidPageLimits() {
+        client.get().uri("/v1/branches?limit={limit}", 0)
+                .exchange()
+                .expectStatus().isBadRequest()
+                .expectBody()
+                .jsonPath("$.code").isEqualTo("BAD_REQUEST");
+        client.get().uri("/v1/branches?limit={limit}", 1001)
+                .exchange()
+                .expectStatus().isBadRequest();
+        verify(branchService, never()).findPage(any(), anyInt(), anySet());
+    }
+
+    @Test
+    void streamsBranchesAsNdjson() throws Exception {
+        Branch second = branch();
+        second.setId(MISSING_ID);
+        when(branchService.streamAll()).thenReturn(Stream.of(branch(), second));
+
+        MvcResult started = mockMvc.perform(get("/v1/branches/stream").accept(MediaType.APPLICATION_NDJSON))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+        String body = mockMvc.perform(asyncDispatch(started))
+                .andExpect(status().isOk())
+                .andExpect(content().contentType(MediaType.APPLICATION_NDJSON))
+                .andReturn().getResponse().getContentAsString();
+
+        String[] lines = body.split("\n");
+        assertEquals(2, lines.length);
+        assertEquals(BRANCH_ID, readTree(new JsonFactory(), lines[0].getBytes(StandardCharsets.UTF_8)).get("id").asText());
+        assertEquals(MISSING_ID, readTree(new JsonFactory(), lines[1].getBytes(StandardCharsets.UTF_8)).get("id").asText());
+    }
+
+    @Test
+    void getsHolidaysAsCbor() {
+        MediaType cbor = MediaType.valueOf("application/cbor");
+        givenBranch(branch());
+
+        client.get().uri("/v1/branches/{id}/holidays", BRANCH_ID)
+                .accept(cbor)
+                .exchange()
+                .expectStatus().isOk()
+                .expectHeader().contentType(cbor)
+                .expectHeader().valueEquals(HttpHeaders.VARY, HttpHeaders.ACCEPT)
+                .expectBody(byte[].class)
+                .value(body -> {
+                    JsonNode holidays = readTree(new CBORFactory(), body);
+                    assertEquals(1, holidays.size());
+                    assertEquals(HOLIDAY.toString(), holidays.get(0).get("date").asText());
+                });
+    }
+
+    @Test
+    void answersNotModifiedUntilTheBranchChanges() {
+        givenBranch(branch());
+
+        String eTag = client.get().uri("/v1/branches/{id}", BRANCH_ID)
+                .accept(MediaType.APPLICATION_JSON)
+                .exchange()
+                .expectStatus().isOk()
+                .returnResult(byte[].class)
+                .getResponseHeaders().getETag();
+        client.get().uri("/v1/branches/{id}", BRANCH_ID)
+                .accept(MediaType.APPLICATION_JSON)
+                .ifNoneMatch(eTag)
+                .exchange()
+                .expectStatus().isNotModified()
+                .expectHeader().valueEquals(HttpHeaders.ETAG, eTag)
+                .expectBody().isEmpty();
+
+        Branch updated = branch();
+        updated.setPhoneNumber("+593999999999");
+        updated.setLastModifiedDate(updated.getLastModifiedDate().plusMinutes(1));
+        givenBranch(updated);
+
+        String updatedETag = client.get().uri("/v1/branches/{id}", BRANCH_ID)
+                .accept(MediaType.APPLICATION_JSON)
+                .ifNoneMatch(eTag)
+                .exchange()
+                .expectStatus().isOk()
+                .expectBody()
+                .jsonPath("$.phoneNumber").isEqualTo("+593999999999")
+                .returnResult()
+                .getResponseHeaders().getETag();
+        assertNotEquals(eTag, updatedETag);
+    }
+
+    @Test
+    void keepsOneETagPerWireFormatAndVariesNotModifiedByAccept() {
+        MediaType cbor = MediaType.valueOf("application/cbor");
+        givenBranch(branch());
+
+        String jsonETag = client.get().uri("/v1/branches/{id}", BRANCH_ID)
+                .accept(MediaType.APPLICATION_JSON)
+                .exchange()
+                .expectStatus().isOk()
+                .expectHeader().valueEquals(HttpHeaders.VARY, HttpHeaders.ACCEPT)
+                .returnResult(byte[].class)
+                .getResponseHeaders().getETag();
+        String cborETag = client.get().uri("/v1/branches/{id}", BRANCH_ID)
+                .accept(cbor)
+                .exchange()
+                .expectStatus().isOk()
+                .expectHeader().contentType(cbor)
+                .returnResult(byte[].class)
+                .getResponseHeaders().getETag();
+
+        assertNotEquals(jsonETag, cborETag);
+        client.get().uri("/v1/branches/{id}", BRANCH_ID)
+                .accept(cbor)
+                .ifNoneMatch(cborETag)
+                .exchange()
+                .expectStatus().isNotModified()
+                .expectHeader().valueEquals(HttpHeaders.VARY, HttpHeaders.ACCEPT);
+        client.get().uri("/v1/branches/{id}", BRANCH_ID)
+                .accept(MediaType.APPLICATION_JSON)
+                .ifNoneMatch(cborETag)
+                .exchange()
+                .expectStatus().isOk();
+    }
+}
@@ -0,0 +1,88 @@
+package com.banquito.core.examen2p.controller;
+
+import com.banquito.core.examen2p.config.JacksonConfig;
+import com.banquito.core.examen2p.controller.mapper.BranchMapper;
+import com.banquito.core.examen2p.exception.BranchNotFoundException;
+import com.banquito.core.examen2p.exception.HolidayOperationException;
+import com.banquito.core.examen2p.model.Branch;
+import com.banquito.core.examen2p.service.BranchMetrics;
+import com.banquito.core.examen2p.service.ReactiveBranchService;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.reactive.WebFluxTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.http.MediaType;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.context.bean.override.mockito.MockitoBean;
+import org.springframework.test.web.reactive.server.WebTestClient;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.time.LocalDate;
+import java.util.List;
+
+import static org.mockito.Mockito.when;
+
+@WebFluxTest(ReactiveBranchController.class)
+@ActiveProfiles("reactive")
+@Import({BranchMapper.class, JacksonConfig.class})
+class ReactiveBranchControllerContractTest extends BranchApiContract {
+
+    @Autowired
+    private WebTestClient webTestClient;
+
+    @MockitoBean
+    private ReactiveBranchService branchService;
+
+    @MockitoBean
+    private BranchMetrics branchMetrics;
+
+    @Override
+    protected WebTestClient createClient() {
+        return webTestClient;
+    }
+
+    @Test
+    void leavesMvcOnlyEndpointsUnmapped() {
+        client.put().uri("/v1/branches/{id}/calendars", BRANCH_ID)
+                .contentType(MediaType.APPLICATION_JSON)
+                .bodyValue("{\"calendarIds\":[]}")
+                .exchange()
+                .expectStatus().isNotFound();
+        client.get().uri("/v1/branches/{id}/business-days/next?date={date}", BRANCH_ID, WORKING_DAY)
+                .exchange()
+                .expectStatus().isNotFound();
+        client.get().uri("/v1/holiday-calendars")
+                .exchange()
+                .expectStatus().isNotFound();
+    }
+
+    @Override
+    protected void givenBranches(List<Branch> branches) {
+        when(branchService.findAll()).thenReturn(Flux.fromIterable(branches));
+    }
+
+    @Override
+    protected void givenBranch(Branch branch) {
+        when(branchService.findById(branch.getId())).thenReturn(Mono.just(branch));
+        when(branchService.getHolidays(branch.getId())).thenReturn(Mono.just(branch.getBranchHolidays()));
+    }
+
+    @Override
+    protected void givenMissingBranch(String id) {
+        when(branchService.findById(id)).thenReturn(Mono.error(new BranchNotFoundException(id)));
+    }
+
+    @Override
+    protected void givenSearch(String query, String state, List<Branch> matches) {
+        when(branchService.search(query, state, 10)).thenReturn(Mono.just(matches));
+    }
+
+    @Override
+    protected void givenHolidayCheck(String id, LocalDate date, boolean holiday) {
+        when(branchService.isHoliday(id, date)).thenReturn(Mono.just(holiday));
+        when(branchService.verifyHoliday(id, date)).thenReturn(holiday
+                ? Mono.<Void>empty()
+                : Mono.<Void>error(new HolidayOperationException("verificar", id, "No existe un feriado para la fecha: " + date)));
+    }
+}
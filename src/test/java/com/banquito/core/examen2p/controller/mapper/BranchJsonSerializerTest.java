@@ -0,0 +1,98 @@
+package com.banquito.core.examen2p.controller.mapper;
+
+import com.banquito.core.examen2p.config.JacksonConfig;
+import com.banquito.core.examen2p.controller.BranchFields;
+import com.banquito.core.examen2p.model.Branch;
+import com.banquito.core.examen2p.model.BranchHoliday;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import com.fasterxml.jackson.databind.ser.impl.SimpleFilterProvider;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.json.JsonTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.core.io.ClassPathResource;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+@JsonTest
+@Import(JacksonConfig.class)
+class BranchJsonSerializerTest {
+
+    private final BranchMapper branchMapper = new BranchMapper();
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Test
+    void writesBranchLikeDto() throws IOException {
+        Branch branch = branch();
+
+        assertGolden("branch.json", objectMapper.writeValueAsString(branch));
+        assertGolden("branch.json", objectMapper.writeValueAsString(branchMapper.toDto(branch)));
+    }
+
+    @Test
+    void writesNullsAndMissingHolidaysLikeDto() throws IOException {
+        Branch branch = new Branch();
+        branch.setId("65f0c0ffee0000000000dead");
+        branch.setName("Sucursal Norte");
+
+        assertGolden("branch-sparse.json", objectMapper.writeValueAsString(branch));
+        assertGolden("branch-sparse.json", objectMapper.writeValueAsString(branchMapper.toDto(branch)));
+    }
+
+    @Test
+    void honoursFieldsFilterLikeDto() throws IOException {
+        ObjectWriter writer = objectMapper.writer(new SimpleFilterProvider()
+                .addFilter(BranchFields.FILTER_ID, BranchFields.filter(Set.of("id", "name", "branchHolidays"))));
+        Branch branch = branch();
+
+        assertGolden("branch-fields.json", writer.writeValueAsString(branch));
+        assertGolden("branch-fields.json", writer.writeValueAsString(branchMapper.toDto(branch)));
+    }
+
+    @Test
+    void writesHolidayListLikeDto() throws IOException {
+        List<BranchHoliday> holidays = branch().getBranchHolidays();
+
+        assertGolden("holidays.json", objectMapper.writeValueAsString(holidays));
+        assertGolden("holidays.json", objectMapper.writeValueAsString(branchMapper.toHolidayDtos(holidays)));
+    }
+
+    private static void assertGolden(String file, String actual) throws IOException {
+        String expected = new ClassPathResource("golden/" + file).getContentAsString(StandardCharsets.UTF_8).strip();
+        assertEquals(expected, actual, file);
+    }
+
+    private static Branch branch() {
+        Branch branch = new Branch();
+        branch.setId("65f0c0ffee0000000000beef");
+        branch.setEmailAddress("centro@banquito.com");
+        branch.setName("Sucursal Centro");
+        branch.setPhoneNumber("+593987654321");
+        branch.setState("ACTIVE");
+        branch.setCreationDate(LocalDateTime.of(2024, 1, 15, 9, 30));
+        branch.setLastModifiedDate(LocalDateTime.of(2025, 3, 2, 17, 45, 12));
+        List<BranchHoliday> holidays = new ArrayList<>();
+        holidays.add(holiday(LocalDate.of(2099, 8, 10), "Primer Grito de Independencia"));
+        holidays.add(holiday(LocalDate.of(2099, 12, 25), "Navidad"));
+        branch.setBranchHolidays(holidays);
+        return branch;
+    }
+
+    private static BranchHoliday holiday(LocalDate date, String name) {
+        BranchHoliday holiday = new BranchHoliday();
+        holiday.setDate(date);
+        holiday.setName(name);
+        return holiday;
+    }
+}
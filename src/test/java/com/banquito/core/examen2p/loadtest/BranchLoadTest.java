@@ -0,0 +1,176 @@
+package com.banquito.core.examen2p.loadtest;
+
+import java.io.IOException;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.time.Duration;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+public final class BranchLoadTest {
+    private static final Pattern ID_PATTERN = Pattern.compile("\"id\"\\s*:\\s*\"([^\"]+)\"");
+
+    private BranchLoadTest() {
+    }
+
+    public static void main(String[] args) throws Exception {
+        String baseUrl = System.getProperty("loadtest.url", "http://localhost:8080");
+        String label = System.getProperty("loadtest.label", "default");
+        Scenario scenario = Scenario.valueOf(System.getProperty("loadtest.scenario", "page").toUpperCase());
+        int concurrency = Integer.getInteger("loadtest.concurrency", 1000);
+        int warmupSeconds = Integer.getInteger("loadtest.warmup-seconds", 10);
+        int durationSeconds = Integer.getInteger("loadtest.duration-seconds", 30);
+        String output = System.getProperty("loadtest.output");
+
+        HttpClient client = HttpClient.newBuilder()
+                .executor(Executors.newVirtualThreadPerTaskExecutor())
+                .connectTimeout(Duration.ofSeconds(5))
+                .build();
+        List<String> branchIds = branchIds(client, baseUrl);
+        if (branchIds.isEmpty()) {
+            throw new IllegalStateException("No hay sucursales en " + baseUrl + " para ejecutar la prueba");
+        }
+
+        run(client, baseUrl, scenario, branchIds, concurrency, warmupSeconds);
+        Result result = run(client, baseUrl, scenario, branchIds, concurrency, durationSeconds);
+
+        String line = String.format("%s scenario=%s concurrency=%d requests=%d errors=%d rejected=%d throughput=%.1f req/s p50=%.2f ms p99=%.2f ms max=%.2f ms",
+                label, scenario.name().toLowerCase(), concurrency, result.requests(), result.errors(), result.rejected(), result.throughput(),
+                result.percentileMillis(0.50), result.percentileMillis(0.99), result.percentileMillis(1.0));
+        System.out.println(line);
+        if (output != null) {
+            Files.writeString(Path.of(output), line + System.lineSeparator(),
+                    StandardOpenOption.CREATE, StandardOpenOption.APPEND);
+        }
+    }
+
+    private static List<String> branchIds(HttpClient client, String baseUrl) throws IOException, InterruptedException {
+        HttpRequest request = HttpRequest.newBuilder(URI.create(baseUrl + "/v1/branches?limit=1000&fields=id")).build();
+        String body = client.send(request, HttpResponse.BodyHandlers.ofString()).body();
+        List<String> ids = new ArrayList<>();
+        Matcher matcher = ID_PATTERN.matcher(body);
+        while (matcher.find()) {
+            ids.add(matcher.group(1));
+        }
+        return ids;
+    }
+
+    private static Result run(HttpClient client, String baseUrl, Scenario scenario, List<String> branchIds,
+                              int concurrency, int seconds) throws InterruptedException {
+        long deadline = System.nanoTime() + Duration.ofSeconds(seconds).toNanos();
+        AtomicLong errors = new AtomicLong();
+        AtomicLong rejected = new AtomicLong();
+        List<LatencyRecorder> recorders = new ArrayList<>();
+        long started = System.nanoTime();
+        try (ExecutorService workers = Executors.newVirtualThreadPerTaskExecutor()) {
+            for (int i = 0; i < concurrency; i++) {
+                LatencyRecorder recorder = new LatencyRecorder();
+                recorders.add(recorder);
+                workers.submit(() -> {
+                    ThreadLocalRandom random = ThreadLocalRandom.current();
+                    LocalDate base = LocalDate.now();
+                    while (System.nanoTime() < deadline) {
+                        String id = branchIds.get(random.nextInt(branchIds.size()));
+                        URI uri = URI.create(baseUrl + scenario.path(id, base.plusDays(random.nextInt(365))));
+                        long start = System.nanoTime();
+                        try {
+                            int status = client.send(HttpRequest.newBuilder(uri).build(),
+                                    HttpResponse.BodyHandlers.discarding()).statusCode();
+                            if (status == 429 || status == 503) {
+                                rejected.incrementAndGet();
+                                continue;
+                            }
+                            if (status >= 500) {
+                                errors.incrementAndGet();
+                            }
+                        } catch (IOException e) {
+                            errors.incrementAndGet();
+                        } catch (InterruptedException e) {
+                            Thread.currentThread().interrupt();
+                            return;
+                        }
+                        recorder.record(System.nanoTime() - start);
+                    }
+                });
+            }
+        }
+        long elapsed = System.nanoTime() - started;
+        long[] all = recorders.stream()
+                .flatMapToLong(recorder -> Arrays.stream(recorder.trimmed()))
+                .sorted()
+                .toArray();
+        return new Result(all, errors.get(), rejected.get(), elapsed);
+    }
+
+    private enum Scenario {
+        PAGE {
+            @Override
+            String path(String id, LocalDate date) {
+                return "/v1/branches?after=" + id + "&limit=" + PAGE_SIZE;
+            }
+        },
+        BRANCH {
+            @Override
+            String path(String id, LocalDate date) {
+                return "/v1/branches/" + id;
+            }
+        },
+        CHECK {
+            @Override
+            String path(String id, LocalDate date) {
+                return "/v1/branches/" + id + "/holidays/check?date=" + date;
+            }
+        };
+
+        private static final int PAGE_SIZE = 20;
+
+        abstract String path(String id, LocalDate date);
+    }
+
+    private static final class LatencyRecorder {
+        private long[] values = new long[1024];
+        private int size;
+
+        void record(long nanos) {
+            if (size == values.length) {
+                values = Arrays.copyOf(values, size * 2);
+            }
+            values[size++] = nanos;
+        }
+
+        long[] trimmed() {
+            return Arrays.copyOf(values, size);
+        }
+    }
+
+    private record Result(long[] sortedNanos, long errors, long rejected, long elapsedNanos) {
+        long requests() {
+            return sortedNanos.length;
+        }
+
+        double throughput() {
+            return sortedNanos.length / (elapsedNanos / 1_000_000_000.0);
+        }
+
+        double percentileMillis(double percentile) {
+            if (sortedNanos.length == 0) {
+                return 0;
+            }
+            int index = (int) Math.ceil(percentile * sortedNanos.length) - 1;
+            return sortedNanos[Math.max(index, 0)] / 1_000_000.0;
+        }
+    }
+}
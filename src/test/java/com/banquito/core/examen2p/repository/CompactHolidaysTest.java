@@ -0,0 +1,106 @@
+package com.banquito.core.examen2p.repository;
+
+import com.banquito.core.examen2p.model.BranchHoliday;
+import org.bson.Document;
+import org.bson.RawBsonDocument;
+import org.bson.codecs.DocumentCodec;
+import org.junit.jupiter.api.Test;
+
+import java.time.LocalDate;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.Date;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class CompactHolidaysTest {
+
+    @Test
+    void roundTripsSortedDatesAndDeduplicatesNames() {
+        List<BranchHoliday> holidays = List.of(
+                holiday(LocalDate.of(2026, 12, 25), "Navidad"),
+                holiday(LocalDate.of(1969, 12, 31), "Fin de año"),
+                holiday(LocalDate.of(2025, 12, 25), "Navidad"),
+                holiday(LocalDate.of(2026, 5, 24), "Batalla del Pichincha"));
+
+        Document document = new Document(CompactHolidays.LEGACY_FIELD, List.of(new Document("name", "Navidad")));
+        CompactHolidays.encode(holidays, document);
+
+        assertFalse(document.containsKey(CompactHolidays.LEGACY_FIELD));
+        assertEquals(List.of("Fin de año", "Navidad", "Batalla del Pichincha"), document.get(CompactHolidays.NAMES_FIELD));
+        List<BranchHoliday> decoded = CompactHolidays.decode(document);
+        assertEquals(List.of(
+                holiday(LocalDate.of(1969, 12, 31), "Fin de año"),
+                holiday(LocalDate.of(2025, 12, 25), "Navidad"),
+                holiday(LocalDate.of(2026, 5, 24), "Batalla del Pichincha"),
+                holiday(LocalDate.of(2026, 12, 25), "Navidad")), decoded);
+    }
+
+    @Test
+    void keepsRuleHolidaysAsSubdocuments() {
+        Document carnival = new Document("name", "Carnaval")
+                .append("rule", new Document("type", "EASTER_OFFSET").append("offsetDays", -48));
+        Document document = new Document(CompactHolidays.LEGACY_FIELD,
+                List.of(new Document("name", "Navidad"), carnival));
+
+        CompactHolidays.encode(List.of(holiday(LocalDate.of(2026, 12, 25), "Navidad")), document);
+
+        assertEquals(List.of(carnival), document.get(CompactHolidays.LEGACY_FIELD));
+        assertEquals(1, CompactHolidays.decode(document).size());
+    }
+
+    @Test
+    void dateRangeCoversEveryNameIndex() {
+        LocalDate date = LocalDate.of(2026, 8, 10);
+        long first = CompactHolidays.firstCode(date);
+        long next = CompactHolidays.firstCodeAfter(date);
+
+        assertEquals(first, CompactHolidays.code(date, 0));
+        assertTrue(CompactHolidays.code(date, CompactHolidays.MAX_NAMES - 1) < next);
+        assertEquals(next, CompactHolidays.code(date.plusDays(1), 0));
+    }
+
+    @Test
+    void mergesLegacyEntriesLeftByOlderWriters() {
+        Document document = new Document();
+        CompactHolidays.encode(List.of(holiday(LocalDate.of(2026, 1, 1), "Año nuevo")), document);
+
+        List<BranchHoliday> merged = CompactHolidays.merge(CompactHolidays.decode(document),
+                List.of(holiday(LocalDate.of(2025, 11, 2), "Difuntos")));
+
+        assertEquals(List.of(LocalDate.of(2025, 11, 2), LocalDate.of(2026, 1, 1)),
+                merged.stream().map(BranchHoliday::getDate).toList());
+    }
+
+    @Test
+    void compactDocumentIsSmallerThanSubdocuments() {
+        List<BranchHoliday> holidays = new ArrayList<>();
+        List<Document> subdocuments = new ArrayList<>();
+        for (int i = 0; i < 1000; i++) {
+            LocalDate date = LocalDate.of(2020, 1, 1).plusDays(i * 3L);
+            holidays.add(holiday(date, "Feriado nacional " + (i % 12)));
+            subdocuments.add(new Document("date", Date.from(date.atStartOfDay(ZoneOffset.UTC).toInstant()))
+                    .append("name", "Feriado nacional " + (i % 12)));
+        }
+        Document compact = new Document();
+        CompactHolidays.encode(holidays, compact);
+
+        int documentsSize = size(new Document(CompactHolidays.LEGACY_FIELD, subdocuments));
+        int compactSize = size(compact);
+        assertTrue(compactSize * 3 < documentsSize, compactSize + " vs " + documentsSize);
+    }
+
+    private static int size(Document document) {
+        return new RawBsonDocument(document, new DocumentCodec()).getByteBuffer().remaining();
+    }
+
+    private static BranchHoliday holiday(LocalDate date, String name) {
+        BranchHoliday holiday = new BranchHoliday();
+        holiday.setDate(date);
+        holiday.setName(name);
+        return holiday;
+    }
+}
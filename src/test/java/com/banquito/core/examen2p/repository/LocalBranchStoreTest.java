@@ -0,0 +1,208 @@
+package com.banquito.core.examen2p.repository;
+
+import com.banquito.core.examen2p.model.Branch;
+import com.banquito.core.examen2p.model.BranchHoliday;
+import com.banquito.core.examen2p.model.BranchTombstone;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.file.Path;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class LocalBranchStoreTest {
+
+    private static final LocalDateTime NOW = LocalDateTime.of(2026, 1, 1, 8, 0);
+
+    @TempDir
+    Path directory;
+
+    @Test
+    void replaysLogAfterReopening() throws IOException {
+        Path file = directory.resolve("branches.log");
+        LocalBranchStore store = new LocalBranchStore(file, 0);
+        Branch saved = store.save(branch(null, "Sucursal Norte"));
+        assertNotNull(saved.getId());
+        store.updatePhoneNumber(saved.getId(), "+593999999999", NOW);
+        store.pushHoliday(saved.getId(), holiday(LocalDate.of(2026, 5, 24)), NOW);
+        store.close();
+
+        LocalBranchStore reopened = new LocalBranchStore(file, 0);
+        Branch loaded = reopened.findById(saved.getId()).orElseThrow();
+        assertEquals("+593999999999", loaded.getPhoneNumber());
+        assertEquals(LocalDate.of(2026, 5, 24), loaded.getBranchHolidays().get(0).getDate());
+        reopened.close();
+    }
+
+    @Test
+    void calendarReferencesSurviveReopening() throws IOException {
+        Path file = directory.resolve("branches.log");
+        LocalBranchStore store = new LocalBranchStore(file, 0);
+        store.save(branch("a", "Sucursal A"));
+        store.updateCalendars("a", List.of("nacional"), List.of(LocalDate.of(2026, 2, 16)), NOW);
+        assertTrue(store.isCalendarReferenced("nacional"));
+        store.close();
+
+        LocalBranchStore reopened = new LocalBranchStore(file, 0);
+        Branch loaded = reopened.findById("a").orElseThrow();
+        assertEquals(List.of("nacional"), loaded.getCalendarIds());
+        assertEquals(List.of(LocalDate.of(2026, 2, 16)), loaded.getExcludedHolidays());
+        assertTrue(reopened.isCalendarReferenced("nacional"));
+        assertFalse(reopened.isCalendarReferenced("regional"));
+        reopened.close();
+    }
+
+    @Test
+    void pullReportsMissingDateWithoutWriting() throws IOException {
+        LocalBranchStore store = new LocalBranchStore(directory.resolve("branches.log"), 0);
+        store.save(branch("a", "Sucursal A"));
+        store.pushHoliday("a", holiday(LocalDate.of(2026, 8, 10)), NOW);
+
+        assertTrue(store.pullHoliday("a", LocalDate.of(2026, 1, 1), NOW).isEmpty());
+        assertTrue(store.pullHoliday("desconocida", LocalDate.of(2026, 8, 10), NOW).isEmpty());
+        assertTrue(store.pullHoliday("a", LocalDate.of(2026, 8, 10), NOW).orElseThrow().getBranchHolidays().isEmpty());
+        store.close();
+    }
+
+    @Test
+    void pushKeepsHolidaysSortedAndRejectsDuplicateDates() throws IOException {
+        LocalBranchStore store = new LocalBranchStore(directory.resolve("branches.log"), 0);
+        store.save(branch("a", "Sucursal A"));
+        store.pushHoliday("a", holiday(LocalDate.of(2026, 11, 2)), NOW);
+        store.pushHoliday("a", holiday(LocalDate.of(2026, 5, 24)), NOW);
+        store.pushHoliday("a", holiday(LocalDate.of(2026, 8, 10)), NOW);
+
+        assertTrue(store.pushHoliday("a", holiday(LocalDate.of(2026, 8, 10)), NOW).isEmpty());
+        assertEquals(List.of(LocalDate.of(2026, 5, 24), LocalDate.of(2026, 8, 10), LocalDate.of(2026, 11, 2)),
+                store.findById("a").orElseThrow().getBranchHolidays().stream().map(BranchHoliday::getDate).toList());
+        store.close();
+    }
+
+    @Test
+    void insertAllReportsDuplicatesByIndex() throws IOException {
+        LocalBranchStore store = new LocalBranchStore(directory.resolve("branches.log"), 0);
+        store.save(branch("a", "Sucursal A"));
+
+        Map<Integer, String> failures = store.insertAll(List.of(branch("b", "Sucursal B"), branch("a", "Otra A")));
+
+        assertEquals(Set.of(1), failures.keySet());
+        assertEquals("Sucursal A", store.findById("a").orElseThrow().getName());
+        assertEquals(List.of("a", "b"), store.findPage(null, 10, Set.of()).stream().map(Branch::getId).toList());
+        assertEquals(List.of("b"), store.findPage("a", 10, Set.of()).stream().map(Branch::getId).toList());
+        store.close();
+    }
+
+    @Test
+    void handsOutCopiesThatDoNotChangeStoredBranches() throws IOException {
+        LocalBranchStore store = new LocalBranchStore(directory.resolve("branches.log"), 0);
+        Branch saved = store.save(branch("a", "Sucursal A"));
+        saved.setName("Modificada");
+        Branch found = store.findById("a").orElseThrow();
+        found.getBranchHolidays().add(holiday(LocalDate.of(2026, 8, 10)));
+        store.findAll().get(0).setState("INACTIVE");
+
+        Branch stored = store.findById("a").orElseThrow();
+        assertEquals("Sucursal A", stored.getName());
+        assertEquals("ACTIVE", stored.getState());
+        assertTrue(stored.getBranchHolidays().isEmpty());
+        store.close();
+    }
+
+    @Test
+    void storesHolidaysSortedAndHandsOutDeepCopies() throws IOException {
+        LocalBranchStore store = new LocalBranchStore(directory.resolve("branches.log"), 0);
+        Branch branch = branch("a", "Sucursal A");
+        branch.getBranchHolidays().add(holiday(LocalDate.of(2026, 12, 25)));
+        branch.getBranchHolidays().add(holiday(LocalDate.of(2026, 8, 10)));
+        store.save(branch);
+        store.findById("a").orElseThrow().getBranchHolidays().get(0).setName("Modificado");
+
+        List<BranchHoliday> stored = store.findById("a").orElseThrow().getBranchHolidays();
+        assertEquals(List.of(LocalDate.of(2026, 8, 10), LocalDate.of(2026, 12, 25)),
+                stored.stream().map(BranchHoliday::getDate).toList());
+        assertEquals("Feriado", stored.get(0).getName());
+        store.close();
+    }
+
+    @Test
+    void compactionKeepsLatestVersion() throws IOException {
+        Path file = directory.resolve("branches.log");
+        LocalBranchStore store = new LocalBranchStore(file, 0);
+        store.save(branch("a", "Sucursal A"));
+        for (int i = 0; i < 200; i++) {
+            store.updatePhoneNumber("a", "+59390000" + String.format("%04d", i), NOW);
+        }
+        store.compact();
+        store.save(branch("b", "Sucursal B"));
+        store.close();
+
+        LocalBranchStore reopened = new LocalBranchStore(file, 0);
+        assertEquals("+593900000199", reopened.findById("a").orElseThrow().getPhoneNumber());
+        assertEquals(List.of("a", "b"), reopened.findAll().stream().map(Branch::getId).toList());
+        reopened.close();
+    }
+
+    @Test
+    void tombstonesSurviveCompactionAndReopening() throws IOException {
+        Path file = directory.resolve("branches.log");
+        LocalBranchStore store = new LocalBranchStore(file, 0);
+        store.save(branch("a", "Sucursal A"));
+        store.save(branch("b", "Sucursal B"));
+        assertTrue(store.deleteById("a", NOW).isPresent());
+        assertTrue(store.deleteById("a", NOW).isEmpty());
+        store.compact();
+        store.close();
+
+        LocalBranchStore reopened = new LocalBranchStore(file, 0);
+        assertTrue(reopened.findById("a").isEmpty());
+        assertEquals(List.of("a"), reopened.findDeletedSince(NOW.minusDays(1), null, NOW.plusDays(1), 10).stream()
+                .map(BranchTombstone::getId).toList());
+        reopened.close();
+    }
+
+    @Test
+    void growsMappingBeyondInitialSize() throws IOException {
+        Path file = directory.resolve("branches.log");
+        LocalBranchStore store = new LocalBranchStore(file, 0);
+        List<Branch> branches = new ArrayList<>();
+        for (int i = 0; i < 5000; i++) {
+            branches.add(branch(String.format("%05d", i), "Sucursal con un nombre suficientemente largo " + i));
+        }
+        store.insertAll(branches);
+        store.close();
+
+        LocalBranchStore reopened = new LocalBranchStore(file, 0);
+        assertEquals(5000, reopened.findAll().size());
+        reopened.close();
+    }
+
+    private static Branch branch(String id, String name) {
+        Branch branch = new Branch();
+        branch.setId(id);
+        branch.setName(name);
+        branch.setEmailAddress("sucursal@banquito.com");
+        branch.setPhoneNumber("+593987654321");
+        branch.setState("ACTIVE");
+        branch.setCreationDate(NOW);
+        branch.setLastModifiedDate(NOW);
+        branch.setBranchHolidays(new ArrayList<>());
+        return branch;
+    }
+
+    private static BranchHoliday holiday(LocalDate date) {
+        BranchHoliday holiday = new BranchHoliday();
+        holiday.setDate(date);
+        holiday.setName("Feriado");
+        return holiday;
+    }
+}
@@ -0,0 +1,65 @@
+package com.banquito.core.examen2p.repository;
+
+import com.banquito.core.examen2p.model.BranchHoliday;
+import com.banquito.core.examen2p.model.HolidayCalendar;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.nio.file.Path;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class LocalHolidayCalendarStoreTest {
+
+    private static final LocalDateTime NOW = LocalDateTime.of(2026, 1, 1, 8, 0);
+
+    @TempDir
+    Path directory;
+
+    @Test
+    void persistsCalendarChangesAcrossRestarts() {
+        Path file = directory.resolve("holiday-calendars.json");
+        LocalHolidayCalendarStore store = new LocalHolidayCalendarStore(file);
+        HolidayCalendar calendar = new HolidayCalendar();
+        calendar.setName("Nacional");
+        HolidayCalendar saved = store.save(calendar);
+        assertNotNull(saved.getId());
+        store.pushHoliday(saved.getId(), holiday(LocalDate.of(2026, 8, 10)), NOW);
+        store.pushHoliday(saved.getId(), holiday(LocalDate.of(2026, 10, 9)), NOW);
+        store.pullHoliday(saved.getId(), LocalDate.of(2026, 8, 10), NOW);
+
+        LocalHolidayCalendarStore reopened = new LocalHolidayCalendarStore(file);
+        HolidayCalendar loaded = reopened.findById(saved.getId()).orElseThrow();
+        assertEquals("Nacional", loaded.getName());
+        assertEquals(1, loaded.getHolidays().size());
+        assertEquals(LocalDate.of(2026, 10, 9), loaded.getHolidays().get(0).getDate());
+        assertEquals(NOW, loaded.getLastModifiedDate());
+    }
+
+    @Test
+    void deleteAndMissingPullsReportAbsence() {
+        LocalHolidayCalendarStore store = new LocalHolidayCalendarStore(directory.resolve("calendars.json"));
+        HolidayCalendar calendar = new HolidayCalendar();
+        calendar.setId("nacional");
+        calendar.setName("Nacional");
+        store.save(calendar);
+
+        assertTrue(store.pullHoliday("nacional", LocalDate.of(2026, 1, 1), NOW).isEmpty());
+        assertTrue(store.pullHolidayRule("nacional", "Carnaval", NOW).isEmpty());
+        assertTrue(store.deleteById("nacional"));
+        assertFalse(store.deleteById("nacional"));
+        assertTrue(store.findAll().isEmpty());
+    }
+
+    private static BranchHoliday holiday(LocalDate date) {
+        BranchHoliday holiday = new BranchHoliday();
+        holiday.setDate(date);
+        holiday.setName("Feriado " + date);
+        return holiday;
+    }
+}
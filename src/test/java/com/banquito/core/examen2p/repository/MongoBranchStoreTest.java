@@ -0,0 +1,130 @@
+package com.banquito.core.examen2p.repository;
+
+import com.banquito.core.examen2p.model.Branch;
+import com.banquito.core.examen2p.model.BranchTombstone;
+import org.bson.Document;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+import org.mockito.InOrder;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.index.IndexOperations;
+import org.springframework.data.mongodb.core.query.Query;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Optional;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.inOrder;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+class MongoBranchStoreTest {
+
+    private static final LocalDate CHRISTMAS = LocalDate.of(2027, 12, 25);
+
+    private MongoTemplate mongoTemplate;
+
+    @BeforeEach
+    void setUp() {
+        mongoTemplate = mock(MongoTemplate.class);
+        when(mongoTemplate.indexOps(Branch.class)).thenReturn(mock(IndexOperations.class));
+    }
+
+    @Test
+    void queriesEachClosureSourceThroughItsOwnIndexAndExcludesOnlySharedCalendarDays() {
+        when(mongoTemplate.find(any(Query.class), eq(Branch.class))).thenAnswer(invocation -> {
+            Document filter = invocation.<Query>getArgument(0).getQueryObject();
+            if (filter.containsKey("branchHolidays.date")) {
+                return List.of(branch("b2"));
+            }
+            if (filter.containsKey(CompactHolidays.CODES_FIELD)) {
+                return List.of(branch("b3"), branch("b1"));
+            }
+            return List.of(branch("b2"), branch("b4", CHRISTMAS), branch("b5", CHRISTMAS.plusDays(1)));
+        });
+        MongoBranchStore store = new MongoBranchStore(mock(BranchRepository.class), mongoTemplate, "compact");
+
+        List<Branch> closed = store.findClosedOn(CHRISTMAS, List.of("ecuador"), "ACTIVE");
+
+        assertEquals(List.of("b1", "b2", "b3", "b5"), closed.stream().map(Branch::getId).toList());
+        assertNull(closed.get(3).getExcludedHolidays());
+        ArgumentCaptor<Query> queries = ArgumentCaptor.forClass(Query.class);
+        verify(mongoTemplate, times(3)).find(queries.capture(), eq(Branch.class));
+        for (Query query : queries.getAllValues()) {
+            Document filter = query.getQueryObject();
+            assertFalse(filter.containsKey("$or"));
+            assertFalse(filter.containsKey("excludedHolidays"));
+            assertEquals("ACTIVE", filter.get("state"));
+        }
+        assertEquals(new Document("id", 1).append("name", 1), queries.getAllValues().get(0).getFieldsObject());
+        assertEquals(new Document("id", 1).append("name", 1), queries.getAllValues().get(1).getFieldsObject());
+        assertTrue(queries.getAllValues().get(2).getQueryObject().containsKey("calendarIds"));
+        assertTrue(queries.getAllValues().get(2).getFieldsObject().containsKey("excludedHolidays"));
+    }
+
+    @Test
+    void skipsCompactAndCalendarQueriesWhenTheyCannotMatch() {
+        when(mongoTemplate.find(any(Query.class), eq(Branch.class))).thenReturn(List.of(branch("b1")));
+        MongoBranchStore store = new MongoBranchStore(mock(BranchRepository.class), mongoTemplate, "documents");
+
+        List<Branch> closed = store.findClosedOn(CHRISTMAS, List.of(), null);
+
+        assertEquals(List.of("b1"), closed.stream().map(Branch::getId).toList());
+        ArgumentCaptor<Query> query = ArgumentCaptor.forClass(Query.class);
+        verify(mongoTemplate).find(query.capture(), eq(Branch.class));
+        assertEquals(new Document("branchHolidays.date", CHRISTMAS), query.getValue().getQueryObject());
+    }
+
+    @Test
+    void writesTheTombstoneBeforeRemovingTheBranch() {
+        Branch removed = branch("b1");
+        LocalDateTime deletedAt = LocalDateTime.of(2027, 1, 1, 8, 0);
+        when(mongoTemplate.exists(any(Query.class), eq(Branch.class))).thenReturn(true);
+        when(mongoTemplate.findAndRemove(any(Query.class), eq(Branch.class))).thenReturn(removed);
+        MongoBranchStore store = new MongoBranchStore(mock(BranchRepository.class), mongoTemplate, "documents");
+
+        assertEquals(Optional.of(removed), store.deleteById("b1", deletedAt));
+
+        InOrder order = inOrder(mongoTemplate);
+        order.verify(mongoTemplate).save(new BranchTombstone("b1", deletedAt));
+        order.verify(mongoTemplate).findAndRemove(any(Query.class), eq(Branch.class));
+    }
+
+    @Test
+    void leavesNoTombstoneForMissingBranches() {
+        when(mongoTemplate.exists(any(Query.class), eq(Branch.class))).thenReturn(false);
+        MongoBranchStore store = new MongoBranchStore(mock(BranchRepository.class), mongoTemplate, "documents");
+
+        assertEquals(Optional.empty(), store.deleteById("b1", LocalDateTime.now()));
+        verify(mongoTemplate, never()).save(any(BranchTombstone.class));
+    }
+
+    @Test
+    void listsSummariesThroughTheRepositoryProjection() {
+        BranchRepository repository = mock(BranchRepository.class);
+        when(repository.findAllSummaries()).thenReturn(List.of(branch("b1")));
+        MongoBranchStore store = new MongoBranchStore(repository, mongoTemplate, "documents");
+
+        assertEquals(List.of("b1"), store.findAll(BranchStore.SUMMARY_FIELDS).stream().map(Branch::getId).toList());
+        verify(mongoTemplate, never()).find(any(Query.class), eq(Branch.class));
+    }
+
+    private static Branch branch(String id, LocalDate... excluded) {
+        Branch branch = new Branch();
+        branch.setId(id);
+        branch.setName("Sucursal " + id);
+        branch.setExcludedHolidays(excluded.length == 0 ? null : List.of(excluded));
+        return branch;
+    }
+}
@@ -0,0 +1,93 @@
+package com.banquito.core.examen2p.service;
+
+import com.banquito.core.examen2p.model.Branch;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class BranchCacheTest {
+
+    @Test
+    void evictsLeastRecentlyUsedEntryWhenFull() {
+        BranchCache cache = new BranchCache(2);
+        cache.put(branch("a"), cache.version("a"));
+        cache.put(branch("b"), cache.version("b"));
+        cache.get("a");
+        cache.put(branch("c"), cache.version("c"));
+
+        assertNotNull(cache.get("a"));
+        assertNull(cache.get("b"));
+        assertNotNull(cache.get("c"));
+
+        BranchCache.Stats stats = cache.stats();
+        assertEquals(2, stats.size());
+        assertEquals(1, stats.evictions());
+        assertEquals(3, stats.hits());
+        assertEquals(1, stats.misses());
+    }
+
+    @Test
+    void discardsLoadsThatRaceWithInvalidation() {
+        BranchCache cache = new BranchCache(10);
+        long version = cache.version("a");
+        cache.invalidate("a");
+        cache.put(branch("a"), version);
+
+        assertNull(cache.get("a"));
+    }
+
+    @Test
+    void keepsLoadsOfOtherBranchesWhenOneIsInvalidated() {
+        BranchCache cache = new BranchCache(10);
+        long version = cache.version("a");
+        cache.invalidate("b");
+        cache.put(branch("a"), version);
+
+        assertNotNull(cache.get("a"));
+    }
+
+    @Test
+    void discardsLoadsThatRaceWithClear() {
+        BranchCache cache = new BranchCache(10);
+        long version = cache.version("a");
+        cache.clear();
+        cache.put(branch("a"), version);
+
+        assertNull(cache.get("a"));
+        cache.put(branch("a"), cache.version("a"));
+        assertNotNull(cache.get("a"));
+    }
+
+    @Test
+    void staysBoundedUnderConcurrentLoads() throws InterruptedException {
+        BranchCache cache = new BranchCache(50);
+        Thread[] threads = new Thread[4];
+        for (int t = 0; t < threads.length; t++) {
+            int offset = t * 1000;
+            threads[t] = new Thread(() -> {
+                for (int i = 0; i < 1000; i++) {
+                    String id = "branch-" + (offset + i);
+                    cache.put(branch(id), cache.version(id));
+                    cache.get(id);
+                }
+            });
+            threads[t].start();
+        }
+        for (Thread thread : threads) {
+            thread.join();
+        }
+
+        BranchCache.Stats stats = cache.stats();
+        assertTrue(stats.size() <= 50);
+        assertEquals(4000 - stats.size(), stats.evictions());
+    }
+
+    private static Branch branch(String id) {
+        Branch branch = new Branch();
+        branch.setId(id);
+        return branch;
+    }
+}
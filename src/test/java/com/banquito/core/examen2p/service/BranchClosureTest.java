@@ -0,0 +1,158 @@
+package com.banquito.core.examen2p.service;
+
+import com.banquito.core.examen2p.exception.BranchNotFoundException;
+import com.banquito.core.examen2p.exception.HolidayOperationException;
+import com.banquito.core.examen2p.exception.InvalidBranchDataException;
+import com.banquito.core.examen2p.model.Branch;
+import com.banquito.core.examen2p.model.BranchHoliday;
+import com.banquito.core.examen2p.model.HolidayCalendar;
+import com.banquito.core.examen2p.model.HolidayRule;
+import com.banquito.core.examen2p.model.HolidayRuleType;
+import com.banquito.core.examen2p.repository.LocalBranchStore;
+import com.banquito.core.examen2p.repository.LocalHolidayCalendarStore;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.file.Path;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class BranchClosureTest {
+
+    private static final LocalDate CARNIVAL = LocalDate.of(2027, 2, 8);
+    private static final LocalDate FOUNDATION = LocalDate.of(2027, 7, 25);
+    private static final LocalDate INDEPENDENCE = LocalDate.of(2027, 8, 10);
+
+    @TempDir
+    Path directory;
+
+    private LocalBranchStore branchStore;
+    private BranchService branchService;
+
+    @BeforeEach
+    void setUp() {
+        branchStore = new LocalBranchStore(directory.resolve("branches.log"), 0);
+        LocalHolidayCalendarStore calendarStore = new LocalHolidayCalendarStore(directory.resolve("holiday-calendars.json"));
+        HolidayCalendar national = new HolidayCalendar();
+        national.setId("nacional");
+        national.setName("Nacional");
+        national.setHolidays(new ArrayList<>(List.of(holiday(INDEPENDENCE, "Primer Grito de Independencia"))));
+        calendarStore.save(national);
+
+        BranchHoliday carnival = new BranchHoliday();
+        carnival.setName("Carnaval");
+        carnival.setRule(new HolidayRule());
+        carnival.getRule().setType(HolidayRuleType.EASTER_OFFSET);
+        carnival.getRule().setOffsetDays(-48);
+
+        branchStore.save(branch("a-quito", "ACTIVE", List.of("nacional"), List.of(), List.of()));
+        branchStore.save(branch("b-guayaquil", "ACTIVE", List.of("nacional"),
+                List.of(holiday(FOUNDATION, "Fundación de Guayaquil")), List.of()));
+        branchStore.save(branch("c-cuenca", "INACTIVE", List.of("nacional"), List.of(carnival), List.of()));
+        branchStore.save(branch("d-galapagos", "ACTIVE", List.of("nacional"), List.of(), List.of(INDEPENDENCE)));
+
+        HolidayCalendarIndex index = new HolidayCalendarIndex(branchStore, calendarStore);
+        index.load();
+        branchService = new BranchService(branchStore, index, new BranchCache(100),
+                new BranchMetrics(new SimpleMeterRegistry()), new BranchNameIndex(branchStore));
+    }
+
+    @AfterEach
+    void tearDown() throws IOException {
+        branchStore.close();
+    }
+
+    @Test
+    void closedOnCombinesLocalDatesCalendarsRulesAndExclusions() {
+        assertEquals(List.of("a-quito", "b-guayaquil", "c-cuenca"), ids(branchService.findClosedOn(INDEPENDENCE, null)));
+        assertEquals(List.of("b-guayaquil"), ids(branchService.findClosedOn(FOUNDATION, null)));
+        assertEquals(List.of("c-cuenca"), ids(branchService.findClosedOn(CARNIVAL, null)));
+        assertEquals(List.of(), ids(branchService.findClosedOn(CARNIVAL, "ACTIVE")));
+        assertEquals(List.of("a-quito", "b-guayaquil"), ids(branchService.findClosedOn(INDEPENDENCE, "ACTIVE")));
+    }
+
+    @Test
+    void closedBetweenGroupsClosuresByDay() {
+        Map<LocalDate, List<Branch>> closures = branchService.findClosedBetween(
+                LocalDate.of(2027, 7, 20), LocalDate.of(2027, 8, 15), null);
+
+        assertEquals(List.of(FOUNDATION, INDEPENDENCE), new ArrayList<>(closures.keySet()));
+        assertEquals(List.of("b-guayaquil"), ids(closures.get(FOUNDATION)));
+        assertEquals(List.of("a-quito", "b-guayaquil", "c-cuenca"), ids(closures.get(INDEPENDENCE)));
+    }
+
+    @Test
+    void closedBetweenRejectsLongOrInvertedRanges() {
+        assertThrows(InvalidBranchDataException.class,
+                () -> branchService.findClosedBetween(INDEPENDENCE, FOUNDATION, null));
+        assertThrows(InvalidBranchDataException.class,
+                () -> branchService.findClosedBetween(FOUNDATION, FOUNDATION.plusDays(31), null));
+    }
+
+    @Test
+    void holidayRangeMergesCalendarsRulesAndExclusions() {
+        List<BranchHoliday> guayaquil = branchService.getHolidays("b-guayaquil", FOUNDATION, INDEPENDENCE);
+        assertEquals(List.of(FOUNDATION, INDEPENDENCE), guayaquil.stream().map(BranchHoliday::getDate).toList());
+        assertEquals("Fundación de Guayaquil", guayaquil.get(0).getName());
+
+        assertEquals(List.of(), branchService.getHolidays("d-galapagos", FOUNDATION, INDEPENDENCE));
+        assertEquals(List.of(CARNIVAL, INDEPENDENCE), branchService.getHolidays("c-cuenca",
+                LocalDate.of(2027, 1, 1), LocalDate.of(2027, 12, 31)).stream().map(BranchHoliday::getDate).toList());
+    }
+
+    @Test
+    void exclusionsHideOnlySharedCalendarDays() {
+        branchService.updateCalendars("d-galapagos", List.of("nacional"), List.of(INDEPENDENCE, FOUNDATION));
+        branchService.addHoliday("d-galapagos", holiday(FOUNDATION, "Fundación de Galápagos"));
+
+        assertEquals(List.of("b-guayaquil", "d-galapagos"), ids(branchService.findClosedOn(FOUNDATION, null)));
+        assertEquals(List.of("a-quito", "b-guayaquil", "c-cuenca"), ids(branchService.findClosedOn(INDEPENDENCE, null)));
+        assertTrue(branchService.isHoliday("d-galapagos", FOUNDATION));
+        assertEquals(List.of(FOUNDATION), branchService.getHolidays("d-galapagos", FOUNDATION, INDEPENDENCE).stream()
+                .map(BranchHoliday::getDate).toList());
+    }
+
+    @Test
+    void addHolidayRejectsDuplicateDates() {
+        branchService.addHoliday("a-quito", holiday(FOUNDATION, "Fundación de Quito"));
+
+        assertThrows(HolidayOperationException.class,
+                () -> branchService.addHoliday("a-quito", holiday(FOUNDATION, "Otro nombre")));
+        assertThrows(BranchNotFoundException.class,
+                () -> branchService.addHoliday("desconocida", holiday(FOUNDATION, "Fundación")));
+        assertEquals(1, branchStore.findById("a-quito").orElseThrow().getBranchHolidays().size());
+    }
+
+    private static List<String> ids(List<Branch> branches) {
+        return branches.stream().map(Branch::getId).toList();
+    }
+
+    private static Branch branch(String id, String state, List<String> calendarIds, List<BranchHoliday> holidays,
+                                 List<LocalDate> excluded) {
+        Branch branch = new Branch();
+        branch.setId(id);
+        branch.setName("Sucursal " + id);
+        branch.setState(state);
+        branch.setBranchHolidays(new ArrayList<>(holidays));
+        branch.setCalendarIds(calendarIds);
+        branch.setExcludedHolidays(excluded);
+        return branch;
+    }
+
+    private static BranchHoliday holiday(LocalDate date, String name) {
+        BranchHoliday holiday = new BranchHoliday();
+        holiday.setDate(date);
+        holiday.setName(name);
+        return holiday;
+    }
+}
@@ -0,0 +1,128 @@
+package com.banquito.core.examen2p.service;
+
+import com.banquito.core.examen2p.controller.dto.BulkImportReportDTO;
+import com.banquito.core.examen2p.controller.mapper.BranchMapper;
+import com.banquito.core.examen2p.model.Branch;
+import com.banquito.core.examen2p.model.BranchHoliday;
+import com.banquito.core.examen2p.repository.BranchStore;
+import com.banquito.core.examen2p.repository.HolidayCalendarStore;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
+import jakarta.validation.Validation;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDate;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+class BranchImportServiceTest {
+
+    private BranchStore branchStore;
+    private HolidayCalendarIndex index;
+    private BranchImportService importService;
+
+    @BeforeEach
+    void setUp() {
+        branchStore = mock(BranchStore.class);
+        when(branchStore.insertAll(anyList())).thenReturn(Map.of());
+
+        index = new HolidayCalendarIndex(branchStore, mock(HolidayCalendarStore.class));
+        importService = new BranchImportService(branchStore, new BranchMapper(),
+                Validation.buildDefaultValidatorFactory().getValidator(),
+                new ObjectMapper().registerModule(new JavaTimeModule()), index, new BranchNameIndex(branchStore), 2);
+    }
+
+    @Test
+    void importsNdjsonInBatchesAndReportsInvalidRows() throws IOException {
+        String payload = String.join("\n",
+                branchJson("Sucursal Norte", "ACTIVE"),
+                "{no es json",
+                branchJson("Sucursal Sur", "CERRADA"),
+                "",
+                branchJson("Sucursal Centro", "INACTIVE"),
+                branchJson("Sucursal Valle", "ACTIVE"));
+
+        BulkImportReportDTO report = importService.importNdjson(stream(payload));
+
+        assertEquals(5, report.getReceived());
+        assertEquals(3, report.getInserted());
+        assertEquals(List.of(2L, 3L), report.getErrors().stream().map(error -> error.getRow()).toList());
+        assertTrue(report.getErrors().get(1).getMessage().contains("state"));
+        verify(branchStore, times(2)).insertAll(anyList());
+        assertEquals(3, index.size());
+    }
+
+    @Test
+    void importsCsvWithQuotedValuesAndHolidays() throws IOException {
+        String payload = String.join("\n",
+                "name,emailAddress,phoneNumber,state,holidays",
+                "\"Sucursal Quito, Centro\",quito@banquito.com,+593987654321,ACTIVE,2099-08-10:Primer Grito",
+                "Sucursal Loja,correo-invalido,+593987654321,ACTIVE,",
+                "Sucursal Cuenca,cuenca@banquito.com,+593987654321,ACTIVE,sin-fecha");
+
+        BulkImportReportDTO report = importService.importCsv(stream(payload));
+
+        assertEquals(3, report.getReceived());
+        assertEquals(1, report.getInserted());
+        assertEquals(List.of(3L, 4L), report.getErrors().stream().map(error -> error.getRow()).toList());
+    }
+
+    @Test
+    void sortsImportedHolidaysAndRejectsDuplicateDates() throws IOException {
+        String payload = String.join("\n",
+                "name,emailAddress,phoneNumber,state,holidays",
+                "Sucursal Quito,quito@banquito.com,+593987654321,ACTIVE,2099-12-25:Navidad;2099-08-10:Primer Grito",
+                "Sucursal Loja,loja@banquito.com,+593987654321,ACTIVE,2099-08-10:Primer Grito;2099-08-10:Repetido");
+
+        BulkImportReportDTO report = importService.importCsv(stream(payload));
+
+        assertEquals(1, report.getInserted());
+        assertEquals(3L, report.getErrors().get(0).getRow());
+        assertTrue(report.getErrors().get(0).getMessage().contains("2099-08-10"));
+        ArgumentCaptor<List<Branch>> inserted = ArgumentCaptor.forClass(List.class);
+        verify(branchStore).insertAll(inserted.capture());
+        assertEquals(List.of(LocalDate.of(2099, 8, 10), LocalDate.of(2099, 12, 25)),
+                inserted.getValue().get(0).getBranchHolidays().stream().map(BranchHoliday::getDate).toList());
+    }
+
+    @Test
+    void reportsStoreFailuresAgainstSourceRows() throws IOException {
+        when(branchStore.insertAll(anyList())).thenReturn(Map.of(1, "ID duplicado"));
+        String payload = String.join("\n",
+                branchJson("Sucursal Norte", "ACTIVE"),
+                branchJson("Sucursal Sur", "ACTIVE"));
+
+        BulkImportReportDTO report = importService.importNdjson(stream(payload));
+
+        assertEquals(1, report.getInserted());
+        assertEquals(2L, report.getErrors().get(0).getRow());
+        assertEquals(1, index.size());
+    }
+
+    @Test
+    void parsesEscapedQuotesInCsv() {
+        assertEquals(List.of("a", "b \"c\"", ""), BranchImportService.parseCsvLine("a,\"b \"\"c\"\"\","));
+    }
+
+    private static String branchJson(String name, String state) {
+        return "{\"emailAddress\":\"sucursal@banquito.com\",\"name\":\"" + name
+                + "\",\"phoneNumber\":\"+593987654321\",\"state\":\"" + state + "\"}";
+    }
+
+    private static ByteArrayInputStream stream(String payload) {
+        return new ByteArrayInputStream(payload.getBytes(StandardCharsets.UTF_8));
+    }
+}
@@ -0,0 +1,76 @@
+package com.banquito.core.examen2p.service;
+
+import com.banquito.core.examen2p.model.Branch;
+import com.banquito.core.examen2p.repository.BranchStore;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.mockito.Mockito.mock;
+
+class BranchNameIndexTest {
+
+    private BranchNameIndex index;
+
+    @BeforeEach
+    void setUp() {
+        index = new BranchNameIndex(mock(BranchStore.class));
+        index.put(branch("1", "Sucursal Cañar", "ACTIVE"));
+        index.put(branch("2", "Centro Histórico", "ACTIVE"));
+        index.put(branch("3", "Cuenca Centro", "INACTIVE"));
+        index.put(branch("4", "CENTRO", "ACTIVE"));
+        index.put(branch("5", "Sucursal Centro Norte", "ACTIVE"));
+    }
+
+    @Test
+    void foldsAccentsCaseAndPunctuation() {
+        assertEquals("sucursal canar", BranchNameIndex.fold("  Sucursal  CAÑAR! "));
+        assertEquals(List.of("1"), ids(index.search("cañ", null, 10)));
+        assertEquals(List.of("2"), ids(index.search("HISTO", null, 10)));
+    }
+
+    @Test
+    void ranksNameStartsBeforeWordStartsThenShorterNames() {
+        assertEquals(List.of("4", "2", "3", "5"), ids(index.search("centro", null, 10)));
+        assertEquals(List.of("5"), ids(index.search("centro n", null, 10)));
+        assertEquals(List.of("4", "2"), ids(index.search("centro", null, 2)));
+    }
+
+    @Test
+    void keepsOnlyTheBestMatchesWithinTheLimit() {
+        for (int i = 0; i < 50; i++) {
+            index.put(branch("z" + i, "Agencia Centro " + i, "ACTIVE"));
+        }
+
+        assertEquals(List.of("4", "2", "3"), ids(index.search("centro", null, 3)));
+        assertEquals(List.of("4"), ids(index.search("centro", "ACTIVE", 1)));
+        assertEquals(List.of("z0", "z1"), ids(index.search("agencia", null, 2)));
+        assertEquals(List.of(), ids(index.search("centro", null, 0)));
+    }
+
+    @Test
+    void filtersByStateAndFollowsUpdates() {
+        assertEquals(List.of("3"), ids(index.search("cen", "INACTIVE", 10)));
+
+        index.put(branch("3", "Cuenca Sur", "INACTIVE"));
+        index.remove("4");
+
+        assertEquals(List.of(), ids(index.search("cen", "INACTIVE", 10)));
+        assertEquals(List.of("2", "5"), ids(index.search("centro", null, 10)));
+        assertEquals(4, index.size());
+    }
+
+    private static List<String> ids(List<Branch> branches) {
+        return branches.stream().map(Branch::getId).toList();
+    }
+
+    private static Branch branch(String id, String name, String state) {
+        Branch branch = new Branch();
+        branch.setId(id);
+        branch.setName(name);
+        branch.setState(state);
+        return branch;
+    }
+}
@@ -0,0 +1,98 @@
+package com.banquito.core.examen2p.service;
+
+import com.banquito.core.examen2p.controller.dto.BranchChangeDTO;
+import com.banquito.core.examen2p.controller.dto.BranchChangeFeedDTO;
+import com.banquito.core.examen2p.controller.mapper.BranchMapper;
+import com.banquito.core.examen2p.exception.InvalidBranchDataException;
+import com.banquito.core.examen2p.model.Branch;
+import com.banquito.core.examen2p.repository.LocalBranchStore;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.file.Path;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class BranchSyncServiceTest {
+
+    private static final LocalDateTime START = LocalDateTime.now().minusHours(1).withNano(0);
+
+    @TempDir
+    Path directory;
+
+    private LocalBranchStore branchStore;
+    private BranchSyncService branchSyncService;
+
+    @BeforeEach
+    void setUp() {
+        branchStore = new LocalBranchStore(directory.resolve("branches.log"), 0);
+        branchSyncService = new BranchSyncService(branchStore, new BranchMapper(), 0);
+        branchStore.save(branch("c", START.plusMinutes(1)));
+        branchStore.save(branch("a", START.plusMinutes(2)));
+        branchStore.save(branch("b", START.plusMinutes(2)));
+        branchStore.save(branch("d", START.plusMinutes(3)));
+        branchStore.deleteById("d", START.plusMinutes(4));
+    }
+
+    @AfterEach
+    void tearDown() throws IOException {
+        branchStore.close();
+    }
+
+    @Test
+    void returnsChangesInOrderAndResumesFromCursor() {
+        BranchChangeFeedDTO first = branchSyncService.findChanges(START, null, 2);
+        assertEquals(List.of("c", "a"), ids(first));
+        assertTrue(first.isHasMore());
+
+        BranchChangeFeedDTO second = branchSyncService.findChanges(null, first.getCursor(), 2);
+        assertEquals(List.of("b", "d"), ids(second));
+        assertFalse(second.isHasMore());
+        assertEquals(BranchChangeDTO.DELETE, second.getChanges().get(1).getType());
+        assertNull(second.getChanges().get(1).getBranch());
+
+        BranchChangeFeedDTO empty = branchSyncService.findChanges(null, second.getCursor(), 2);
+        assertEquals(List.of(), ids(empty));
+        assertEquals(second.getCursor(), empty.getCursor());
+    }
+
+    @Test
+    void modifiedSinceIsInclusive() {
+        assertEquals(List.of("a", "b", "d"), ids(branchSyncService.findChanges(START.plusMinutes(2), null, 10)));
+    }
+
+    @Test
+    void rejectsInvalidCursorAndExpiredStart() {
+        assertThrows(InvalidBranchDataException.class,
+                () -> branchSyncService.findChanges(null, "no-es-un-cursor", 10));
+        assertThrows(InvalidBranchDataException.class,
+                () -> branchSyncService.findChanges(LocalDateTime.now().minusDays(91), null, 10));
+    }
+
+    private static List<String> ids(BranchChangeFeedDTO feed) {
+        return feed.getChanges().stream().map(BranchChangeDTO::getId).toList();
+    }
+
+    private static Branch branch(String id, LocalDateTime modifiedAt) {
+        Branch branch = new Branch();
+        branch.setId(id);
+        branch.setName("Sucursal " + id);
+        branch.setEmailAddress(id + "@banquito.com");
+        branch.setPhoneNumber("+593987654321");
+        branch.setState("ACTIVE");
+        branch.setCreationDate(modifiedAt);
+        branch.setLastModifiedDate(modifiedAt);
+        branch.setBranchHolidays(new ArrayList<>());
+        return branch;
+    }
+}
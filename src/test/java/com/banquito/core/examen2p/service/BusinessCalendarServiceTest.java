@@ -0,0 +1,151 @@
+package com.banquito.core.examen2p.service;
+
+import com.banquito.core.examen2p.exception.InvalidBranchDataException;
+import com.banquito.core.examen2p.model.BranchHoliday;
+import com.banquito.core.examen2p.model.HolidayRule;
+import com.banquito.core.examen2p.model.HolidayRuleType;
+import org.junit.jupiter.api.Test;
+
+import java.time.DayOfWeek;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.EnumSet;
+import java.util.List;
+import java.util.Random;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+class BusinessCalendarServiceTest {
+
+    private static final String BRANCH_ID = "branch-1";
+    private static final LocalDate START = LocalDate.of(2025, 1, 1);
+
+    @Test
+    void matchesDayByDayCalculationWithDefaultWeekend() {
+        verifyAgainstNaive(EnumSet.of(DayOfWeek.SATURDAY, DayOfWeek.SUNDAY));
+    }
+
+    @Test
+    void matchesDayByDayCalculationWithCustomWeekend() {
+        verifyAgainstNaive(EnumSet.of(DayOfWeek.FRIDAY, DayOfWeek.SATURDAY));
+        verifyAgainstNaive(EnumSet.of(DayOfWeek.SUNDAY));
+        verifyAgainstNaive(EnumSet.noneOf(DayOfWeek.class));
+    }
+
+    @Test
+    void rejectsNegativeDays() {
+        BusinessCalendarService service = service(EnumSet.of(DayOfWeek.SUNDAY), List.of());
+        assertThrows(InvalidBranchDataException.class, () -> service.addBusinessDays(BRANCH_ID, START, -1));
+    }
+
+    @Test
+    void rejectsUnboundedRangesAndDatesPastTheCalendar() {
+        BusinessCalendarService service = service(EnumSet.of(DayOfWeek.SATURDAY, DayOfWeek.SUNDAY), List.of(
+                ruleHoliday("Navidad", HolidayRuleType.FIXED_DATE, 12, 25, null, null, null)));
+
+        assertThrows(InvalidBranchDataException.class,
+                () -> service.addBusinessDays(BRANCH_ID, START, Integer.MAX_VALUE));
+        assertThrows(InvalidBranchDataException.class,
+                () -> service.businessDaysBetween(BRANCH_ID, START, START.plusYears(100)));
+        assertThrows(InvalidBranchDataException.class,
+                () -> service.businessDaysBetween(BRANCH_ID, START.plusYears(100), START));
+        assertThrows(InvalidBranchDataException.class,
+                () -> service.nextBusinessDay(BRANCH_ID, LocalDate.MAX));
+        assertThrows(InvalidBranchDataException.class,
+                () -> service.addBusinessDays(BRANCH_ID, LocalDate.MAX.minusDays(3), 10));
+    }
+
+    @Test
+    void rejectsWeekendWithoutBusinessDays() {
+        assertThrows(IllegalStateException.class,
+                () -> service(EnumSet.allOf(DayOfWeek.class), List.of()));
+    }
+
+    private void verifyAgainstNaive(Set<DayOfWeek> weekend) {
+        Random random = new Random(weekend.hashCode());
+        List<BranchHoliday> holidays = new ArrayList<>();
+        for (int i = 0; i < 60; i++) {
+            BranchHoliday holiday = new BranchHoliday();
+            holiday.setDate(START.plusDays(random.nextInt(730)));
+            holiday.setName("Feriado " + i);
+            holidays.add(holiday);
+        }
+        holidays.add(ruleHoliday("Navidad", HolidayRuleType.FIXED_DATE, 12, 25, null, null, null));
+        holidays.add(ruleHoliday("Día del trabajo", HolidayRuleType.FIXED_DATE, 5, 1, null, null, null));
+        holidays.add(ruleHoliday("Último lunes de mayo", HolidayRuleType.NTH_WEEKDAY, 5, null, DayOfWeek.MONDAY, -1, null));
+        holidays.add(ruleHoliday("Carnaval", HolidayRuleType.EASTER_OFFSET, null, null, null, null, -48));
+        holidays.add(ruleHoliday("Viernes Santo", HolidayRuleType.EASTER_OFFSET, null, null, null, null, -2));
+        BranchHoliday duplicate = new BranchHoliday();
+        duplicate.setDate(LocalDate.of(2025, 12, 25));
+        duplicate.setName("Navidad 2025");
+        holidays.add(duplicate);
+        BusinessCalendarService service = service(weekend, holidays);
+        BranchCalendar calendar = BranchCalendar.of(holidays);
+
+        for (int i = 0; i < 300; i++) {
+            LocalDate from = START.plusDays(random.nextInt(700));
+            LocalDate to = from.plusDays(random.nextInt(120));
+            int days = random.nextInt(40);
+
+            assertEquals(naiveNext(calendar, weekend, from), service.nextBusinessDay(BRANCH_ID, from));
+            assertEquals(naiveAdd(calendar, weekend, from, days), service.addBusinessDays(BRANCH_ID, from, days));
+            assertEquals(naiveBetween(calendar, weekend, from, to), service.businessDaysBetween(BRANCH_ID, from, to));
+            assertEquals(-naiveBetween(calendar, weekend, from, to), service.businessDaysBetween(BRANCH_ID, to, from));
+        }
+    }
+
+    private static BranchHoliday ruleHoliday(String name, HolidayRuleType type, Integer month, Integer dayOfMonth,
+                                             DayOfWeek dayOfWeek, Integer ordinal, Integer offsetDays) {
+        HolidayRule rule = new HolidayRule();
+        rule.setType(type);
+        rule.setMonth(month);
+        rule.setDayOfMonth(dayOfMonth);
+        rule.setDayOfWeek(dayOfWeek);
+        rule.setOrdinal(ordinal);
+        rule.setOffsetDays(offsetDays);
+        BranchHoliday holiday = new BranchHoliday();
+        holiday.setName(name);
+        holiday.setRule(rule);
+        return holiday;
+    }
+
+    private static BusinessCalendarService service(Set<DayOfWeek> weekend, List<BranchHoliday> holidays) {
+        BranchService branchService = mock(BranchService.class);
+        when(branchService.getCalendar(BRANCH_ID)).thenReturn(BranchCalendar.of(holidays));
+        return new BusinessCalendarService(branchService, weekend);
+    }
+
+    private static boolean isBusinessDay(BranchCalendar calendar, Set<DayOfWeek> weekend, LocalDate date) {
+        return !weekend.contains(date.getDayOfWeek()) && !calendar.contains(date);
+    }
+
+    private static LocalDate naiveNext(BranchCalendar calendar, Set<DayOfWeek> weekend, LocalDate date) {
+        LocalDate next = date.plusDays(1);
+        while (!isBusinessDay(calendar, weekend, next)) {
+            next = next.plusDays(1);
+        }
+        return next;
+    }
+
+    private static LocalDate naiveAdd(BranchCalendar calendar, Set<DayOfWeek> weekend, LocalDate date, int days) {
+        LocalDate cursor = date;
+        for (int i = 0; i < days; i++) {
+            cursor = naiveNext(calendar, weekend, cursor);
+        }
+        return cursor;
+    }
+
+    private static long naiveBetween(BranchCalendar calendar, Set<DayOfWeek> weekend, LocalDate from, LocalDate to) {
+        long count = 0;
+        for (LocalDate date = from; date.isBefore(to); date = date.plusDays(1)) {
+            if (isBusinessDay(calendar, weekend, date)) {
+                count++;
+            }
+        }
+        return count;
+    }
+}
@@ -0,0 +1,333 @@
+package com.banquito.core.examen2p.service;
+
+import com.banquito.core.examen2p.exception.BranchNotFoundException;
+import com.banquito.core.examen2p.exception.HolidayOperationException;
+import com.banquito.core.examen2p.model.Branch;
+import com.banquito.core.examen2p.model.BranchHoliday;
+import com.banquito.core.examen2p.model.HolidayCalendar;
+import com.banquito.core.examen2p.repository.BranchStore;
+import com.banquito.core.examen2p.repository.HolidayCalendarStore;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.Optional;
+import java.util.Random;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+class HolidayCalendarIndexTest {
+
+    private static final LocalDate START = LocalDate.of(2020, 1, 1);
+    private static final LocalDate END = LocalDate.of(2030, 12, 31);
+
+    private BranchStore branchStore;
+    private HolidayCalendarStore holidayCalendarStore;
+    private HolidayCalendarIndex index;
+    private BranchService branchService;
+    private List<Branch> branches;
+
+    @BeforeEach
+    void setUp() {
+        Random random = new Random(42);
+        branches = new ArrayList<>();
+        for (int i = 0; i < 20; i++) {
+            branches.add(branch("branch-" + i, random.nextInt(200), random));
+        }
+        Map<String, Branch> byId = branches.stream()
+                .collect(Collectors.toMap(Branch::getId, Function.identity()));
+
+        branchStore = mock(BranchStore.class);
+        when(branchStore.findAll()).thenReturn(branches);
+        when(branchStore.findById(anyString()))
+                .thenAnswer(invocation -> Optional.ofNullable(byId.get(invocation.<String>getArgument(0))));
+        when(branchStore.findHolidaysById(anyString()))
+                .thenAnswer(invocation -> Optional.ofNullable(byId.get(invocation.<String>getArgument(0))));
+        when(branchStore.save(any(Branch.class))).thenAnswer(invocation -> invocation.getArgument(0));
+
+        holidayCalendarStore = mock(HolidayCalendarStore.class);
+        when(holidayCalendarStore.findAll()).thenReturn(List.of());
+        when(holidayCalendarStore.findById(anyString())).thenReturn(Optional.empty());
+
+        index = new HolidayCalendarIndex(branchStore, holidayCalendarStore);
+        index.load();
+        branchService = new BranchService(branchStore, index, new BranchCache(100),
+                new BranchMetrics(new SimpleMeterRegistry()), new BranchNameIndex(branchStore));
+    }
+
+    @Test
+    void indexMatchesRepositoryAnswerForEveryDate() {
+        for (Branch branch : branches) {
+            for (LocalDate date = START; !date.isAfter(END); date = date.plusDays(1)) {
+                assertEquals(scan(branch, date), index.isHoliday(branch.getId(), date),
+                        branch.getId() + " " + date);
+            }
+        }
+    }
+
+    @Test
+    void isHolidayDoesNotQueryRepositoryOnceLoaded() {
+        Branch branch = branches.get(3);
+        LocalDate holiday = branch.getBranchHolidays().isEmpty()
+                ? START
+                : branch.getBranchHolidays().get(0).getDate();
+
+        assertEquals(scan(branch, holiday), branchService.isHoliday(branch.getId(), holiday));
+        verify(branchStore, never()).findById(anyString());
+    }
+
+    @Test
+    void addAndDeleteHolidayKeepIndexCurrent() {
+        Branch branch = branches.get(0);
+        LocalDate date = LocalDate.of(2031, 5, 24);
+        BranchHoliday holiday = new BranchHoliday();
+        holiday.setDate(date);
+        holiday.setName("Batalla del Pichincha");
+
+        Branch withHoliday = copy(branch);
+        withHoliday.getBranchHolidays().add(holiday);
+        when(branchStore.pushHoliday(eq(branch.getId()), eq(holiday), any())).thenReturn(Optional.of(withHoliday));
+        when(branchStore.pullHoliday(eq(branch.getId()), eq(date), any())).thenReturn(Optional.of(copy(branch)));
+
+        assertFalse(branchService.isHoliday(branch.getId(), date));
+        branchService.addHoliday(branch.getId(), holiday);
+        assertTrue(branchService.isHoliday(branch.getId(), date));
+        branchService.verifyHoliday(branch.getId(), date);
+
+        branchService.deleteHoliday(branch.getId(), date);
+        assertFalse(branchService.isHoliday(branch.getId(), date));
+        assertThrows(HolidayOperationException.class, () -> branchService.verifyHoliday(branch.getId(), date));
+        verify(branchStore, never()).save(any(Branch.class));
+    }
+
+    @Test
+    void deleteMissingHolidayKeepsErrorSemantics() {
+        Branch branch = branches.get(2);
+        when(branchStore.pullHoliday(anyString(), any(), any())).thenReturn(Optional.empty());
+        LocalDate date = LocalDate.of(2035, 1, 1);
+
+        assertThrows(HolidayOperationException.class, () -> branchService.deleteHoliday(branch.getId(), date));
+        assertThrows(BranchNotFoundException.class, () -> branchService.deleteHoliday("desconocida", date));
+    }
+
+    @Test
+    void createRegistersEmptyCalendar() {
+        Branch branch = new Branch();
+        branch.setId("nueva");
+        branch.setName("Sucursal Nueva");
+
+        branchService.create(branch);
+
+        assertTrue(index.contains("nueva"));
+        assertFalse(branchService.isHoliday("nueva", START));
+    }
+
+    @Test
+    void unknownBranchFallsBackToRepository() {
+        assertThrows(BranchNotFoundException.class, () -> branchService.isHoliday("desconocida", START));
+    }
+
+    @Test
+    void checkHolidaysResolvesMissingBranchesWithSingleQuery() {
+        Branch indexed = branches.get(1);
+        Branch remote = branch("remota", 5, new Random(7));
+        LocalDate remoteHoliday = remote.getBranchHolidays().get(0).getDate();
+        when(branchStore.findHolidaysByIds(any())).thenReturn(List.of(remote));
+
+        Map<String, Map<LocalDate, Boolean>> result = branchService.checkHolidays(Map.of(
+                indexed.getId(), Set.of(START),
+                "remota", Set.of(remoteHoliday),
+                "desconocida", Set.of(START)));
+
+        assertEquals(scan(indexed, START), result.get(indexed.getId()).get(START));
+        assertTrue(result.get("remota").get(remoteHoliday));
+        assertFalse(result.containsKey("desconocida"));
+        verify(branchStore, times(1)).findHolidaysByIds(any());
+    }
+
+    @Test
+    void branchesReferencingTheSameCalendarShareOneResolvedCalendar() {
+        LocalDate carnival = LocalDate.of(2031, 3, 3);
+        HolidayCalendar national = calendar("nacional", holiday(carnival, "Carnaval"));
+        index.putShared(national);
+        Branch quito = withCalendars("quito", List.of("nacional"), List.of(), List.of());
+        Branch guayaquil = withCalendars("guayaquil", List.of("nacional"), List.of(), List.of());
+
+        assertSame(index.put(quito), index.put(guayaquil));
+        assertTrue(index.isHoliday("quito", carnival));
+        assertTrue(index.isHoliday("guayaquil", carnival));
+    }
+
+    @Test
+    void calendarChangeReachesEveryBranchWithOneWrite() {
+        LocalDate christmas = LocalDate.of(2031, 12, 25);
+        LocalDate newYear = LocalDate.of(2032, 1, 1);
+        HolidayCalendar national = calendar("nacional", holiday(christmas, "Navidad"));
+        index.putShared(national);
+        List<String> ids = new ArrayList<>();
+        for (int i = 0; i < 50; i++) {
+            String id = "compartida-" + i;
+            index.put(withCalendars(id, List.of("nacional"), List.of(), List.of()));
+            ids.add(id);
+        }
+        HolidayCalendar updated = calendar("nacional", holiday(christmas, "Navidad"), holiday(newYear, "Año Nuevo"));
+        when(holidayCalendarStore.pushHoliday(eq("nacional"), any(), any())).thenReturn(Optional.of(updated));
+
+        new HolidayCalendarService(holidayCalendarStore, branchStore, index)
+                .addHoliday("nacional", holiday(newYear, "Año Nuevo"));
+
+        for (String id : ids) {
+            assertTrue(index.isHoliday(id, newYear), id);
+        }
+        verify(holidayCalendarStore, times(1)).pushHoliday(eq("nacional"), any(), any());
+        verify(branchStore, never()).pushHoliday(anyString(), any(), any());
+    }
+
+    @Test
+    void localAdditionsAndExclusionsOverrideSharedCalendars() {
+        LocalDate carnival = LocalDate.of(2031, 3, 3);
+        LocalDate foundation = LocalDate.of(2031, 7, 25);
+        LocalDate independence = LocalDate.of(2031, 10, 9);
+        index.putShared(calendar("nacional", holiday(carnival, "Carnaval"), holiday(independence, "Independencia")));
+        Branch branch = withCalendars("guayaquil", List.of("nacional"),
+                List.of(holiday(foundation, "Fundación de Guayaquil")), List.of(carnival));
+        when(branchStore.findHolidaysById("guayaquil")).thenReturn(Optional.of(branch));
+        index.put(branch);
+
+        assertFalse(index.isHoliday("guayaquil", carnival));
+        assertTrue(index.isHoliday("guayaquil", foundation));
+        assertTrue(index.isHoliday("guayaquil", independence));
+        assertEquals(List.of(foundation, independence), branchService.getHolidays("guayaquil").stream()
+                .map(BranchHoliday::getDate)
+                .collect(Collectors.toList()));
+    }
+
+    @Test
+    void loadKeepsUpdatesThatLandWhileReadingAllBranches() {
+        LocalDate foundation = LocalDate.of(2031, 7, 25);
+        Branch stale = withCalendars("quito", List.of(), List.of(), List.of());
+        stale.setLastModifiedDate(LocalDateTime.of(2031, 1, 1, 8, 0));
+        Branch updated = withCalendars("quito", List.of(), List.of(holiday(foundation, "Fundación")), List.of());
+        updated.setLastModifiedDate(stale.getLastModifiedDate().plusSeconds(1));
+        BranchStore store = mock(BranchStore.class);
+        HolidayCalendarIndex loading = new HolidayCalendarIndex(store, holidayCalendarStore);
+        when(store.findAll()).thenAnswer(invocation -> {
+            loading.put(updated);
+            return List.of(stale);
+        });
+
+        loading.load();
+
+        assertTrue(loading.isLoaded());
+        assertTrue(loading.isHoliday("quito", foundation));
+    }
+
+    @Test
+    void refreshPicksUpSharedCalendarsChangedByAnotherInstance() {
+        LocalDate christmas = LocalDate.of(2031, 12, 25);
+        LocalDate newYear = LocalDate.of(2032, 1, 1);
+        LocalDate foundation = LocalDate.of(2031, 7, 25);
+        HolidayCalendar national = calendar("nacional", holiday(christmas, "Navidad"));
+        national.setLastModifiedDate(LocalDateTime.of(2025, 1, 1, 0, 0));
+        HolidayCalendar regional = calendar("regional", holiday(foundation, "Fundación de Guayaquil"));
+        regional.setLastModifiedDate(LocalDateTime.of(2025, 1, 1, 0, 0));
+        index.putShared(national);
+        index.putShared(regional);
+        index.put(withCalendars("guayaquil", List.of("nacional", "regional"), List.of(), List.of()));
+        HolidayCalendar updated = calendar("nacional", holiday(christmas, "Navidad"), holiday(newYear, "Año Nuevo"));
+        updated.setLastModifiedDate(LocalDateTime.of(2025, 6, 1, 0, 0));
+        HolidayCalendar stale = calendar("nacional", holiday(christmas, "Navidad"));
+        stale.setLastModifiedDate(LocalDateTime.of(2024, 1, 1, 0, 0));
+
+        when(holidayCalendarStore.findAll()).thenReturn(List.of(updated));
+        index.refreshShared();
+
+        assertTrue(index.isHoliday("guayaquil", newYear));
+        assertFalse(index.isHoliday("guayaquil", foundation));
+        assertNull(index.getShared("regional"));
+
+        when(holidayCalendarStore.findAll()).thenReturn(List.of(stale));
+        index.refreshShared();
+
+        assertTrue(index.isHoliday("guayaquil", newYear));
+        verify(holidayCalendarStore, never()).findById(anyString());
+    }
+
+    private static HolidayCalendar calendar(String id, BranchHoliday... holidays) {
+        HolidayCalendar calendar = new HolidayCalendar();
+        calendar.setId(id);
+        calendar.setName("Calendario " + id);
+        calendar.setHolidays(new ArrayList<>(List.of(holidays)));
+        return calendar;
+    }
+
+    private static BranchHoliday holiday(LocalDate date, String name) {
+        BranchHoliday holiday = new BranchHoliday();
+        holiday.setDate(date);
+        holiday.setName(name);
+        return holiday;
+    }
+
+    private static Branch withCalendars(String id, List<String> calendarIds, List<BranchHoliday> holidays,
+                                        List<LocalDate> excluded) {
+        Branch branch = new Branch();
+        branch.setId(id);
+        branch.setName("Sucursal " + id);
+        branch.setBranchHolidays(new ArrayList<>(holidays));
+        branch.setCalendarIds(calendarIds);
+        branch.setExcludedHolidays(excluded);
+        return branch;
+    }
+
+    private static boolean scan(Branch branch, LocalDate date) {
+        return branch.getBranchHolidays().stream()
+                .anyMatch(holiday -> holiday.getDate().equals(date));
+    }
+
+    private static Branch copy(Branch branch) {
+        Branch copy = new Branch();
+        copy.setId(branch.getId());
+        copy.setName(branch.getName());
+        copy.setState(branch.getState());
+        copy.setBranchHolidays(new ArrayList<>(branch.getBranchHolidays()));
+        return copy;
+    }
+
+    private static Branch branch(String id, int holidays, Random random) {
+        Branch branch = new Branch();
+        branch.setId(id);
+        branch.setName("Sucursal " + id);
+        branch.setState("ACTIVE");
+        List<BranchHoliday> list = new ArrayList<>();
+        long span = END.toEpochDay() - START.toEpochDay();
+        for (int i = 0; i < holidays; i++) {
+            BranchHoliday holiday = new BranchHoliday();
+            holiday.setDate(START.plusDays(random.nextInt((int) span)));
+            holiday.setName("Feriado " + i);
+            list.add(holiday);
+        }
+        branch.setBranchHolidays(list);
+        return branch;
+    }
+}
@@ -0,0 +1,147 @@
+package com.banquito.core.examen2p.service;
+
+import com.banquito.core.examen2p.exception.InvalidBranchDataException;
+import com.banquito.core.examen2p.model.BranchHoliday;
+import com.banquito.core.examen2p.model.HolidayRule;
+import com.banquito.core.examen2p.model.HolidayRuleType;
+import com.banquito.core.examen2p.repository.SortedHolidays;
+import org.junit.jupiter.api.Test;
+
+import java.time.DayOfWeek;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class HolidayRulesTest {
+
+    @Test
+    void computesGregorianEaster() {
+        assertEquals(LocalDate.of(2000, 4, 23), HolidayRules.easterSunday(2000));
+        assertEquals(LocalDate.of(2024, 3, 31), HolidayRules.easterSunday(2024));
+        assertEquals(LocalDate.of(2025, 4, 20), HolidayRules.easterSunday(2025));
+        assertEquals(LocalDate.of(2026, 4, 5), HolidayRules.easterSunday(2026));
+        assertEquals(LocalDate.of(2038, 4, 25), HolidayRules.easterSunday(2038));
+        assertEquals(LocalDate.of(2285, 3, 22), HolidayRules.easterSunday(2285));
+    }
+
+    @Test
+    void resolvesEachRuleType() {
+        assertEquals(LocalDate.of(2026, 8, 10), HolidayRules.resolve(fixed(8, 10), 2026));
+        assertNull(HolidayRules.resolve(fixed(2, 29), 2025));
+        assertEquals(LocalDate.of(2028, 2, 29), HolidayRules.resolve(fixed(2, 29), 2028));
+
+        assertEquals(LocalDate.of(2026, 5, 25), HolidayRules.resolve(nthWeekday(5, DayOfWeek.MONDAY, -1), 2026));
+        assertEquals(LocalDate.of(2026, 11, 26), HolidayRules.resolve(nthWeekday(11, DayOfWeek.THURSDAY, 4), 2026));
+        assertNull(HolidayRules.resolve(nthWeekday(2, DayOfWeek.MONDAY, 5), 2026));
+
+        assertEquals(LocalDate.of(2026, 2, 16), HolidayRules.resolve(easter(-48), 2026));
+        assertEquals(LocalDate.of(2026, 4, 3), HolidayRules.resolve(easter(-2), 2026));
+    }
+
+    @Test
+    void respectsYearBounds() {
+        HolidayRule rule = fixed(5, 24);
+        rule.setFromYear(2026);
+        rule.setToYear(2027);
+
+        assertNull(HolidayRules.resolve(rule, 2025));
+        assertEquals(LocalDate.of(2027, 5, 24), HolidayRules.resolve(rule, 2027));
+        assertNull(HolidayRules.resolve(rule, 2028));
+    }
+
+    @Test
+    void rejectsIncompleteRules() {
+        assertThrows(InvalidBranchDataException.class, () -> HolidayRules.validate(fixed(2, 30)));
+        assertThrows(InvalidBranchDataException.class, () -> HolidayRules.validate(nthWeekday(5, DayOfWeek.MONDAY, 0)));
+        assertThrows(InvalidBranchDataException.class, () -> HolidayRules.validate(easter(300)));
+        assertThrows(InvalidBranchDataException.class, () -> HolidayRules.validate(new HolidayRule()));
+        HolidayRules.validate(fixed(2, 29));
+    }
+
+    @Test
+    void calendarResolvesRulesWithoutStoredDates() {
+        BranchHoliday christmas = new BranchHoliday();
+        christmas.setName("Navidad");
+        christmas.setRule(fixed(12, 25));
+        BranchCalendar calendar = BranchCalendar.of(List.of(christmas));
+
+        assertTrue(calendar.hasRules());
+        assertEquals(0, calendar.size());
+        for (int year = 1990; year <= 2100; year++) {
+            assertTrue(calendar.contains(LocalDate.of(year, 12, 25)));
+            assertFalse(calendar.contains(LocalDate.of(year, 12, 24)));
+        }
+        assertEquals(3, calendar.countHolidays(LocalDate.of(2024, 1, 1).toEpochDay(),
+                LocalDate.of(2027, 1, 1).toEpochDay(), day -> true));
+    }
+
+    @Test
+    void listsEachDayOnceWhenDatedHolidaysAndRulesCoincide() {
+        BranchHoliday christmas = new BranchHoliday();
+        christmas.setName("Navidad");
+        christmas.setRule(fixed(12, 25));
+        BranchHoliday nativity = new BranchHoliday();
+        nativity.setName("Natividad");
+        nativity.setRule(fixed(12, 25));
+        BranchHoliday dated = new BranchHoliday();
+        dated.setName("Navidad 2026");
+        dated.setDate(LocalDate.of(2026, 12, 25));
+        BranchCalendar calendar = BranchCalendar.of(List.of(christmas, nativity, dated));
+
+        List<BranchHoliday> occurrences = calendar.between(LocalDate.of(2026, 1, 1), LocalDate.of(2027, 12, 31));
+
+        assertEquals(List.of(LocalDate.of(2026, 12, 25), LocalDate.of(2027, 12, 25)),
+                occurrences.stream().map(BranchHoliday::getDate).toList());
+        assertEquals("Navidad 2026", occurrences.get(0).getName());
+    }
+
+    @Test
+    void keepsRulesAheadOfDatedHolidaysLikeMongoSort() {
+        BranchHoliday carnival = new BranchHoliday();
+        carnival.setName("Carnaval");
+        carnival.setRule(easter(-48));
+        BranchHoliday independence = new BranchHoliday();
+        independence.setName("Independencia");
+        independence.setDate(LocalDate.of(2026, 8, 10));
+        List<BranchHoliday> holidays = new ArrayList<>(List.of(independence));
+
+        assertTrue(SortedHolidays.insert(holidays, carnival));
+        assertEquals(List.of(carnival, independence), holidays);
+        assertTrue(SortedHolidays.containsDate(holidays, LocalDate.of(2026, 8, 10)));
+        assertFalse(SortedHolidays.containsDate(holidays, LocalDate.of(2026, 8, 11)));
+
+        List<BranchHoliday> unsorted = new ArrayList<>(List.of(independence, carnival));
+        unsorted.sort(SortedHolidays.ORDER);
+        assertEquals(List.of(carnival, independence), unsorted);
+    }
+
+    private static HolidayRule fixed(int month, int dayOfMonth) {
+        HolidayRule rule = new HolidayRule();
+        rule.setType(HolidayRuleType.FIXED_DATE);
+        rule.setMonth(month);
+        rule.setDayOfMonth(dayOfMonth);
+        return rule;
+    }
+
+    private static HolidayRule nthWeekday(int month, DayOfWeek dayOfWeek, int ordinal) {
+        HolidayRule rule = new HolidayRule();
+        rule.setType(HolidayRuleType.NTH_WEEKDAY);
+        rule.setMonth(month);
+        rule.setDayOfWeek(dayOfWeek);
+        rule.setOrdinal(ordinal);
+        return rule;
+    }
+
+    private static HolidayRule easter(int offsetDays) {
+        HolidayRule rule = new HolidayRule();
+        rule.setType(HolidayRuleType.EASTER_OFFSET);
+        rule.setOffsetDays(offsetDays);
+        return rule;
+    }
+}
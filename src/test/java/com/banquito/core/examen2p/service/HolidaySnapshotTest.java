@@ -0,0 +1,166 @@
+package com.banquito.core.examen2p.service;
+
+import com.banquito.core.examen2p.model.Branch;
+import com.banquito.core.examen2p.model.BranchHoliday;
+import com.banquito.core.examen2p.model.BranchTombstone;
+import com.banquito.core.examen2p.model.HolidayRule;
+import com.banquito.core.examen2p.model.HolidayRuleType;
+import com.banquito.core.examen2p.repository.BranchStore;
+import com.banquito.core.examen2p.repository.HolidayCalendarStore;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+class HolidaySnapshotTest {
+
+    private static final LocalDate CHRISTMAS = LocalDate.of(2099, 12, 25);
+    private static final LocalDate NEW_YEAR = LocalDate.of(2099, 1, 1);
+
+    @TempDir
+    Path directory;
+
+    private Path path;
+    private LocalDateTime snapshotTime;
+
+    @BeforeEach
+    void setUp() throws IOException {
+        path = directory.resolve("holiday-snapshot.bin");
+        BranchStore branchStore = mock(BranchStore.class);
+        when(branchStore.findAll()).thenReturn(List.of(
+                branch("branch-1", CHRISTMAS),
+                branch("branch-2", NEW_YEAR, CHRISTMAS),
+                withRule(branch("branch-3"))));
+        HolidayCalendarIndex index = new HolidayCalendarIndex(branchStore, calendarStore());
+        index.load();
+        snapshotTime = LocalDateTime.now();
+        HolidaySnapshot.write(path, snapshotTime, index.snapshotEntries());
+    }
+
+    @Test
+    void mapsWrittenCalendarsWithoutCalendarsThatHaveRules() {
+        HolidaySnapshot snapshot = HolidaySnapshot.open(path);
+
+        assertNotNull(snapshot);
+        assertEquals(snapshotTime, snapshot.createdAt());
+        assertEquals(List.of("branch-1", "branch-2"), snapshot.ids());
+        BranchCalendar calendar = snapshot.calendar("branch-2");
+        assertTrue(calendar.contains(NEW_YEAR));
+        assertTrue(calendar.contains(CHRISTMAS));
+        assertFalse(calendar.contains(CHRISTMAS.plusDays(1)));
+        assertEquals("Feriado " + CHRISTMAS, calendar.between(CHRISTMAS, CHRISTMAS).get(0).getName());
+        assertNull(snapshot.calendar("branch-3"));
+
+        snapshot.discard("branch-1");
+        assertFalse(snapshot.contains("branch-1"));
+        assertNull(snapshot.calendar("branch-1"));
+    }
+
+    @Test
+    void servesHolidaysBeforeLoadingAndReconcilesChangesSinceTheSnapshot() {
+        BranchStore branchStore = mock(BranchStore.class);
+        when(branchStore.findModifiedSince(any(), any(), any(), anyInt()))
+                .thenReturn(List.of(branch("branch-1", CHRISTMAS, CHRISTMAS.plusDays(1))));
+        when(branchStore.findDeletedSince(any(), any(), any(), anyInt()))
+                .thenReturn(List.of(new BranchTombstone("branch-2", LocalDateTime.now())));
+        HolidayCalendarIndex index = new HolidayCalendarIndex(branchStore, calendarStore());
+        index.attach(HolidaySnapshot.open(path));
+
+        assertTrue(index.isHoliday("branch-2", NEW_YEAR));
+        assertFalse(index.isHoliday("branch-1", CHRISTMAS.plusDays(1)));
+        verify(branchStore, never()).findById(anyString());
+
+        index.load();
+
+        assertTrue(index.isLoaded());
+        assertTrue(index.isHoliday("branch-1", CHRISTMAS.plusDays(1)));
+        assertFalse(index.contains("branch-2"));
+        assertFalse(index.isHoliday("branch-2", NEW_YEAR));
+        verify(branchStore, never()).findAll();
+    }
+
+    @Test
+    void keepsLiveUpdatesFresherThanTheReconciledBranch() {
+        Branch stale = branch("branch-1", CHRISTMAS);
+        stale.setLastModifiedDate(LocalDateTime.now().minusMinutes(1));
+        BranchStore branchStore = mock(BranchStore.class);
+        HolidayCalendarIndex index = new HolidayCalendarIndex(branchStore, calendarStore());
+        when(branchStore.findModifiedSince(any(), any(), any(), anyInt())).thenAnswer(invocation -> {
+            index.put(branch("branch-1", CHRISTMAS, CHRISTMAS.plusDays(1)));
+            return List.of(stale);
+        });
+        when(branchStore.findDeletedSince(any(), any(), any(), anyInt())).thenReturn(List.of());
+        index.attach(HolidaySnapshot.open(path));
+
+        index.load();
+
+        assertTrue(index.isHoliday("branch-1", CHRISTMAS.plusDays(1)));
+    }
+
+    @Test
+    void ignoresCorruptedSnapshot() throws IOException {
+        byte[] bytes = Files.readAllBytes(path);
+        bytes[bytes.length / 2] ^= 0x7F;
+        Files.write(path, bytes);
+
+        assertNull(HolidaySnapshot.open(path));
+        assertNull(HolidaySnapshot.open(directory.resolve("missing.bin")));
+    }
+
+    private static HolidayCalendarStore calendarStore() {
+        HolidayCalendarStore calendarStore = mock(HolidayCalendarStore.class);
+        when(calendarStore.findAll()).thenReturn(List.of());
+        when(calendarStore.findById(anyString())).thenReturn(Optional.empty());
+        return calendarStore;
+    }
+
+    private static Branch branch(String id, LocalDate... dates) {
+        Branch branch = new Branch();
+        branch.setId(id);
+        branch.setName("Sucursal " + id);
+        branch.setState("ACTIVE");
+        branch.setLastModifiedDate(LocalDateTime.now());
+        List<BranchHoliday> holidays = new ArrayList<>();
+        for (LocalDate date : dates) {
+            BranchHoliday holiday = new BranchHoliday();
+            holiday.setDate(date);
+            holiday.setName("Feriado " + date);
+            holidays.add(holiday);
+        }
+        branch.setBranchHolidays(holidays);
+        return branch;
+    }
+
+    private static Branch withRule(Branch branch) {
+        HolidayRule rule = new HolidayRule();
+        rule.setType(HolidayRuleType.FIXED_DATE);
+        rule.setMonth(5);
+        rule.setDayOfMonth(1);
+        BranchHoliday holiday = new BranchHoliday();
+        holiday.setName("Día del Trabajo");
+        holiday.setRule(rule);
+        branch.getBranchHolidays().add(holiday);
+        return branch;
+    }
+}